@@ -0,0 +1,393 @@
+package com.brookmanholmes.bma.domain.model.game;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable set of balls stored as a bitset, where bit n is set when ball n is in the set.
+ * Adding and removing balls creates a new set with a few word operations, so sets can be shared
+ * between games and game statuses without copying
+ */
+public final class BallSet implements Serializable {
+    private static final long[] NO_WORDS = new long[0];
+    private static final BallSet EMPTY = new BallSet(NO_WORDS);
+
+    private final long[] words;
+    private final int size;
+    // the list view is created the first time it's needed and then shared
+    private transient List<Integer> list;
+
+    private BallSet(long[] words) {
+        int length = words.length;
+        while (length > 0 && words[length - 1] == 0)
+            length--;
+
+        this.words = length == words.length ? words : Arrays.copyOf(words, length);
+
+        int size = 0;
+        for (long word : this.words)
+            size += Long.bitCount(word);
+        this.size = size;
+    }
+
+    /**
+     * Creates a set from a single word of ball bits, the opposite of {@link #toWord()}
+     *
+     * @param word The bits for balls 1 to 63
+     * @return A set with the balls in the word
+     */
+    static BallSet fromWord(long word) {
+        return word == 0 ? EMPTY : new BallSet(new long[]{word});
+    }
+
+    /**
+     * Creates an empty set of balls
+     *
+     * @return A set with no balls in it
+     */
+    public static BallSet empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates a set of balls from 1 to {@code maxBalls} (inclusive), like a freshly racked table
+     *
+     * @param maxBalls The highest ball in the set
+     * @return A set with every ball between 1 and {@code maxBalls}
+     */
+    public static BallSet full(int maxBalls) {
+        if (maxBalls <= 0)
+            return EMPTY;
+
+        long[] words = new long[wordIndex(maxBalls) + 1];
+        Arrays.fill(words, -1L);
+        words[words.length - 1] = -1L >>> (63 - (maxBalls & 63));
+        words[0] &= ~1L; // there is no 0 ball
+        return new BallSet(words);
+    }
+
+    /**
+     * Creates a set of balls containing the specified balls
+     *
+     * @param balls The balls to put in the set
+     * @return A new set of balls
+     */
+    public static BallSet of(int... balls) {
+        long[] words = NO_WORDS;
+        for (int ball : balls) {
+            words = ensureCapacity(words, ball);
+            words[wordIndex(ball)] |= bit(ball);
+        }
+        return new BallSet(words);
+    }
+
+    /**
+     * Creates a set of balls containing every ball in a collection
+     *
+     * @param balls The balls to put in the set
+     * @return A new set of balls
+     */
+    public static BallSet copyOf(Collection<Integer> balls) {
+        if (balls instanceof BallList)
+            return ((BallList) balls).set;
+
+        long[] words = NO_WORDS;
+        for (int ball : balls) {
+            words = ensureCapacity(words, ball);
+            words[wordIndex(ball)] |= bit(ball);
+        }
+        return new BallSet(words);
+    }
+
+    private static int wordIndex(int ball) {
+        if (ball < 1)
+            throw new IllegalArgumentException("Balls are numbered from 1, ball was: " + ball);
+
+        return ball >>> 6;
+    }
+
+    private static long bit(int ball) {
+        return 1L << ball;
+    }
+
+    private static long[] ensureCapacity(long[] words, int ball) {
+        int index = wordIndex(ball);
+        if (index < words.length)
+            return words;
+        else return Arrays.copyOf(words, index + 1);
+    }
+
+    /**
+     * Determines if every ball in this set is in the first word, so it can be stored with
+     * {@link #toWord()}
+     */
+    boolean fitsInWord() {
+        return words.length <= 1;
+    }
+
+    /**
+     * Getter for the bits of balls 1 to 63
+     *
+     * @return The first word of the set
+     */
+    long toWord() {
+        return words.length == 0 ? 0 : words[0];
+    }
+
+    /**
+     * Determines if a ball is in this set
+     *
+     * @param ball The ball to check
+     * @return True if the ball is in the set, false otherwise
+     */
+    public boolean contains(int ball) {
+        int index = ball >>> 6;
+        return ball > 0 && index < words.length && (words[index] & bit(ball)) != 0;
+    }
+
+    /**
+     * Creates a set with a ball added to it
+     *
+     * @param ball The ball to add
+     * @return A set with the ball, or this set if the ball is already in it
+     */
+    public BallSet with(int ball) {
+        if (contains(ball))
+            return this;
+
+        long[] words = ensureCapacity(this.words.clone(), ball);
+        words[wordIndex(ball)] |= bit(ball);
+        return new BallSet(words);
+    }
+
+    /**
+     * Creates a set with the specified balls removed from it
+     *
+     * @param balls The balls to remove
+     * @return A set without the balls, or this set if none of the balls are in it
+     */
+    public BallSet without(int... balls) {
+        long[] words = null;
+        for (int ball : balls) {
+            if (contains(ball)) {
+                if (words == null)
+                    words = this.words.clone();
+                words[ball >>> 6] &= ~bit(ball);
+            }
+        }
+        return words == null ? this : new BallSet(words);
+    }
+
+    /**
+     * Creates a set with the specified balls removed from it
+     *
+     * @param balls The balls to remove
+     * @return A set without the balls, or this set if none of the balls are in it
+     */
+    public BallSet without(Collection<Integer> balls) {
+        if (balls instanceof BallList)
+            return without(((BallList) balls).set);
+
+        long[] words = null;
+        for (int ball : balls) {
+            if (contains(ball)) {
+                if (words == null)
+                    words = this.words.clone();
+                words[ball >>> 6] &= ~bit(ball);
+            }
+        }
+        return words == null ? this : new BallSet(words);
+    }
+
+    /**
+     * Creates a set with every ball in another set removed from it
+     *
+     * @param balls The balls to remove
+     * @return A set without the balls, or this set if none of the balls are in it
+     */
+    public BallSet without(BallSet balls) {
+        int length = Math.min(words.length, balls.words.length);
+        long[] words = null;
+        for (int i = 0; i < length; i++) {
+            if ((this.words[i] & balls.words[i]) != 0) {
+                if (words == null)
+                    words = this.words.clone();
+                words[i] &= ~balls.words[i];
+            }
+        }
+        return words == null ? this : new BallSet(words);
+    }
+
+    /**
+     * Getter for the lowest numbered ball in the set
+     *
+     * @return The lowest ball in the set, or 0 if the set is empty
+     */
+    public int lowest() {
+        return next(0);
+    }
+
+    /**
+     * Getter for the highest numbered ball in the set
+     *
+     * @return The highest ball in the set, or 0 if the set is empty
+     */
+    public int highest() {
+        if (words.length == 0)
+            return 0;
+
+        int index = words.length - 1;
+        return (index << 6) + 63 - Long.numberOfLeadingZeros(words[index]);
+    }
+
+    /**
+     * Finds the lowest ball in the set that is at least {@code ball}
+     *
+     * @param ball The ball to start looking from
+     * @return The next ball in the set, or 0 if there are no more balls
+     */
+    public int next(int ball) {
+        int index = ball >>> 6;
+        if (index >= words.length)
+            return 0;
+
+        long word = words[index] & (-1L << ball);
+        while (true) {
+            if (word != 0)
+                return (index << 6) + Long.numberOfTrailingZeros(word);
+            if (++index == words.length)
+                return 0;
+            word = words[index];
+        }
+    }
+
+    /**
+     * The number of balls in the set
+     *
+     * @return The number of balls in the set
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Getter for the balls in the set in ascending order
+     *
+     * @return A new array of the balls in the set
+     */
+    public int[] toArray() {
+        int[] balls = new int[size];
+        int i = 0;
+        for (int ball = next(0); ball != 0; ball = next(ball + 1))
+            balls[i++] = ball;
+
+        return balls;
+    }
+
+    /**
+     * A read only {@link java.util.List} view of the set, in ascending order
+     *
+     * @return A list view of the set
+     */
+    public List<Integer> asList() {
+        if (list == null)
+            list = new BallList(this);
+
+        return list;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        BallSet ballSet = (BallSet) o;
+
+        return Arrays.equals(words, ballSet.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        return asList().toString();
+    }
+
+    /**
+     * Read only list adapter for a set of balls
+     */
+    private static final class BallList extends AbstractList<Integer> implements Serializable {
+        private final BallSet set;
+
+        private BallList(BallSet set) {
+            this.set = set;
+        }
+
+        @Override
+        public Integer get(int index) {
+            if (index < 0 || index >= set.size)
+                throw new IndexOutOfBoundsException("index: " + index + ", size: " + set.size);
+
+            long[] words = set.words;
+            for (int i = 0; ; i++) {
+                int count = Long.bitCount(words[i]);
+                if (index < count) {
+                    long word = words[i];
+                    for (int j = 0; j < index; j++)
+                        word &= word - 1;
+                    return (i << 6) + Long.numberOfTrailingZeros(word);
+                }
+                index -= count;
+            }
+        }
+
+        @Override
+        public int size() {
+            return set.size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Integer && set.contains((Integer) o);
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new Iterator<Integer>() {
+                int next = set.lowest();
+
+                @Override
+                public boolean hasNext() {
+                    return next != 0;
+                }
+
+                @Override
+                public Integer next() {
+                    if (next == 0)
+                        throw new NoSuchElementException();
+
+                    int ball = next;
+                    next = set.next(ball + 1);
+                    return ball;
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+    }
+}
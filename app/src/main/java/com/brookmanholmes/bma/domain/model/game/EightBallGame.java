@@ -4,8 +4,6 @@ import com.brookmanholmes.bma.domain.model.turn.ITurn;
 import com.brookmanholmes.bma.domain.model.turn.TableUtils;
 import com.brookmanholmes.bma.domain.model.turn.TurnEnd;
 
-import java.util.Arrays;
-
 import static com.brookmanholmes.bma.domain.model.game.PlayerColor.OPEN;
 import static com.brookmanholmes.bma.domain.model.game.PlayerColor.SOLIDS;
 import static com.brookmanholmes.bma.domain.model.game.PlayerColor.STRIPES;
@@ -81,18 +79,10 @@ class EightBallGame extends Game {
     @Override
     public int[] getGhostBallsToWinGame() {
         if (playerColor == SOLIDS) {
-            ballsOnTable.removeAll(Arrays.asList(1, 2, 3, 4, 5, 6, 7));
+            return ballsOnTable.without(1, 2, 3, 4, 5, 6, 7).toArray();
         } else {
-            ballsOnTable.removeAll(Arrays.asList(9, 10, 11, 12, 13, 14, 15));
+            return ballsOnTable.without(9, 10, 11, 12, 13, 14, 15).toArray();
         }
-
-        int[] ballsToWin = new int[ballsOnTable.size()];
-
-        for (int i = 0; i < ballsOnTable.size(); i++) {
-            ballsToWin[i] = ballsOnTable.get(i);
-        }
-
-        return ballsToWin;
     }
 
     @Override
@@ -6,7 +6,6 @@ import com.brookmanholmes.bma.domain.model.turn.TableStatus;
 import com.brookmanholmes.bma.domain.model.turn.TurnEnd;
 
 import java.io.Serializable;
-import java.util.ArrayList;
 import java.util.List;
 
 import static com.brookmanholmes.bma.domain.model.game.PlayerColor.OPEN;
@@ -37,7 +36,10 @@ public abstract class Game implements Serializable {
     int maxAttemptsPerGame = 1;
     int turnsThisGame = 0;
 
-    List<Integer> ballsOnTable;
+    BallSet ballsOnTable;
+
+    // the snapshot of the current status, shared by everyone that asks for it until the game changes
+    private transient GameStatus gameStatus;
 
     /**
      * Sets up the initial game status based on the inputs
@@ -72,39 +74,11 @@ public abstract class Game implements Serializable {
      * @throws InvalidGameTypeException
      */
     public static Game newGame(GameType gameType, PlayerTurn turn, BreakType breakType, int maxAttemptsPerGame) throws InvalidGameTypeException {
-        // TODO: 10/27/2015 implement american rotation games
-        switch (gameType) {
-            case BCA_NINE_BALL:
-                return new NineBallGame(turn, breakType);
-            case BCA_TEN_BALL:
-                return new TenBallGame(turn, breakType);
-            case APA_EIGHT_BALL:
-                return new ApaEightBallGame(turn);
-            case APA_NINE_BALL:
-                return new ApaNineBallGame(turn);
-            case BCA_EIGHT_BALL:
-                return new EightBallGame(turn, breakType);
-            case BCA_GHOST_EIGHT_BALL:
-                return new EightBallGame(GameType.BCA_GHOST_EIGHT_BALL, PlayerTurn.PLAYER, BreakType.PLAYER, maxAttemptsPerGame);
-            case BCA_GHOST_NINE_BALL:
-                return new NineBallGame(GameType.BCA_GHOST_NINE_BALL, PlayerTurn.PLAYER, BreakType.PLAYER, maxAttemptsPerGame);
-            case BCA_GHOST_TEN_BALL:
-                return new TenBallGame(GameType.BCA_GHOST_TEN_BALL, PlayerTurn.PLAYER, BreakType.PLAYER, maxAttemptsPerGame);
-            case APA_GHOST_EIGHT_BALL:
-                return new EightBallGame(GameType.APA_GHOST_EIGHT_BALL, PlayerTurn.PLAYER, BreakType.PLAYER, maxAttemptsPerGame);
-            case APA_GHOST_NINE_BALL:
-                return new NineBallGame(GameType.APA_GHOST_NINE_BALL, PlayerTurn.PLAYER, BreakType.PLAYER, maxAttemptsPerGame);
-            case STRAIGHT_POOL:
-                return new StraightPoolGame(turn);
-            case STRAIGHT_GHOST:
-                return new StraightPoolHighRunAttempt();
-            case EQUAL_DEFENSE:
-                return new EqualDefense(turn);
-            case EQUAL_OFFENSE:
-                return new EqualOffense();
-            default:
-                throw new InvalidGameTypeException(gameType.name());
-        }
+        Factory factory = gameType.getRules().game;
+        if (factory == null)
+            throw new InvalidGameTypeException(gameType.name());
+
+        return factory.create(gameType, turn, breakType, maxAttemptsPerGame);
     }
 
     /**
@@ -126,7 +100,8 @@ public abstract class Game implements Serializable {
         } else
             updateGameStatus(turn);
 
-        return new GameStatus(this);
+        gameStatus = new GameStatus(this);
+        return gameStatus;
     }
 
     /**
@@ -290,16 +265,12 @@ public abstract class Game implements Serializable {
     }
 
     /**
-     * Creates a list of balls that are on the table based on the maximum number of balls allowed
+     * Creates a set of balls that are on the table based on the maximum number of balls allowed
      *
-     * @return a list of integers between 1 and MAX_BALLS
+     * @return a set of balls between 1 and MAX_BALLS
      */
-    private List<Integer> newTable() {
-        List<Integer> table = new ArrayList<>(gameType.getMaxBalls());
-        for (int i = 1; i <= gameType.getMaxBalls(); i++)
-            table.add(i);
-
-        return table;
+    private BallSet newTable() {
+        return BallSet.full(gameType.getMaxBalls());
     }
 
     /**
@@ -327,10 +298,7 @@ public abstract class Game implements Serializable {
      * @param ballsToRemove The list of balls that are to be removed
      */
     void removeBallsFromTable(List<Integer> ballsToRemove) {
-        ballsOnTable.removeAll(ballsToRemove);
-
-        if (!ballsOnTable.contains(gameType.getGameBall()))
-            ballsOnTable.add(gameType.getGameBall());
+        ballsOnTable = ballsOnTable.without(ballsToRemove).with(gameType.getGameBall());
     }
 
     /**
@@ -363,12 +331,16 @@ public abstract class Game implements Serializable {
     }
 
     /**
-     * Retrieves the current game status of the game
+     * Retrieves the current game status of the game, the same (immutable) GameStatus is returned
+     * until the game changes
      *
-     * @return a new GameStatus
+     * @return The GameStatus for the current state of the game
      */
     public GameStatus getGameStatus() {
-        return new GameStatus(this);
+        if (gameStatus == null)
+            gameStatus = new GameStatus(this);
+
+        return gameStatus;
     }
 
     /**
@@ -389,7 +361,20 @@ public abstract class Game implements Serializable {
         this.playerColor = gameStatus.playerColor;
         this.innings = gameStatus.innings;
 
-        ballsOnTable = new ArrayList<>(gameStatus.ballsOnTable);
+        ballsOnTable = gameStatus.ballSet;
+        // turnsThisGame isn't restored, so the snapshot could differ from the one passed in
+        this.gameStatus = null;
+    }
+
+    /**
+     * Sets the game status of this game to exactly the same as another game status, unlike
+     * {@link #setGameStatus(GameStatus)} this also restores the number of turns taken this game
+     *
+     * @param gameStatus The game status that you would like this game to have
+     */
+    public void restoreGameStatus(GameStatus gameStatus) {
+        setGameStatus(gameStatus);
+        this.turnsThisGame = gameStatus.turnsThisGame;
     }
 
     /**
@@ -506,4 +491,84 @@ public abstract class Game implements Serializable {
         result = 31 * result + ballsOnTable.hashCode();
         return result;
     }
+
+    /**
+     * Makes the right subclass of game for a type of game, see {@link GameRules#game}
+     */
+    public enum Factory {
+        EIGHT_BALL {
+            @Override
+            Game create(GameType gameType, PlayerTurn turn, BreakType breakType, int maxAttemptsPerGame) {
+                return new EightBallGame(turn, breakType);
+            }
+        },
+        NINE_BALL {
+            @Override
+            Game create(GameType gameType, PlayerTurn turn, BreakType breakType, int maxAttemptsPerGame) {
+                return new NineBallGame(turn, breakType);
+            }
+        },
+        TEN_BALL {
+            @Override
+            Game create(GameType gameType, PlayerTurn turn, BreakType breakType, int maxAttemptsPerGame) {
+                return new TenBallGame(turn, breakType);
+            }
+        },
+        APA_EIGHT_BALL {
+            @Override
+            Game create(GameType gameType, PlayerTurn turn, BreakType breakType, int maxAttemptsPerGame) {
+                return new ApaEightBallGame(turn);
+            }
+        },
+        APA_NINE_BALL {
+            @Override
+            Game create(GameType gameType, PlayerTurn turn, BreakType breakType, int maxAttemptsPerGame) {
+                return new ApaNineBallGame(turn);
+            }
+        },
+        GHOST_EIGHT_BALL {
+            @Override
+            Game create(GameType gameType, PlayerTurn turn, BreakType breakType, int maxAttemptsPerGame) {
+                return new EightBallGame(gameType, PlayerTurn.PLAYER, BreakType.PLAYER, maxAttemptsPerGame);
+            }
+        },
+        GHOST_NINE_BALL {
+            @Override
+            Game create(GameType gameType, PlayerTurn turn, BreakType breakType, int maxAttemptsPerGame) {
+                return new NineBallGame(gameType, PlayerTurn.PLAYER, BreakType.PLAYER, maxAttemptsPerGame);
+            }
+        },
+        GHOST_TEN_BALL {
+            @Override
+            Game create(GameType gameType, PlayerTurn turn, BreakType breakType, int maxAttemptsPerGame) {
+                return new TenBallGame(gameType, PlayerTurn.PLAYER, BreakType.PLAYER, maxAttemptsPerGame);
+            }
+        },
+        STRAIGHT_POOL {
+            @Override
+            Game create(GameType gameType, PlayerTurn turn, BreakType breakType, int maxAttemptsPerGame) {
+                return new StraightPoolGame(turn);
+            }
+        },
+        STRAIGHT_GHOST {
+            @Override
+            Game create(GameType gameType, PlayerTurn turn, BreakType breakType, int maxAttemptsPerGame) {
+                return new StraightPoolHighRunAttempt();
+            }
+        },
+        EQUAL_DEFENSE {
+            @Override
+            Game create(GameType gameType, PlayerTurn turn, BreakType breakType, int maxAttemptsPerGame) {
+                return new EqualDefense(turn);
+            }
+        },
+        EQUAL_OFFENSE {
+            @Override
+            Game create(GameType gameType, PlayerTurn turn, BreakType breakType, int maxAttemptsPerGame) {
+                return new EqualOffense();
+            }
+        };
+
+        abstract Game create(GameType gameType, PlayerTurn turn, BreakType breakType, int maxAttemptsPerGame);
+    }
 }
@@ -0,0 +1,240 @@
+package com.brookmanholmes.bma.domain.model.game;
+
+import com.brookmanholmes.bma.domain.model.player.controller.PlayerController;
+import com.brookmanholmes.bma.domain.model.turn.TableStatus;
+import com.brookmanholmes.bma.domain.model.turn.helpers.TurnEndHelper;
+
+/**
+ * Everything that's different between the types of games: the size of the table, the game ball,
+ * what kind of game it is and how to make its game, player controller, turn end helper and table.
+ * There's one for each {@link GameType}, they're all made once when the class is loaded and can't
+ * be changed, so checking a game type is reading a field
+ * <p></p>
+ * Adding a game type is adding it to {@link GameType} and registering its rules here, a factory
+ * that's null means the game type doesn't have one yet and asking for one throws an
+ * {@link InvalidGameTypeException}
+ */
+public final class GameRules {
+    private static final GameRules[] rules = new GameRules[GameType.values().length];
+
+    static {
+        register(new Builder(GameType.BCA_EIGHT_BALL).balls(15, 8).bca().eightBall()
+                .game(Game.Factory.EIGHT_BALL)
+                .controller(PlayerController.Factory.EIGHT_BALL)
+                .turnEndHelper(TurnEndHelper.Factory.EIGHT_BALL)
+                .table(TableStatus.Factory.STANDARD));
+        register(new Builder(GameType.BCA_TEN_BALL).balls(10, 10).bca().tenBall().winEarly()
+                .game(Game.Factory.TEN_BALL)
+                .controller(PlayerController.Factory.TEN_BALL)
+                .turnEndHelper(TurnEndHelper.Factory.TEN_BALL)
+                .table(TableStatus.Factory.STANDARD));
+        register(new Builder(GameType.BCA_NINE_BALL).balls(9, 9).bca().nineBall().winOnBreak().winEarly()
+                .game(Game.Factory.NINE_BALL)
+                .controller(PlayerController.Factory.NINE_BALL)
+                .turnEndHelper(TurnEndHelper.Factory.ROTATION)
+                .table(TableStatus.Factory.STANDARD));
+        register(new Builder(GameType.BCA_GHOST_EIGHT_BALL).balls(15, 8).bca().singlePlayer().eightBall()
+                .game(Game.Factory.GHOST_EIGHT_BALL)
+                .controller(PlayerController.Factory.EIGHT_BALL)
+                .turnEndHelper(TurnEndHelper.Factory.GHOST_EIGHT_BALL)
+                .table(TableStatus.Factory.STANDARD));
+        register(new Builder(GameType.BCA_GHOST_NINE_BALL).balls(9, 9).bca().singlePlayer().nineBall().winOnBreak().winEarly()
+                .game(Game.Factory.GHOST_NINE_BALL)
+                .controller(PlayerController.Factory.NINE_BALL)
+                .turnEndHelper(TurnEndHelper.Factory.GHOST)
+                .table(TableStatus.Factory.STANDARD));
+        register(new Builder(GameType.BCA_GHOST_TEN_BALL).balls(10, 10).bca().singlePlayer().tenBall()
+                .game(Game.Factory.GHOST_TEN_BALL)
+                .controller(PlayerController.Factory.TEN_BALL)
+                .turnEndHelper(TurnEndHelper.Factory.GHOST)
+                .table(TableStatus.Factory.STANDARD));
+        register(new Builder(GameType.STRAIGHT_POOL).balls(999, 999).straightPool()
+                .game(Game.Factory.STRAIGHT_POOL)
+                .controller(PlayerController.Factory.STRAIGHT_POOL)
+                .turnEndHelper(TurnEndHelper.Factory.STRAIGHT_POOL)
+                .table(TableStatus.Factory.STRAIGHT_POOL));
+        // TODO: 10/27/2015 implement american rotation games
+        register(new Builder(GameType.AMERICAN_ROTATION));
+        register(new Builder(GameType.APA_NINE_BALL).balls(9, 9).apa().nineBall().winOnBreak().winEarly()
+                .game(Game.Factory.APA_NINE_BALL)
+                .controller(PlayerController.Factory.APA_NINE_BALL)
+                .turnEndHelper(TurnEndHelper.Factory.ROTATION)
+                .table(TableStatus.Factory.STANDARD));
+        register(new Builder(GameType.APA_EIGHT_BALL).balls(15, 8).apa().eightBall().winOnBreak()
+                .game(Game.Factory.APA_EIGHT_BALL)
+                .controller(PlayerController.Factory.APA_EIGHT_BALL)
+                .turnEndHelper(TurnEndHelper.Factory.APA_EIGHT_BALL)
+                .table(TableStatus.Factory.STANDARD));
+        register(new Builder(GameType.APA_GHOST_EIGHT_BALL).balls(15, 8).apa().singlePlayer().eightBall().winOnBreak()
+                .game(Game.Factory.GHOST_EIGHT_BALL)
+                .controller(PlayerController.Factory.APA_EIGHT_BALL)
+                .turnEndHelper(TurnEndHelper.Factory.APA_GHOST_EIGHT_BALL)
+                .table(TableStatus.Factory.STANDARD));
+        register(new Builder(GameType.APA_GHOST_NINE_BALL).balls(9, 9).apa().singlePlayer().nineBall().winOnBreak().winEarly()
+                .game(Game.Factory.GHOST_NINE_BALL)
+                .controller(PlayerController.Factory.APA_NINE_BALL)
+                .turnEndHelper(TurnEndHelper.Factory.APA_GHOST_NINE_BALL)
+                .table(TableStatus.Factory.STANDARD));
+        register(new Builder(GameType.STRAIGHT_GHOST).balls(999, 999).singlePlayer().straightPool()
+                .game(Game.Factory.STRAIGHT_GHOST)
+                .controller(PlayerController.Factory.STRAIGHT_POOL)
+                .turnEndHelper(TurnEndHelper.Factory.GHOST)
+                .table(TableStatus.Factory.STRAIGHT_POOL));
+        // TODO: 1/5/2017 implement the rest of equal offense and equal defense
+        register(new Builder(GameType.EQUAL_OFFENSE).game(Game.Factory.EQUAL_OFFENSE));
+        register(new Builder(GameType.EQUAL_DEFENSE).game(Game.Factory.EQUAL_DEFENSE));
+        // every type of game, for filtering stats
+        register(new Builder(GameType.ALL).winOnBreak().winEarly());
+
+        for (GameType gameType : GameType.values()) {
+            if (rules[gameType.ordinal()] == null)
+                throw new IllegalStateException(gameType + " isn't registered");
+        }
+    }
+
+    public final GameType gameType;
+    /**
+     * The number of balls in a rack, which is also the size of the table
+     */
+    public final int maxBalls;
+    public final int gameBall;
+    public final boolean apa, bca, singlePlayer;
+    public final boolean eightBall, nineBall, tenBall, straightPool;
+    public final boolean winOnBreak, winEarly;
+    public final Game.Factory game;
+    public final PlayerController.Factory controller;
+    public final TurnEndHelper.Factory turnEndHelper;
+    public final TableStatus.Factory table;
+
+    private GameRules(Builder builder) {
+        gameType = builder.gameType;
+        maxBalls = builder.maxBalls;
+        gameBall = builder.gameBall;
+        apa = builder.apa;
+        bca = builder.bca;
+        singlePlayer = builder.singlePlayer;
+        eightBall = builder.eightBall;
+        nineBall = builder.nineBall;
+        tenBall = builder.tenBall;
+        straightPool = builder.straightPool;
+        winOnBreak = builder.winOnBreak;
+        winEarly = builder.winEarly;
+        game = builder.game;
+        controller = builder.controller;
+        turnEndHelper = builder.turnEndHelper;
+        table = builder.table;
+    }
+
+    /**
+     * Getter for the rules of a type of game
+     *
+     * @param gameType The type of game
+     * @return The rules of the game type
+     */
+    public static GameRules of(GameType gameType) {
+        return rules[gameType.ordinal()];
+    }
+
+    private static void register(Builder builder) {
+        if (rules[builder.gameType.ordinal()] != null)
+            throw new IllegalStateException(builder.gameType + " is already registered");
+
+        rules[builder.gameType.ordinal()] = new GameRules(builder);
+    }
+
+    @Override
+    public String toString() {
+        return "GameRules{" +
+                "gameType=" + gameType +
+                ", maxBalls=" + maxBalls +
+                ", gameBall=" + gameBall +
+                '}';
+    }
+
+    private static class Builder {
+        private final GameType gameType;
+        private int maxBalls, gameBall;
+        private boolean apa, bca, singlePlayer;
+        private boolean eightBall, nineBall, tenBall, straightPool;
+        private boolean winOnBreak, winEarly;
+        private Game.Factory game;
+        private PlayerController.Factory controller;
+        private TurnEndHelper.Factory turnEndHelper;
+        private TableStatus.Factory table;
+
+        Builder(GameType gameType) {
+            this.gameType = gameType;
+        }
+
+        Builder balls(int maxBalls, int gameBall) {
+            this.maxBalls = maxBalls;
+            this.gameBall = gameBall;
+            return this;
+        }
+
+        Builder apa() {
+            apa = true;
+            return this;
+        }
+
+        Builder bca() {
+            bca = true;
+            return this;
+        }
+
+        Builder singlePlayer() {
+            singlePlayer = true;
+            return this;
+        }
+
+        Builder eightBall() {
+            eightBall = true;
+            return this;
+        }
+
+        Builder nineBall() {
+            nineBall = true;
+            return this;
+        }
+
+        Builder tenBall() {
+            tenBall = true;
+            return this;
+        }
+
+        Builder straightPool() {
+            straightPool = true;
+            return this;
+        }
+
+        Builder winOnBreak() {
+            winOnBreak = true;
+            return this;
+        }
+
+        Builder winEarly() {
+            winEarly = true;
+            return this;
+        }
+
+        Builder game(Game.Factory game) {
+            this.game = game;
+            return this;
+        }
+
+        Builder controller(PlayerController.Factory controller) {
+            this.controller = controller;
+            return this;
+        }
+
+        Builder turnEndHelper(TurnEndHelper.Factory turnEndHelper) {
+            this.turnEndHelper = turnEndHelper;
+            return this;
+        }
+
+        Builder table(TableStatus.Factory table) {
+            this.table = table;
+            return this;
+        }
+    }
+}
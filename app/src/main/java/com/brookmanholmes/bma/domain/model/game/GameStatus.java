@@ -1,7 +1,6 @@
 package com.brookmanholmes.bma.domain.model.game;
 
 import java.io.Serializable;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -9,6 +8,8 @@ import java.util.List;
  * <p></p>Created by Brookman Holmes on 10/30/2015.
  */
 public final class GameStatus implements Serializable {
+    private static final PlayerColor[] PLAYER_COLORS = PlayerColor.values();
+
     public final boolean playerAllowedToBreakAgain;
     public final boolean newGame;
     public final boolean opponentPlayedSuccessfulSafe;
@@ -24,6 +25,7 @@ public final class GameStatus implements Serializable {
     public final int consecutiveOpponentFouls;
     public final boolean winOnBreak;
     public final List<Integer> ballsOnTable;
+    public final BallSet ballSet;
     public final BreakType breakType;
     public final int turnsThisGame;
     public final int maxAttemptsPerGame;
@@ -41,7 +43,8 @@ public final class GameStatus implements Serializable {
         currentPlayerColor = game.getCurrentPlayerColor();
         currentPlayerConsecutiveFouls = game.getCurrentPlayersConsecutiveFouls();
         winOnBreak = game.winOnBreak();
-        ballsOnTable = new ArrayList<>(game.ballsOnTable);
+        ballSet = game.ballsOnTable;
+        ballsOnTable = ballSet.asList();
         breakType = game.breakType;
         innings = game.innings;
         turnsThisGame = game.turnsThisGame;
@@ -51,6 +54,29 @@ public final class GameStatus implements Serializable {
         consecutivePlayerFouls = game.consecutivePlayerFouls;
     }
 
+    GameStatus(GameType gameType, BreakType breakType, int maxAttemptsPerGame, long packed, BallSet ballSet) {
+        playerAllowedToBreakAgain = GameStatusHistory.flag(packed, GameStatusHistory.ALLOWED_TO_BREAK_AGAIN);
+        newGame = GameStatusHistory.flag(packed, GameStatusHistory.NEW_GAME);
+        opponentPlayedSuccessfulSafe = GameStatusHistory.flag(packed, GameStatusHistory.SUCCESSFUL_SAFE);
+        turn = GameStatusHistory.flag(packed, GameStatusHistory.TURN) ? PlayerTurn.OPPONENT : PlayerTurn.PLAYER;
+        breaker = GameStatusHistory.flag(packed, GameStatusHistory.BREAKER) ? PlayerTurn.OPPONENT : PlayerTurn.PLAYER;
+        this.gameType = gameType;
+        allowPush = GameStatusHistory.flag(packed, GameStatusHistory.ALLOW_PUSH);
+        allowTurnSkip = GameStatusHistory.flag(packed, GameStatusHistory.ALLOW_TURN_SKIP);
+        currentPlayerColor = PLAYER_COLORS[GameStatusHistory.number(packed, GameStatusHistory.CURRENT_PLAYER_COLOR, GameStatusHistory.COLOR_BITS)];
+        currentPlayerConsecutiveFouls = GameStatusHistory.number(packed, GameStatusHistory.CURRENT_PLAYER_FOULS, GameStatusHistory.FOUL_BITS);
+        winOnBreak = GameStatusHistory.flag(packed, GameStatusHistory.WIN_ON_BREAK);
+        this.ballSet = ballSet;
+        ballsOnTable = ballSet.asList();
+        this.breakType = breakType;
+        innings = GameStatusHistory.number(packed, GameStatusHistory.INNINGS, GameStatusHistory.INNINGS_BITS);
+        turnsThisGame = GameStatusHistory.number(packed, GameStatusHistory.TURNS_THIS_GAME, GameStatusHistory.TURNS_BITS);
+        this.maxAttemptsPerGame = maxAttemptsPerGame;
+        playerColor = PLAYER_COLORS[GameStatusHistory.number(packed, GameStatusHistory.PLAYER_COLOR, GameStatusHistory.COLOR_BITS)];
+        consecutiveOpponentFouls = GameStatusHistory.number(packed, GameStatusHistory.OPPONENT_FOULS, GameStatusHistory.FOUL_BITS);
+        consecutivePlayerFouls = GameStatusHistory.number(packed, GameStatusHistory.PLAYER_FOULS, GameStatusHistory.FOUL_BITS);
+    }
+
     private GameStatus(Builder builder) {
         playerAllowedToBreakAgain = builder.playerAllowedToBreakAgain;
         newGame = builder.newGame;
@@ -63,7 +89,8 @@ public final class GameStatus implements Serializable {
         currentPlayerColor = builder.currentPlayerColor;
         currentPlayerConsecutiveFouls = builder.currentPlayerConsecutiveFouls;
         winOnBreak = builder.winOnBreak;
-        ballsOnTable = builder.ballsOnTable;
+        ballSet = builder.ballsOnTable;
+        ballsOnTable = ballSet.asList();
         breakType = builder.breakType;
         innings = builder.innings;
         turnsThisGame = builder.turnsThisGame;
@@ -120,8 +147,7 @@ public final class GameStatus implements Serializable {
         if (gameType != that.gameType) return false;
         if (currentPlayerColor != that.currentPlayerColor) return false;
         if (playerColor != that.playerColor) return false;
-        if (!ballsOnTable.containsAll(((GameStatus) o).ballsOnTable)) return false;
-        if (!((GameStatus) o).ballsOnTable.containsAll(ballsOnTable)) return false;
+        if (!ballSet.equals(that.ballSet)) return false;
         return breakType == that.breakType;
 
     }
@@ -142,7 +168,7 @@ public final class GameStatus implements Serializable {
         result = 31 * result + consecutivePlayerFouls;
         result = 31 * result + consecutiveOpponentFouls;
         result = 31 * result + (winOnBreak ? 1 : 0);
-        result = 31 * result + ballsOnTable.hashCode();
+        result = 31 * result + ballSet.hashCode();
         result = 31 * result + breakType.hashCode();
         return result;
     }
@@ -160,7 +186,7 @@ public final class GameStatus implements Serializable {
         private PlayerColor currentPlayerColor = PlayerColor.OPEN;
         private int currentPlayerConsecutiveFouls = 0;
         private boolean winOnBreak;
-        private List<Integer> ballsOnTable;
+        private BallSet ballsOnTable;
         private BreakType breakType;
         private int innings;
         private int turnsThisGame = 0;
@@ -214,10 +240,7 @@ public final class GameStatus implements Serializable {
                     throw new InvalidGameTypeException(gameType.name());
             }
 
-            ballsOnTable = new ArrayList<>();
-            for (int i = 1; i <= gameType.getMaxBalls(); i++) {
-                ballsOnTable.add(i);
-            }
+            ballsOnTable = BallSet.full(gameType.getMaxBalls());
         }
 
         public Builder turnsThisGame(int turns) {
@@ -296,19 +319,17 @@ public final class GameStatus implements Serializable {
         }
 
         public Builder removeBalls(int... balls) {
-            List<Integer> temp = new ArrayList<>();
-            for (int ball : balls) {
-                temp.add(ball);
-            }
-
-            ballsOnTable.removeAll(temp);
+            ballsOnTable = ballsOnTable.without(balls);
             return this;
         }
 
         public Builder setBalls(List<Integer> balls) {
-            ballsOnTable.clear();
-            ballsOnTable.addAll(balls);
+            ballsOnTable = BallSet.copyOf(balls);
+            return this;
+        }
 
+        public Builder setBalls(BallSet balls) {
+            ballsOnTable = balls;
             return this;
         }
 
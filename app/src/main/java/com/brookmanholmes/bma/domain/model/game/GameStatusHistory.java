@@ -0,0 +1,341 @@
+package com.brookmanholmes.bma.domain.model.game;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * An append-only history of game statuses, items can only be added to or removed from the end.
+ * Instead of keeping every {@link GameStatus}, each one is packed into two longs: one for the
+ * turn, breaker, colors, fouls, turn and inning counts and flags, and one for the balls on the
+ * table. The game type, break type and max attempts never change during a match, so they're only
+ * kept once. GameStatus objects are only created when they're asked for
+ * <p></p>
+ * Balls that don't fit in a long (straight pool has 999 of them) are kept once in a list of the
+ * different ball sets, and the long holds their index in it instead. Consecutive statuses share the
+ * same ball set, so a straight pool match only keeps a few of them
+ * <p></p>
+ * A status that doesn't fit in the packed layout (e.g. an inning count that's too big) is kept as
+ * is, so nothing is ever lost
+ */
+public final class GameStatusHistory extends AbstractList<GameStatus> implements RandomAccess, Serializable {
+    // one bit for each flag
+    static final int ALLOWED_TO_BREAK_AGAIN = 0;
+    static final int NEW_GAME = 1;
+    static final int SUCCESSFUL_SAFE = 2;
+    static final int ALLOW_PUSH = 3;
+    static final int ALLOW_TURN_SKIP = 4;
+    static final int WIN_ON_BREAK = 5;
+    static final int TURN = 6;
+    static final int BREAKER = 7;
+    // the offset and width of each number
+    static final int CURRENT_PLAYER_COLOR = 8, COLOR_BITS = 2;
+    static final int PLAYER_COLOR = 10;
+    static final int CURRENT_PLAYER_FOULS = 12, FOUL_BITS = 5;
+    static final int PLAYER_FOULS = 17;
+    static final int OPPONENT_FOULS = 22;
+    static final int TURNS_THIS_GAME = 27, TURNS_BITS = 16;
+    static final int INNINGS = 43, INNINGS_BITS = 20;
+    // packing never sets the top bit, so this can't be a packed status
+    private static final long UNPACKED = -1L;
+    // there's no ball 0, so a packed ball set with this bit is an index into the big ball sets
+    private static final long BIG_BALL_SET = 1L;
+
+    private transient long[] statuses = new long[16];
+    private transient long[] balls = new long[16];
+    private transient int size = 0;
+    // the statuses that couldn't be packed, by index
+    private transient Map<Integer, GameStatus> unpacked;
+    // the different ball sets that don't fit in a long, in the order they were first appended
+    private transient List<BallSet> bigBallSets;
+    private GameType gameType;
+    private BreakType breakType;
+    private int maxAttemptsPerGame;
+    // the balls from the last status that was created, consecutive statuses usually share them
+    private transient BallSet lastBallSet;
+
+    /**
+     * Adds a game status to the end of the history
+     *
+     * @param gameStatus The game status to add
+     */
+    public void append(GameStatus gameStatus) {
+        if (size == statuses.length) {
+            statuses = Arrays.copyOf(statuses, size * 2);
+            balls = Arrays.copyOf(balls, size * 2);
+        }
+
+        if (size == 0) {
+            gameType = gameStatus.gameType;
+            breakType = gameStatus.breakType;
+            maxAttemptsPerGame = gameStatus.maxAttemptsPerGame;
+        }
+
+        long packed = pack(gameStatus);
+        if (packed == UNPACKED) {
+            if (unpacked == null)
+                unpacked = new HashMap<>();
+            unpacked.put(size, gameStatus);
+        } else balls[size] = packBalls(gameStatus.ballSet);
+
+        statuses[size++] = packed;
+        modCount++;
+    }
+
+    /**
+     * Adds the game statuses of another history to the start of this one, in front of the
+     * statuses that are already in it. Both histories have to be from the same match
+     *
+     * @param before The game statuses that come before the ones in this history
+     * @throws IllegalArgumentException if the histories are for different game types, break types
+     *                                  or max attempts
+     */
+    public void prepend(GameStatusHistory before) {
+        if (before.size == 0)
+            return;
+        if (size > 0 && (before.gameType != gameType || before.breakType != breakType
+                || before.maxAttemptsPerGame != maxAttemptsPerGame))
+            throw new IllegalArgumentException("Can't join histories of different games");
+
+        int bigBallSetsBefore = before.bigBallSets == null ? 0 : before.bigBallSets.size();
+        long[] statuses = new long[Math.max(this.statuses.length, before.size + size)];
+        long[] balls = new long[statuses.length];
+        System.arraycopy(before.statuses, 0, statuses, 0, before.size);
+        System.arraycopy(before.balls, 0, balls, 0, before.size);
+        System.arraycopy(this.statuses, 0, statuses, before.size, size);
+        for (int i = 0; i < size; i++) {
+            long packed = this.balls[i];
+            if (this.statuses[i] != UNPACKED && (packed & BIG_BALL_SET) != 0)
+                packed += (long) bigBallSetsBefore << 1;
+            balls[before.size + i] = packed;
+        }
+
+        if (before.unpacked != null || unpacked != null) {
+            Map<Integer, GameStatus> joined = new HashMap<>();
+            if (before.unpacked != null)
+                joined.putAll(before.unpacked);
+            if (unpacked != null) {
+                for (Map.Entry<Integer, GameStatus> entry : unpacked.entrySet())
+                    joined.put(entry.getKey() + before.size, entry.getValue());
+            }
+            unpacked = joined;
+        }
+
+        if (bigBallSetsBefore > 0) {
+            List<BallSet> joined = new ArrayList<>(before.bigBallSets);
+            if (bigBallSets != null)
+                joined.addAll(bigBallSets);
+            bigBallSets = joined;
+        }
+
+        gameType = before.gameType;
+        breakType = before.breakType;
+        maxAttemptsPerGame = before.maxAttemptsPerGame;
+        this.statuses = statuses;
+        this.balls = balls;
+        size += before.size;
+        modCount++;
+    }
+
+    /**
+     * Removes the last game status in the history
+     *
+     * @return The game status that was removed
+     * @throws NoSuchElementException if the history is empty
+     */
+    public GameStatus removeLast() {
+        GameStatus gameStatus = peekLast();
+        truncate(size - 1);
+        return gameStatus;
+    }
+
+    /**
+     * Getter for the last game status in the history
+     *
+     * @return The last game status in the history
+     * @throws NoSuchElementException if the history is empty
+     */
+    public GameStatus peekLast() {
+        if (size == 0)
+            throw new NoSuchElementException();
+
+        return get(size - 1);
+    }
+
+    /**
+     * Removes every game status from the history at or after {@code size}
+     *
+     * @param size The number of game statuses to keep
+     */
+    public void truncate(int size) {
+        if (size < 0 || size > this.size)
+            throw new IndexOutOfBoundsException("size: " + size + ", current size: " + this.size);
+
+        if (unpacked != null) {
+            for (int i = size; i < this.size; i++)
+                unpacked.remove(i);
+        }
+
+        if (bigBallSets != null)
+            bigBallSets.subList(bigBallSetsUsed(size), bigBallSets.size()).clear();
+
+        this.size = size;
+        modCount++;
+    }
+
+    @Override
+    public GameStatus get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+
+        if (statuses[index] == UNPACKED)
+            return unpacked.get(index);
+
+        return new GameStatus(gameType, breakType, maxAttemptsPerGame, statuses[index], ballSet(balls[index]));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private BallSet ballSet(long word) {
+        if ((word & BIG_BALL_SET) != 0)
+            return bigBallSets.get((int) (word >>> 1));
+
+        BallSet ballSet = lastBallSet;
+        if (ballSet == null || ballSet.toWord() != word)
+            lastBallSet = ballSet = BallSet.fromWord(word);
+
+        return ballSet;
+    }
+
+    /**
+     * Packs the balls of a game status into a long, the balls themselves if they fit and
+     * otherwise the index of their ball set in the big ball sets
+     *
+     * @param ballSet The balls to pack
+     * @return The packed balls
+     */
+    private long packBalls(BallSet ballSet) {
+        if (ballSet.fitsInWord())
+            return ballSet.toWord();
+
+        if (bigBallSets == null)
+            bigBallSets = new ArrayList<>();
+
+        int last = bigBallSets.size() - 1;
+        if (last < 0 || !bigBallSets.get(last).equals(ballSet)) {
+            bigBallSets.add(ballSet);
+            last++;
+        }
+
+        return (long) last << 1 | BIG_BALL_SET;
+    }
+
+    /**
+     * The number of big ball sets used by the first {@code size} statuses. Indexes only go up as
+     * statuses are appended, so it's one more than the index of the last one that has one
+     *
+     * @param size The number of statuses
+     * @return The number of big ball sets they use
+     */
+    private int bigBallSetsUsed(int size) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (statuses[i] != UNPACKED && (balls[i] & BIG_BALL_SET) != 0)
+                return (int) (balls[i] >>> 1) + 1;
+        }
+
+        return 0;
+    }
+
+    /**
+     * Packs a game status into a long
+     *
+     * @param gameStatus The game status to pack
+     * @return The packed game status, or {@link #UNPACKED} if it doesn't fit
+     */
+    private long pack(GameStatus gameStatus) {
+        if (gameStatus.gameType != gameType
+                || gameStatus.breakType != breakType
+                || gameStatus.maxAttemptsPerGame != maxAttemptsPerGame
+                || gameStatus.turn == null || gameStatus.breaker == null
+                || gameStatus.currentPlayerColor == null || gameStatus.playerColor == null
+                || !fits(gameStatus.currentPlayerConsecutiveFouls, FOUL_BITS)
+                || !fits(gameStatus.consecutivePlayerFouls, FOUL_BITS)
+                || !fits(gameStatus.consecutiveOpponentFouls, FOUL_BITS)
+                || !fits(gameStatus.turnsThisGame, TURNS_BITS)
+                || !fits(gameStatus.innings, INNINGS_BITS))
+            return UNPACKED;
+
+        return flag(gameStatus.playerAllowedToBreakAgain, ALLOWED_TO_BREAK_AGAIN)
+                | flag(gameStatus.newGame, NEW_GAME)
+                | flag(gameStatus.opponentPlayedSuccessfulSafe, SUCCESSFUL_SAFE)
+                | flag(gameStatus.allowPush, ALLOW_PUSH)
+                | flag(gameStatus.allowTurnSkip, ALLOW_TURN_SKIP)
+                | flag(gameStatus.winOnBreak, WIN_ON_BREAK)
+                | flag(gameStatus.turn == PlayerTurn.OPPONENT, TURN)
+                | flag(gameStatus.breaker == PlayerTurn.OPPONENT, BREAKER)
+                | (long) gameStatus.currentPlayerColor.ordinal() << CURRENT_PLAYER_COLOR
+                | (long) gameStatus.playerColor.ordinal() << PLAYER_COLOR
+                | (long) gameStatus.currentPlayerConsecutiveFouls << CURRENT_PLAYER_FOULS
+                | (long) gameStatus.consecutivePlayerFouls << PLAYER_FOULS
+                | (long) gameStatus.consecutiveOpponentFouls << OPPONENT_FOULS
+                | (long) gameStatus.turnsThisGame << TURNS_THIS_GAME
+                | (long) gameStatus.innings << INNINGS;
+    }
+
+    private static boolean fits(int value, int bits) {
+        return value >= 0 && value < 1 << bits;
+    }
+
+    private static long flag(boolean value, int bit) {
+        return value ? 1L << bit : 0;
+    }
+
+    static boolean flag(long packed, int bit) {
+        return (packed & 1L << bit) != 0;
+    }
+
+    static int number(long packed, int offset, int bits) {
+        return (int) (packed >>> offset) & ((1 << bits) - 1);
+    }
+
+    private void writeObject(ObjectOutputStream outputStream) throws IOException {
+        outputStream.defaultWriteObject();
+        outputStream.writeInt(size);
+
+        for (int i = 0; i < size; i++) {
+            outputStream.writeLong(statuses[i]);
+            outputStream.writeLong(balls[i]);
+        }
+
+        outputStream.writeObject(unpacked);
+        outputStream.writeObject(bigBallSets);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream inputStream) throws ClassNotFoundException, IOException {
+        inputStream.defaultReadObject();
+        size = inputStream.readInt();
+        statuses = new long[Math.max(16, size)];
+        balls = new long[Math.max(16, size)];
+
+        for (int i = 0; i < size; i++) {
+            statuses[i] = inputStream.readLong();
+            balls[i] = inputStream.readLong();
+        }
+
+        unpacked = (Map<Integer, GameStatus>) inputStream.readObject();
+        bigBallSets = (List<BallSet>) inputStream.readObject();
+    }
+}
@@ -21,112 +21,76 @@ public enum GameType {
     EQUAL_DEFENSE,
     ALL;
 
+    /**
+     * Getter for the rules of this type of game
+     *
+     * @return The size of the table, game ball, kind of game and factories for this type of game
+     */
+    public GameRules getRules() {
+        return GameRules.of(this);
+    }
+
     public boolean isApa() {
-        return name().contains("APA");
+        return getRules().apa;
     }
 
     public boolean isBca() {
-        return name().contains("BCA");
+        return getRules().bca;
     }
 
     public boolean isSinglePlayer() {
-        return name().contains("GHOST");
+        return getRules().singlePlayer;
     }
 
     public boolean isApa8Ball() {
-        return this.equals(APA_EIGHT_BALL) || this.equals(APA_GHOST_EIGHT_BALL);
+        GameRules rules = getRules();
+        return rules.apa && rules.eightBall;
     }
 
     public boolean isApa9Ball() {
-        return this.equals(APA_NINE_BALL) || this.equals(APA_GHOST_NINE_BALL);
+        GameRules rules = getRules();
+        return rules.apa && rules.nineBall;
     }
 
     public boolean isStraightPool() {
-        return this.equals(STRAIGHT_POOL) || this.equals(STRAIGHT_GHOST);
+        return getRules().straightPool;
     }
 
     public boolean is9Ball() {
-        return this.equals(APA_GHOST_NINE_BALL) || this.equals(BCA_GHOST_NINE_BALL)
-                || this.equals(APA_NINE_BALL) || this.equals(BCA_NINE_BALL);
+        return getRules().nineBall;
     }
 
     public boolean is10Ball() {
-        return this.equals(BCA_TEN_BALL) || this.equals(BCA_GHOST_TEN_BALL);
+        return getRules().tenBall;
     }
 
     public boolean is8Ball() {
-        return isBca8Ball() || isApa8Ball();
+        return getRules().eightBall;
     }
 
     public boolean isBca8Ball() {
-        return this.equals(BCA_EIGHT_BALL) || this.equals(BCA_GHOST_EIGHT_BALL);
+        GameRules rules = getRules();
+        return rules.bca && rules.eightBall;
     }
 
     public boolean isBca9Ball() {
-        return this.equals(BCA_NINE_BALL) || this.equals(BCA_GHOST_NINE_BALL);
+        GameRules rules = getRules();
+        return rules.bca && rules.nineBall;
     }
 
     public boolean isWinOnBreak() {
-        return isApa() || is9Ball() || this.equals(ALL);
+        return getRules().winOnBreak;
     }
 
     public boolean isWinEarly() {
-        return is9Ball() || this.equals(BCA_TEN_BALL) || this.equals(ALL);
+        return getRules().winEarly;
     }
 
     public int getMaxBalls() {
-        switch (this) {
-            case BCA_EIGHT_BALL:
-            case BCA_GHOST_EIGHT_BALL:
-            case APA_EIGHT_BALL:
-            case APA_GHOST_EIGHT_BALL:
-                return 15;
-            case BCA_TEN_BALL:
-            case BCA_GHOST_TEN_BALL:
-                return 10;
-            case BCA_NINE_BALL:
-            case APA_NINE_BALL:
-            case APA_GHOST_NINE_BALL:
-            case BCA_GHOST_NINE_BALL:
-                return 9;
-            case STRAIGHT_POOL:
-            case STRAIGHT_GHOST:
-                return 999;
-            case AMERICAN_ROTATION:
-            case EQUAL_OFFENSE:
-            case EQUAL_DEFENSE:
-            case ALL:
-                return 0;
-            default:
-                return 0;
-        }
+        return getRules().maxBalls;
     }
 
     public int getGameBall() {
-        switch (this) {
-            case BCA_EIGHT_BALL:
-            case BCA_GHOST_EIGHT_BALL:
-            case APA_EIGHT_BALL:
-            case APA_GHOST_EIGHT_BALL:
-                return 8;
-            case BCA_TEN_BALL:
-            case BCA_GHOST_TEN_BALL:
-                return 10;
-            case BCA_NINE_BALL:
-            case APA_NINE_BALL:
-            case APA_GHOST_NINE_BALL:
-            case BCA_GHOST_NINE_BALL:
-                return 9;
-            case STRAIGHT_POOL:
-            case STRAIGHT_GHOST:
-                return 999;
-            case AMERICAN_ROTATION:
-            case EQUAL_OFFENSE:
-            case EQUAL_DEFENSE:
-            case ALL:
-                return 0;
-            default:
-                return 0;
-        }
+        return getRules().gameBall;
     }
 }
@@ -46,12 +46,6 @@ abstract class RotationGame extends Game {
 
     @Override
     public int[] getGhostBallsToWinGame() {
-        int[] ballsToWin = new int[ballsOnTable.size()];
-
-        for (int i = 0; i < ballsOnTable.size(); i++) {
-            ballsToWin[i] = ballsOnTable.get(i);
-        }
-
-        return ballsToWin;
+        return ballsOnTable.toArray();
     }
 }
@@ -0,0 +1,153 @@
+package com.brookmanholmes.bma.domain.model.match;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * An append-only history backed by an array, items can only be added to or removed from the end.
+ * Lookups by index are constant time and the history is its own read only {@link java.util.List}
+ * view, so it can be handed out without making a copy. A {@link #snapshot()} shares the array
+ * too, the items a snapshot can see are only copied if they're about to be changed
+ *
+ * @param <E> The type of item in the history
+ */
+final class History<E> extends AbstractList<E> implements RandomAccess, Serializable {
+    private transient Object[] items = new Object[16];
+    private transient int size = 0;
+    // the items before this index are seen by snapshots, so they're copied before they're changed
+    private transient int shared = 0;
+
+    /**
+     * Adds an item to the end of the history
+     *
+     * @param item The item to add
+     */
+    void append(E item) {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+            shared = 0;
+        } else unshare(size);
+
+        items[size++] = item;
+        modCount++;
+    }
+
+    /**
+     * Adds items to the start of the history, in front of the items that are already in it
+     *
+     * @param before The items to add, in order
+     */
+    void prepend(List<? extends E> before) {
+        Object[] items = new Object[Math.max(this.items.length, before.size() + size)];
+        for (int i = 0; i < before.size(); i++)
+            items[i] = before.get(i);
+        System.arraycopy(this.items, 0, items, before.size(), size);
+
+        this.items = items;
+        shared = 0;
+        size += before.size();
+        modCount++;
+    }
+
+    /**
+     * Removes the last item in the history
+     *
+     * @return The item that was removed
+     * @throws NoSuchElementException if the history is empty
+     */
+    E removeLast() {
+        E item = peekLast();
+        unshare(size - 1);
+        items[--size] = null;
+        modCount++;
+        return item;
+    }
+
+    /**
+     * Getter for the last item in the history
+     *
+     * @return The last item in the history
+     * @throws NoSuchElementException if the history is empty
+     */
+    @SuppressWarnings("unchecked")
+    E peekLast() {
+        if (size == 0)
+            throw new NoSuchElementException();
+
+        return (E) items[size - 1];
+    }
+
+    /**
+     * Removes every item from the history at or after {@code size}
+     *
+     * @param size The number of items to keep
+     */
+    void truncate(int size) {
+        if (size < 0 || size > this.size)
+            throw new IndexOutOfBoundsException("size: " + size + ", current size: " + this.size);
+
+        unshare(size);
+        Arrays.fill(items, size, this.size, null);
+        this.size = size;
+        modCount++;
+    }
+
+    /**
+     * Getter for the items in the history as they are now. Nothing is copied, the snapshot stays
+     * the same when the history changes because the history copies its items first
+     *
+     * @return A read only list of the items in the history
+     */
+    @SuppressWarnings("unchecked")
+    List<E> snapshot() {
+        shared = Math.max(shared, size);
+        return Collections.unmodifiableList(Arrays.asList((E[]) items).subList(0, size));
+    }
+
+    // copies the items if the item at the index is seen by a snapshot
+    private void unshare(int index) {
+        if (index < shared) {
+            items = items.clone();
+            shared = 0;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+
+        return (E) items[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void writeObject(ObjectOutputStream outputStream) throws IOException {
+        outputStream.defaultWriteObject();
+        outputStream.writeInt(size);
+
+        for (int i = 0; i < size; i++)
+            outputStream.writeObject(items[i]);
+    }
+
+    private void readObject(ObjectInputStream inputStream) throws ClassNotFoundException, IOException {
+        inputStream.defaultReadObject();
+        size = inputStream.readInt();
+        items = new Object[Math.max(16, size)];
+
+        for (int i = 0; i < size; i++)
+            items[i] = inputStream.readObject();
+    }
+}
@@ -3,13 +3,20 @@ package com.brookmanholmes.bma.domain.model.match;
 import com.brookmanholmes.bma.domain.model.game.BreakType;
 import com.brookmanholmes.bma.domain.model.game.Game;
 import com.brookmanholmes.bma.domain.model.game.GameStatus;
+import com.brookmanholmes.bma.domain.model.game.GameStatusHistory;
 import com.brookmanholmes.bma.domain.model.game.GameType;
 import com.brookmanholmes.bma.domain.model.game.PlayerTurn;
 import com.brookmanholmes.bma.domain.model.player.Pair;
 import com.brookmanholmes.bma.domain.model.player.Player;
+import com.brookmanholmes.bma.domain.model.player.PlayerStatsHistory;
 import com.brookmanholmes.bma.domain.model.player.Players;
+import com.brookmanholmes.bma.domain.model.player.StatDelta;
+import com.brookmanholmes.bma.domain.model.player.TurnView;
 import com.brookmanholmes.bma.domain.model.player.controller.PlayerController;
+import com.brookmanholmes.bma.domain.model.turn.Fingerprints;
 import com.brookmanholmes.bma.domain.model.turn.ITurn;
+import com.brookmanholmes.bma.domain.model.turn.TurnEndOptions;
+import com.brookmanholmes.bma.domain.model.turn.helpers.TurnEndHelper;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -17,7 +24,6 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.EnumSet;
-import java.util.LinkedList;
 import java.util.List;
 
 
@@ -25,21 +31,43 @@ import java.util.List;
  * Created by Brookman Holmes on 10/27/2015.
  */
 public class Match implements Serializable {
+    // how often (in turns) a checkpoint of the match is made
+    static final int CHECKPOINT_INTERVAL = 512;
+    private static final long TURN_HASH_MULTIPLIER = 0x100000001B3L;
+
     // TODO: 8/26/2016 test this class more thoroughly
     private final PlayerController playerController;
     private final Date createdOn;
     private final Game game;
     private final Game initialGameState;
-    private final LinkedList<Player> player1 = new LinkedList<>();
-    private final LinkedList<Player> player2 = new LinkedList<>();
-    private final LinkedList<ITurn> turns = new LinkedList<>();
-    private final LinkedList<ITurn> undoneTurns = new LinkedList<>();
-    private final LinkedList<GameStatus> games = new LinkedList<>();
+    // the change each turn made to each side's stats
+    private final History<StatDelta> player1 = new History<>();
+    private final History<StatDelta> player2 = new History<>();
+    private final PlayerStatsHistory playerTotals;
+    private final PlayerStatsHistory opponentTotals;
+    private final History<ITurn> turns = new History<>();
+    private final TurnTree turnTree = new TurnTree();
+    private final GameStatusHistory games = new GameStatusHistory();
+    // who played each turn from the first replayed turn on, for the players' turn views
+    private final Shooters shooters = new Shooters();
+    private final History<MatchCheckpoint> checkpoints = new History<>();
     private final EnumSet<StatsDetail> details;
     private String matchId;
     private String location;
     private String notes;
     private boolean matchOver;
+    // the turns before this one were restored from a checkpoint, so the stats and game status of
+    // each of those turns are only there once they're replayed
+    private int firstReplayedTurn = 0;
+    // goes up every time the match is changed
+    private long version = 0;
+    // turnHashes[n] is a rolling hash of the fingerprints of the first n turns
+    private long[] turnHashes = new long[16];
+    // the players made for each side since the match last changed, see playerCache()
+    private transient PlayerCache playerCache, opponentCache;
+    // a snapshot of the turns for the players' turn views, made again once the match changes
+    private transient TurnView.Source turnSource;
+    private transient long turnSourceVersion;
 
     private Match(Builder builder, PlayerController playerController) {
         location = builder.location;
@@ -48,6 +76,8 @@ public class Match implements Serializable {
         game = Game.newGame(builder.gameType, builder.playerTurn, builder.breakType, builder.maxAttemptsPerGame);
         initialGameState = Game.newGame(builder.gameType, builder.playerTurn, builder.breakType, builder.maxAttemptsPerGame);
         this.playerController = playerController;
+        playerTotals = new PlayerStatsHistory(new Player(playerController.getPlayerId(), playerController.getPlayerName(), builder.gameType, playerController.getPlayerRank(), playerController.getOpponentRank()));
+        opponentTotals = new PlayerStatsHistory(new Player(playerController.getOpponentId(), playerController.getOpponentName(), builder.gameType, playerController.getOpponentRank(), playerController.getPlayerRank()));
         createdOn = (builder.date == null ? new Date() : builder.date);
         details = EnumSet.copyOf(builder.details);
     }
@@ -58,6 +88,7 @@ public class Match implements Serializable {
 
     public void setMatchId(String matchId) {
         this.matchId = matchId;
+        version++;
     }
 
     public String getLocation() {
@@ -66,6 +97,7 @@ public class Match implements Serializable {
 
     public void setLocation(String location) {
         this.location = location;
+        version++;
     }
 
     public String getNotes() {
@@ -74,6 +106,7 @@ public class Match implements Serializable {
 
     public void setNotes(String notes) {
         this.notes = notes;
+        version++;
     }
 
     public GameStatus getGameStatus() {
@@ -87,39 +120,125 @@ public class Match implements Serializable {
     }
 
     public GameStatus getGameStatus(int turn) {
+        replayIfBefore(turn);
+
         if (games.size() == 0)
             return game.getGameStatus();
-        return games.get(turn);
+        return games.get(turn - firstReplayedTurn);
     }
 
+    /**
+     * Getter for the player's totals for the whole match. The player is only made again after the
+     * match changes, so it's shared by every caller until then and shouldn't be changed
+     *
+     * @return The player's totals
+     */
     public Player getPlayer() {
-        Player player = new Player(playerController.getPlayerId(), playerController.getPlayerName(), getGameStatus().gameType, playerController.getPlayerRank(), playerController.getOpponentRank());
-        player.addPlayerStats(player1);
-        player.setMatchDate(getCreatedOn());
-        return player;
+        return getTotals(playerTotals, playerCache(), PlayerTurn.PLAYER);
     }
 
+    /**
+     * Getter for the opponent's totals for the whole match. The player is only made again after
+     * the match changes, so it's shared by every caller until then and shouldn't be changed
+     *
+     * @return The opponent's totals
+     */
     public Player getOpponent() {
-        Player player = new Player(playerController.getOpponentId(), playerController.getOpponentName(), getGameStatus().gameType, playerController.getOpponentRank(), playerController.getPlayerRank());
-        player.addPlayerStats(player2);
-        player.setMatchDate(getCreatedOn());
-        return player;
+        return getTotals(opponentTotals, opponentCache(), PlayerTurn.OPPONENT);
     }
 
+    /**
+     * Getter for the player's totals for a range of turns. The player is kept until one of the
+     * turns in the range is undone or edited, so it's shared by every caller until then and
+     * shouldn't be changed
+     *
+     * @param from The index of the first turn to include
+     * @param to   The index after the last turn to include
+     * @return The player's totals for the turns in the range
+     */
     public Player getPlayer(int from, int to) {
-        Player player = new Player(playerController.getPlayerId(), playerController.getPlayerName(), getGameStatus().gameType, playerController.getPlayerRank(), playerController.getOpponentRank());
-        player.addPlayerStats(player1.subList(from, to));
-        player.setMatchDate(getCreatedOn());
-        return player;
+        return getTotals(playerTotals, playerCache(), PlayerTurn.PLAYER, from, to);
     }
 
+    /**
+     * Getter for the opponent's totals for a range of turns. The player is kept until one of the
+     * turns in the range is undone or edited, so it's shared by every caller until then and
+     * shouldn't be changed
+     *
+     * @param from The index of the first turn to include
+     * @param to   The index after the last turn to include
+     * @return The opponent's totals for the turns in the range
+     */
     public Player getOpponent(int from, int to) {
-        Player player = new Player(playerController.getOpponentId(), playerController.getOpponentName(), getGameStatus().gameType, playerController.getOpponentRank(), playerController.getPlayerRank());
-        player.addPlayerStats(player2.subList(from, to));
-        player.setMatchDate(getCreatedOn());
+        return getTotals(opponentTotals, opponentCache(), PlayerTurn.OPPONENT, from, to);
+    }
+
+    private Player getTotals(PlayerStatsHistory history, PlayerCache cache, PlayerTurn side) {
+        Player player = cache.getTotals();
+        if (player == null) {
+            player = history.getTotals();
+            player.setMatchDate(getCreatedOn());
+            player.setTurns(new TurnView(turnSource(), side, 0, turns.size()));
+            cache.setTotals(player);
+        }
+
+        return player;
+    }
+
+    private Player getTotals(PlayerStatsHistory history, PlayerCache cache, PlayerTurn side, int from, int to) {
+        Player player = cache.getRange(from, to);
+        if (player == null) {
+            replayIfBefore(from == 0 ? to : from);
+            player = history.getTotals(from, to);
+            player.setMatchDate(getCreatedOn());
+            player.setTurns(new TurnView(turnSource(), side, from, to));
+            cache.putRange(from, to, player);
+        }
+
         return player;
     }
 
+    // the caches aren't serialized, so they're made again the first time they're needed
+    private PlayerCache playerCache() {
+        if (playerCache == null)
+            playerCache = new PlayerCache();
+        return playerCache;
+    }
+
+    private PlayerCache opponentCache() {
+        if (opponentCache == null)
+            opponentCache = new PlayerCache();
+        return opponentCache;
+    }
+
+    /**
+     * Getter for a snapshot of the turns of the match and who played them, so the players' turn
+     * views stay the same when turns are undone or edited and reading them never changes the
+     * match. Nothing is copied until the match changes one of the turns the snapshot can see
+     *
+     * @return The snapshot of the match as it is now
+     */
+    private TurnView.Source turnSource() {
+        if (turnSource == null || turnSourceVersion != version) {
+            turnSource = new TurnSnapshot(turns.snapshot(), shooters.snapshot(turns.size()), firstReplayedTurn,
+                    checkpoints.snapshot(), initialGameState.getGameStatus());
+            turnSourceVersion = version;
+        }
+
+        return turnSource;
+    }
+
+    /**
+     * Drops the players made from the turns at or after {@code turns}, after those turns are
+     * undone or edited
+     *
+     * @param turns The number of turns that are unchanged
+     */
+    private void invalidatePlayers(int turns) {
+        playerCache().truncate(turns);
+        opponentCache().truncate(turns);
+    }
+
     public String getCurrentPlayersId() {
         if (game.getTurn() == PlayerTurn.PLAYER)
             return playerController.getPlayerId();
@@ -134,34 +253,408 @@ public class Match implements Serializable {
 
     public void setPlayerId(String id) {
         playerController.setPlayerId(id);
-        for (Player player : player1)
-            player.setId(id);
+        playerTotals.setId(id);
+        playerCache().clear();
+        version++;
     }
 
     public void setOpponentId(String id) {
         playerController.setOpponentId(id);
-        for (Player player : player2)
-            player.setId(id);
+        opponentTotals.setId(id);
+        opponentCache().clear();
+        version++;
     }
 
     public boolean isMatchOver() {
         return matchOver;
     }
 
+    /**
+     * Adds a turn to the end of the match. If the turn is one of the turns that could be redone
+     * it's redone, otherwise it starts a new branch of the match and the undone turns are kept as
+     * another branch
+     *
+     * @param turn The turn to add
+     */
     public void addTurn(ITurn turn) {
-        if (undoneTurns.size() > 0) {
-            if (!undoneTurns.peekLast().equals(turn))
-                undoneTurns.clear();
-            else undoneTurns.removeLast();
+        turnTree.add(turn);
+        appendTurn(turn);
+        version++;
+    }
+
+    /**
+     * Adds a turn to the end of the match with its stats already worked out, see
+     * {@link TurnSpeculator}
+     *
+     * @param turn      The turn to add
+     * @param turnStats The stats of the turn, from {@link PlayerController#addTurn(GameStatus, ITurn)}
+     *                  with the game status the match is at now
+     * @param player    The player's totals after the turn, which the match hands out from now on
+     * @param opponent  The opponent's totals after the turn, which the match hands out from now on
+     */
+    void addTurn(ITurn turn, Pair<Player> turnStats, Player player, Player opponent) {
+        turnTree.add(turn);
+        // the match's controller has to remember the turn as if it had worked out the stats
+        playerController.turnAdded(game.getGameStatus(), turn);
+        appendTurn(turn, turnStats);
+        version++;
+
+        player.setMatchDate(getCreatedOn());
+        player.setTurns(new TurnView(turnSource(), PlayerTurn.PLAYER, 0, turns.size()));
+        playerCache().setTotals(player);
+        opponent.setMatchDate(getCreatedOn());
+        opponent.setTurns(new TurnView(turnSource(), PlayerTurn.OPPONENT, 0, turns.size()));
+        opponentCache().setTotals(opponent);
+    }
+
+    /**
+     * Makes a player controller for the same players as the match's, for working out the stats of
+     * turns without touching the match's controller
+     *
+     * @return A new player controller
+     */
+    PlayerController newPlayerController() {
+        return PlayerController.createController(game, playerController.getPlayerId(), playerController.getOpponentId(),
+                playerController.getPlayerName(), playerController.getOpponentName(),
+                playerController.getPlayerRank(), playerController.getOpponentRank());
+    }
+
+    /**
+     * Adds a turn to the end of the match, updating the stats and the game and making a
+     * checkpoint every {@link #CHECKPOINT_INTERVAL} turns
+     *
+     * @param turn The turn being added to the match
+     */
+    private void appendTurn(ITurn turn) {
+        appendTurn(turn, playerController.addTurn(game.getGameStatus(), turn));
+    }
+
+    private void appendTurn(ITurn turn, Pair<Player> turnStats) {
+        GameStatus gameStatus = game.getGameStatus();
+        updatePlayerStats(turnStats);
+        updateGameState(gameStatus, turn);
+        shooters.set(turns.size(), gameStatus.turn);
+        turns.append(turn);
+        appendTurnHash(turn);
+        playerCache().turnAdded();
+        opponentCache().turnAdded();
+
+        if (turns.size() % CHECKPOINT_INTERVAL == 0)
+            checkpoints.append(new MatchCheckpoint(turns.size(), game.getGameStatus(),
+                    playerTotals.getTotals(), opponentTotals.getTotals()));
+
+        matchOver = isPlayersRaceFinished();
+    }
+
+    /**
+     * Adds the fingerprint of the last turn added to the rolling hash of the turns
+     *
+     * @param turn The turn that was just added
+     */
+    private void appendTurnHash(ITurn turn) {
+        int size = turns.size();
+        if (size == turnHashes.length)
+            turnHashes = Arrays.copyOf(turnHashes, size * 2);
+
+        turnHashes[size] = turnHashes[size - 1] * TURN_HASH_MULTIPLIER + Fingerprints.of(turn);
+    }
+
+    /**
+     * A rolling hash of the fingerprints of every turn in the match, matches with the same turns
+     * have the same hash. Working it out doesn't depend on the number of turns, so it can be used
+     * as a cache key for anything worked out from the turns
+     *
+     * @return The hash of the turns of the match
+     */
+    public long getTurnsHash() {
+        return turnHashes[turns.size()];
+    }
+
+    /**
+     * A number that goes up every time the match is changed (turns added, undone or edited, ids,
+     * notes and location changed), so a view can tell if it has to update by comparing one number
+     *
+     * @return The version of the match
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Getter for the checkpoints of the match, these can be stored with the turns so the match
+     * can be loaded without replaying every turn
+     *
+     * @return The checkpoints, oldest first
+     */
+    public List<MatchCheckpoint> getCheckpoints() {
+        return checkpoints;
+    }
+
+    /**
+     * Loads the turns of a match, restoring it from the last checkpoint and then only replaying the
+     * turns after it. The stats and game status of the turns before the checkpoint are replayed
+     * later on if they're asked for
+     *
+     * @param turns       Every turn of the match
+     * @param checkpoints Checkpoints made from the same turns, oldest first
+     */
+    void load(List<ITurn> turns, List<MatchCheckpoint> checkpoints) {
+        for (MatchCheckpoint checkpoint : checkpoints) {
+            if (checkpoint.getGameStatus().gameType != game.getGameType())
+                throw new IllegalArgumentException("Checkpoint is for " + checkpoint.getGameStatus().gameType
+                        + ", match is " + game.getGameType());
+            if (checkpoint.getTurnCount() <= 0 || checkpoint.getTurnCount() > turns.size())
+                continue;
+            if (this.checkpoints.size() > 0 && checkpoint.getTurnCount() <= this.checkpoints.peekLast().getTurnCount())
+                throw new IllegalArgumentException("Checkpoints are out of order");
+
+            this.checkpoints.append(checkpoint);
+        }
+
+        for (ITurn turn : turns) {
+            this.turns.append(turn);
+            appendTurnHash(turn);
+            turnTree.add(turn);
+        }
+
+        restoreTo(this.turns.size());
+    }
+
+    /**
+     * Replays the turns of the match from a checkpoint if the stats or game status of a turn
+     * haven't been replayed yet
+     *
+     * @param turn The turn that's needed
+     */
+    private void replayIfBefore(int turn) {
+        if (turn < firstReplayedTurn)
+            replayBefore(turn);
+    }
+
+    /**
+     * Replays the turns from the last checkpoint at or before a turn (or the start of the match)
+     * up to the first turn that was already replayed, and puts their stats and game statuses in
+     * front of the ones that are already there. The turns that were already replayed and the
+     * checkpoints are kept as they are, so only the turns that were missing are replayed
+     *
+     * @param turn The turn that's needed, it has to be before the first replayed turn
+     */
+    private void replayBefore(int turn) {
+        MatchCheckpoint checkpoint = null;
+        for (int i = checkpoints.size() - 1; i >= 0 && checkpoint == null; i--) {
+            if (checkpoints.get(i).getTurnCount() <= turn)
+                checkpoint = checkpoints.get(i);
+        }
+
+        int from = checkpoint == null ? 0 : checkpoint.getTurnCount();
+        PlayerStatsHistory playerBefore = playerTotals.newEmptyHistory();
+        PlayerStatsHistory opponentBefore = opponentTotals.newEmptyHistory();
+        List<StatDelta> player1Before = new ArrayList<>(firstReplayedTurn - from);
+        List<StatDelta> player2Before = new ArrayList<>(firstReplayedTurn - from);
+        GameStatusHistory gamesBefore = new GameStatusHistory();
+        // the match's controller keeps the last turn it added, which has to stay the last turn
+        PlayerController controller = newPlayerController();
+        GameStatus current = game.getGameStatus();
+
+        if (checkpoint == null) {
+            game.restoreGameStatus(initialGameState.getGameStatus());
+        } else {
+            game.restoreGameStatus(checkpoint.getGameStatus());
+            playerBefore.reset(checkpoint.getPlayer(), from);
+            opponentBefore.reset(checkpoint.getOpponent(), from);
+        }
+
+        for (int i = from; i < firstReplayedTurn; i++) {
+            ITurn replayedTurn = turns.get(i);
+            GameStatus gameStatus = game.getGameStatus();
+            Pair<Player> turnStats = controller.addTurn(gameStatus, replayedTurn);
+            player1Before.add(playerBefore.add(turnStats.getPlayer()));
+            player2Before.add(opponentBefore.add(turnStats.getOpponent()));
+            gamesBefore.append(gameStatus);
+            shooters.set(i, gameStatus.turn);
+            game.addTurn(replayedTurn);
         }
 
-        updatePlayerStats(turn);
-        updateGameState(turn);
-        turns.addLast(turn);
+        game.restoreGameStatus(current);
+        player1.prepend(player1Before);
+        player2.prepend(player2Before);
+        games.prepend(gamesBefore);
+        playerTotals.prepend(playerBefore);
+        opponentTotals.prepend(opponentBefore);
+        firstReplayedTurn = from;
+    }
+
+    /**
+     * Restores the match from the last checkpoint at or before a turn (or the start of the match)
+     * and replays the turns from there up to that turn. The turns after it are dropped along with
+     * their checkpoints, so they have to be added again
+     *
+     * @param turn The number of turns to replay up to
+     */
+    private void restoreTo(int turn) {
+        removeCheckpointsAfter(turn);
+        MatchCheckpoint checkpoint = checkpoints.size() > 0 ? checkpoints.peekLast() : null;
+
+        int from = checkpoint == null ? 0 : checkpoint.getTurnCount();
+        List<ITurn> replayedTurns = new ArrayList<>(turns.subList(from, turn));
+        turns.truncate(from);
+        player1.truncate(0);
+        player2.truncate(0);
+        games.truncate(0);
+
+        if (checkpoint == null) {
+            game.restoreGameStatus(initialGameState.getGameStatus());
+            playerTotals.clear();
+            opponentTotals.clear();
+        } else {
+            game.restoreGameStatus(checkpoint.getGameStatus());
+            playerTotals.reset(checkpoint.getPlayer(), from);
+            opponentTotals.reset(checkpoint.getOpponent(), from);
+        }
+
+        firstReplayedTurn = from;
+        matchOver = isPlayersRaceFinished();
+        for (ITurn replayedTurn : replayedTurns)
+            appendTurn(replayedTurn);
+    }
+
+    /**
+     * Removes the checkpoints that were made after a turn
+     *
+     * @param turn The number of turns to keep checkpoints for
+     */
+    private void removeCheckpointsAfter(int turn) {
+        while (checkpoints.size() > 0 && checkpoints.peekLast().getTurnCount() > turn)
+            checkpoints.removeLast();
+    }
+
+    /**
+     * Replaces the turn at an index with a different turn and replays the turns after it
+     *
+     * @param index The index of the turn to replace
+     * @param turn  The turn to replace it with
+     * @return The indexes of the turns from {@code index} on that aren't allowed by the rules any
+     * more (see {@link #isAllowed(GameStatus, ITurn)}), they're still added to the match
+     * @throws IndexOutOfBoundsException if there isn't a turn at the index
+     */
+    public List<Integer> replaceTurn(int index, ITurn turn) {
+        if (index < 0 || index >= turns.size())
+            throw new IndexOutOfBoundsException("index: " + index + ", turns: " + turns.size());
+
+        return editTurns(index, 1, turn);
+    }
+
+    /**
+     * Inserts a turn before the turn at an index and replays the turns after it
+     *
+     * @param index The index to insert the turn at, the number of turns adds it to the end
+     * @param turn  The turn to insert
+     * @return The indexes of the turns from {@code index} on that aren't allowed by the rules any
+     * more (see {@link #isAllowed(GameStatus, ITurn)}), they're still added to the match
+     * @throws IndexOutOfBoundsException if the index is past the end of the match
+     */
+    public List<Integer> insertTurn(int index, ITurn turn) {
+        if (index < 0 || index > turns.size())
+            throw new IndexOutOfBoundsException("index: " + index + ", turns: " + turns.size());
+
+        return editTurns(index, 0, turn);
+    }
+
+    /**
+     * Removes the turn at an index and replays the turns after it
+     *
+     * @param index The index of the turn to remove
+     * @return The indexes of the turns from {@code index} on that aren't allowed by the rules any
+     * more (see {@link #isAllowed(GameStatus, ITurn)}), they're still added to the match
+     * @throws IndexOutOfBoundsException if there isn't a turn at the index
+     */
+    public List<Integer> removeTurn(int index) {
+        if (index < 0 || index >= turns.size())
+            throw new IndexOutOfBoundsException("index: " + index + ", turns: " + turns.size());
+
+        return editTurns(index, 1, null);
+    }
+
+    /**
+     * Rewinds the match to before the turn at an index, swaps out the turns there and then replays
+     * the rest of the match. Only the turns from the index on are replayed, the turns that were
+     * there before are kept as another branch of the match
+     *
+     * @param index    The index of the first turn to change
+     * @param removed  The number of turns to remove at the index
+     * @param inserted The turn to insert at the index, or null to not insert one
+     * @return The indexes of the turns from {@code index} on that aren't allowed by the rules
+     */
+    private List<Integer> editTurns(int index, int removed, ITurn inserted) {
+        version++;
+        List<ITurn> replayedTurns = new ArrayList<>(turns.subList(index + removed, turns.size()));
+        for (int i = turns.size(); i > index; i--)
+            turnTree.undo();
+
+        // only the turns up to the index have to be replayed if they haven't been yet, the rest
+        // are replayed below anyway
+        if (index < firstReplayedTurn) {
+            restoreTo(index);
+            invalidatePlayers(index);
+        } else rewind(index);
+
+        List<Integer> illegalTurns = new ArrayList<>();
+        if (inserted != null)
+            appendCheckedTurn(inserted, illegalTurns);
+        for (ITurn turn : replayedTurns)
+            appendCheckedTurn(turn, illegalTurns);
+
+        return illegalTurns;
+    }
+
+    private void appendCheckedTurn(ITurn turn, List<Integer> illegalTurns) {
+        if (!isAllowed(game.getGameStatus(), turn))
+            illegalTurns.add(turns.size());
+
+        turnTree.add(turn);
+        appendTurn(turn);
+    }
+
+    /**
+     * Puts the match back to how it was before the turn at an index, using the game status and
+     * running totals that were kept for that turn
+     *
+     * @param index The index of the turn to rewind to, it has to be replayed already
+     */
+    private void rewind(int index) {
+        if (index == turns.size())
+            return;
+
+        int kept = index - firstReplayedTurn;
+        game.restoreGameStatus(games.get(kept));
+        games.truncate(kept);
+        player1.truncate(kept);
+        player2.truncate(kept);
+        playerTotals.truncate(index);
+        opponentTotals.truncate(index);
+        turns.truncate(index);
+        removeCheckpointsAfter(index);
+        invalidatePlayers(index);
 
         matchOver = isPlayersRaceFinished();
     }
 
+    /**
+     * Determines if the rules allow a turn from a game status, the turn has to end in one of the
+     * ways {@link TurnEndHelper} gives for the turn, and has to be a foul if the rules say it is
+     *
+     * @param gameStatus The status of the game before the turn
+     * @param turn       The turn to check
+     * @return True if the turn is allowed, false otherwise
+     */
+    public static boolean isAllowed(GameStatus gameStatus, ITurn turn) {
+        TurnEndOptions options = TurnEndHelper.getTurnEndOptions(gameStatus, turn);
+
+        if (!options.isPossible(turn.getTurnEnd()))
+            return false;
+        else return !options.isFoul() || turn.isFoul();
+    }
+
     /**
      * Determines whether the match is finished (because either of the players have gotten to their
      * specified win/point total
@@ -169,19 +662,18 @@ public class Match implements Serializable {
      * @return True if the match is over, false otherwise
      */
     private boolean isPlayersRaceFinished() {
-        return Players.isMatchOver(getPlayer(), getOpponent());
+        return Players.isMatchOver(playerTotals, opponentTotals);
     }
 
     /**
-     * Adds stats for each player to the list of players
+     * Adds the stats for each player to the running totals, only the change the turn made to them
+     * is kept for the turn
      *
-     * @param turn The turn being added to the match
+     * @param pair The stats each player got from the turn being added to the match
      */
-    private void updatePlayerStats(ITurn turn) {
-        Pair<Player> pair = playerController.addTurn(getGameStatus(), turn);
-
-        player1.addLast(pair.getPlayer());
-        player2.addLast(pair.getOpponent());
+    private void updatePlayerStats(Pair<Player> pair) {
+        player1.append(playerTotals.add(pair.getPlayer()));
+        player2.append(opponentTotals.add(pair.getOpponent()));
     }
 
     public int getTurnCount() {
@@ -199,29 +691,59 @@ public class Match implements Serializable {
     /**
      * Updates the stat of the game and adds it to a list of game statuses
      *
-     * @param turn The turn being added to the game
+     * @param gameStatus The status of the game before the turn
+     * @param turn       The turn being added to the game
      */
-    void updateGameState(ITurn turn) {
-        games.addLast(game.getGameStatus());
+    void updateGameState(GameStatus gameStatus, ITurn turn) {
+        games.append(gameStatus);
         game.addTurn(turn);
     }
 
     public boolean isRedoTurn() {
-        return undoneTurns.size() > 0;
+        return turnTree.getRedoTurn() != null;
     }
 
+    /**
+     * Getter for the turns that would be redone by redoing over and over, following the branch
+     * that was undone (or redone) most recently
+     *
+     * @return The turns that can be redone, the last turn is the next one to redo
+     */
     public ArrayList<ITurn> getUndoneTurns() {
-        ArrayList<ITurn> turns = new ArrayList<>();
-        turns.addAll(undoneTurns);
-        return turns;
+        return turnTree.getRedoPath();
     }
 
     public void setUndoneTurns(List undoneTurns) {
+        List<ITurn> turns = new ArrayList<>();
         for (Object item : undoneTurns) {
             if (item instanceof ITurn) {
-                this.undoneTurns.addLast((ITurn) item);
+                turns.add((ITurn) item);
             }
         }
+        turnTree.addRedoPath(turns);
+        version++;
+    }
+
+    /**
+     * Getter for the first turn of every branch of the match after the last turn, any of these
+     * can be redone with {@link #redoTurn(int)}
+     *
+     * @return The turns that could be redone, oldest branch first
+     */
+    public List<ITurn> getRedoTurns() {
+        return turnTree.getRedoTurns();
+    }
+
+    /**
+     * Switches to a branch of the match after the last turn by redoing its first turn, redoing
+     * after that follows the same branch. Only the turns on the new branch are replayed, the turns
+     * before it are shared with the other branches
+     *
+     * @param branch The index of the branch in {@link #getRedoTurns()}
+     * @throws IndexOutOfBoundsException if there's no branch with that index
+     */
+    public void redoTurn(int branch) {
+        addTurn(turnTree.getRedoTurns().get(branch));
     }
 
     public boolean isUndoTurn() {
@@ -229,20 +751,26 @@ public class Match implements Serializable {
     }
 
     public ITurn getRedoTurn() {
-        if (isRedoTurn()) {
-            return undoneTurns.peekLast();
-        } else return null;
+        return turnTree.getRedoTurn();
     }
 
     public void undoTurn() {
         if (isUndoTurn()) {
+            replayIfBefore(turns.size() - 1);
+
             player1.removeLast();
             player2.removeLast();
+            playerTotals.removeLast();
+            opponentTotals.removeLast();
 
-            game.setGameStatus(games.removeLast());
+            game.restoreGameStatus(games.removeLast());
 
-            undoneTurns.addLast(turns.removeLast());
+            turns.removeLast();
+            turnTree.undo();
+            invalidatePlayers(turns.size());
+            removeCheckpointsAfter(turns.size());
             matchOver = isPlayersRaceFinished();
+            version++;
         }
     }
 
@@ -265,16 +793,18 @@ public class Match implements Serializable {
 
         Match match = (Match) o;
 
+        // the stats and game statuses of each turn come from the turns, so comparing the turns
+        // and the totals covers them without replaying the turns that weren't replayed yet
+        if (getTurnsHash() != match.getTurnsHash()) return false;
         if (matchOver != match.matchOver) return false;
         if (!playerController.equals(match.playerController)) return false;
         if (!createdOn.equals(match.createdOn)) return false;
         if (!game.equals(match.game)) return false;
         if (!initialGameState.equals(match.initialGameState)) return false;
-        if (!player1.equals(match.player1)) return false;
-        if (!player2.equals(match.player2)) return false;
+        if (!playerTotals.getTotals().equals(match.playerTotals.getTotals())) return false;
+        if (!opponentTotals.getTotals().equals(match.opponentTotals.getTotals())) return false;
         if (!turns.equals(match.turns)) return false;
-        if (!undoneTurns.equals(match.undoneTurns)) return false;
-        if (!games.equals(match.games)) return false;
+        if (!getUndoneTurns().equals(match.getUndoneTurns())) return false;
         if (!details.equals(match.details)) return false;
         if (!matchId.equals(match.matchId)) return false;
         if (!location.equals(match.location)) return false;
@@ -288,11 +818,11 @@ public class Match implements Serializable {
         result = 31 * result + createdOn.hashCode();
         result = 31 * result + game.hashCode();
         result = 31 * result + initialGameState.hashCode();
-        result = 31 * result + player1.hashCode();
-        result = 31 * result + player2.hashCode();
-        result = 31 * result + turns.hashCode();
-        result = 31 * result + undoneTurns.hashCode();
-        result = 31 * result + games.hashCode();
+        // the players' stats and game statuses come from the turns, so the hash of the turns
+        // covers them without going through every turn
+        long turnsHash = getTurnsHash();
+        result = 31 * result + (int) (turnsHash ^ (turnsHash >>> 32));
+        result = 31 * result + getUndoneTurns().size();
         result = 31 * result + details.hashCode();
         result = 31 * result + matchId.hashCode();
         result = 31 * result + location.hashCode();
@@ -302,7 +832,8 @@ public class Match implements Serializable {
     }
 
     public List<GameStatus> getGameStatuses() {
-        return new ArrayList<>(games);
+        replayIfBefore(0);
+        return games;
     }
 
     public enum StatsDetail {
@@ -407,6 +938,24 @@ public class Match implements Serializable {
                     playerRank, opponentRank));
         }
 
+        /**
+         * Builds a match that already has turns, restoring it from the last of the checkpoints
+         * so only the turns after it are replayed
+         *
+         * @param gameType    The game type of the match
+         * @param turns       Every turn of the match
+         * @param checkpoints Checkpoints stored with the turns (see {@link Match#getCheckpoints()}),
+         *                    oldest first
+         * @return A match with the turns added
+         * @throws IllegalArgumentException if the checkpoints are for a different game type or
+         *                                  aren't in order
+         */
+        public Match build(GameType gameType, List<ITurn> turns, List<MatchCheckpoint> checkpoints) {
+            Match match = build(gameType);
+            match.load(turns, checkpoints);
+            return match;
+        }
+
         public Builder setBreakType(BreakType breakType) {
             this.breakType = breakType;
             return this;
@@ -0,0 +1,70 @@
+package com.brookmanholmes.bma.domain.model.match;
+
+import com.brookmanholmes.bma.domain.model.game.GameStatus;
+import com.brookmanholmes.bma.domain.model.player.Player;
+
+import java.io.Serializable;
+
+/**
+ * The state of a match after a number of turns: the status of the game and each player's totals.
+ * A match can be restored from a checkpoint and then only has to replay the turns after it,
+ * instead of every turn from the start of the match
+ */
+public final class MatchCheckpoint implements Serializable {
+    private final int turnCount;
+    private final GameStatus gameStatus;
+    private final Player player;
+    private final Player opponent;
+
+    /**
+     * Creates a checkpoint, e.g. from one that was stored with the match. The players should be
+     * copies that won't be changed
+     *
+     * @param turnCount  The number of turns in the match when the checkpoint was made
+     * @param gameStatus The status of the game after those turns
+     * @param player     The player's totals for those turns
+     * @param opponent   The opponent's totals for those turns
+     */
+    public MatchCheckpoint(int turnCount, GameStatus gameStatus, Player player, Player opponent) {
+        this.turnCount = turnCount;
+        this.gameStatus = gameStatus;
+        this.player = player;
+        this.opponent = opponent;
+    }
+
+    public int getTurnCount() {
+        return turnCount;
+    }
+
+    public GameStatus getGameStatus() {
+        return gameStatus;
+    }
+
+    /**
+     * Getter for the player's totals at the checkpoint
+     *
+     * @return The player's totals, which should not be modified
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Getter for the opponent's totals at the checkpoint
+     *
+     * @return The opponent's totals, which should not be modified
+     */
+    public Player getOpponent() {
+        return opponent;
+    }
+
+    @Override
+    public String toString() {
+        return "MatchCheckpoint{" +
+                "turnCount=" + turnCount +
+                ", gameStatus=" + gameStatus +
+                ", player=" + player +
+                ", opponent=" + opponent +
+                '}';
+    }
+}
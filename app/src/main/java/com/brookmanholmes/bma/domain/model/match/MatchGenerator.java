@@ -0,0 +1,272 @@
+package com.brookmanholmes.bma.domain.model.match;
+
+import com.brookmanholmes.bma.domain.model.game.BallSet;
+import com.brookmanholmes.bma.domain.model.game.BreakType;
+import com.brookmanholmes.bma.domain.model.game.Game;
+import com.brookmanholmes.bma.domain.model.game.GameStatus;
+import com.brookmanholmes.bma.domain.model.game.GameType;
+import com.brookmanholmes.bma.domain.model.game.InvalidGameTypeException;
+import com.brookmanholmes.bma.domain.model.game.PlayerTurn;
+import com.brookmanholmes.bma.domain.model.turn.AdvStats;
+import com.brookmanholmes.bma.domain.model.turn.ITurn;
+import com.brookmanholmes.bma.domain.model.turn.TurnBuilder;
+import com.brookmanholmes.bma.domain.model.turn.TurnEnd;
+import com.brookmanholmes.bma.domain.model.turn.TurnEndOptions;
+import com.brookmanholmes.bma.domain.model.turn.helpers.TurnEndHelper;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Generates a stream of random turns for a match. Only the current game is kept, each turn is made
+ * when it's asked for and the game's rules ({@link TurnEndHelper}) decide which fouls and turn
+ * endings are allowed, so every turn could have been entered in the app. The same seed always
+ * generates the same turns
+ */
+public final class MatchGenerator implements Iterator<ITurn> {
+    // the chance (1 in n) of each ball on the table being made or going dead during a turn
+    private static final int MADE_BALL_ODDS = 6;
+    private static final int DEAD_BALL_ODDS = 40;
+    // the chance (1 in n) of fouling or seriously fouling when the table doesn't force it
+    private static final int FOUL_ODDS = 10;
+    private static final int SERIOUS_FOUL_ODDS = 4;
+    // the chance (1 in n) of ending the turn with the default option instead of a random one
+    private static final int DEFAULT_TURN_END_ODDS = 2;
+    // balls in straight pool are placeholders, so only this many of them are looked at per turn
+    private static final int MAX_STRAIGHT_POOL_BALLS = 6;
+
+    private final Game game;
+    private final Random random;
+    private final long turns;
+    private final boolean advStats;
+    private final String playerName, opponentName;
+    // reset for every turn, so generating a turn only makes the turn
+    private final TurnBuilder turnBuilder;
+    private GameStatus gameStatus;
+    private long turnCount = 0;
+
+    private MatchGenerator(Builder builder) {
+        game = Game.newGame(builder.gameType, builder.playerTurn, builder.breakType, builder.maxAttemptsPerGhostGame);
+        random = new Random(builder.seed);
+        turns = builder.turns;
+        advStats = builder.advStats;
+        playerName = builder.playerName;
+        opponentName = builder.opponentName;
+        gameStatus = game.getGameStatus();
+
+        // fail now instead of on the first turn if there are no rules for this game type
+        TurnEndHelper.getTurnEndOptions(gameStatus);
+        turnBuilder = new TurnBuilder(builder.gameType);
+    }
+
+    /**
+     * Getter for the status of the game the next turn will be played from
+     *
+     * @return The current status of the game
+     */
+    public GameStatus getGameStatus() {
+        return gameStatus;
+    }
+
+    /**
+     * Getter for the number of turns that have been generated so far
+     *
+     * @return The number of turns generated
+     */
+    public long getTurnCount() {
+        return turnCount;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return turnCount < turns;
+    }
+
+    @Override
+    public ITurn next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+
+        ITurn turn = nextTurn();
+        gameStatus = game.addTurn(turn);
+        turnCount++;
+        return turn;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    private ITurn nextTurn() {
+        TurnBuilder builder = turnBuilder.reset();
+        setBalls(builder);
+
+        TurnEndOptions options = TurnEndHelper.getTurnEndOptions(gameStatus, builder.getTableStatus());
+        if (options.isFoul() || random.nextInt(FOUL_ODDS) == 0)
+            builder.fouled();
+        if (options.showLostGame() && random.nextInt(SERIOUS_FOUL_ODDS) == 0)
+            builder.seriousFoul();
+
+        TurnEnd turnEnd = options.defaultCheck;
+        if (!options.possibleEndings.isEmpty() && random.nextInt(DEFAULT_TURN_END_ODDS) != 0)
+            turnEnd = options.possibleEndings.get(random.nextInt(options.possibleEndings.size()));
+
+        if (advStats)
+            builder.setAdvStats(newAdvStats(turnEnd));
+
+        switch (turnEnd) {
+            case GAME_WON:
+                return builder.win();
+            case SAFETY:
+                return builder.safety();
+            case SAFETY_ERROR:
+                return builder.safetyMiss();
+            case BREAK_MISS:
+                return builder.breakMiss();
+            case PUSH_SHOT:
+                return builder.push();
+            case SKIP_TURN:
+                return builder.skipTurn();
+            case CONTINUE_WITH_GAME:
+                return builder.continueGame();
+            case CURRENT_PLAYER_BREAKS_AGAIN:
+                return builder.currentPlayerBreaks();
+            case OPPONENT_BREAKS_AGAIN:
+                return builder.opposingPlayerBreaks();
+            default:
+                return builder.miss();
+        }
+    }
+
+    private void setBalls(TurnBuilder builder) {
+        BallSet ballsOnTable = gameStatus.ballSet;
+
+        if (gameStatus.gameType.isStraightPool()) {
+            int balls = random.nextInt(MAX_STRAIGHT_POOL_BALLS);
+            for (int ball = ballsOnTable.lowest(); ball != 0 && balls > 0; ball = ballsOnTable.next(ball + 1), balls--)
+                setBall(builder, ball);
+        } else {
+            for (int ball = 1; ball <= gameStatus.gameType.getMaxBalls(); ball++) {
+                if (ballsOnTable.contains(ball))
+                    setBall(builder, ball);
+                else builder.offTable(ball);
+            }
+        }
+    }
+
+    private void setBall(TurnBuilder builder, int ball) {
+        if (random.nextInt(MADE_BALL_ODDS) == 0) {
+            if (gameStatus.newGame)
+                builder.breakBalls(ball);
+            else builder.madeBalls(ball);
+        } else if (random.nextInt(DEAD_BALL_ODDS) == 0) {
+            if (gameStatus.newGame)
+                builder.deadOnBreak(ball);
+            else builder.deadBalls(ball);
+        }
+    }
+
+    private AdvStats newAdvStats(TurnEnd turnEnd) {
+        AdvStats.Builder builder = new AdvStats.Builder(
+                gameStatus.turn == PlayerTurn.PLAYER ? playerName : opponentName);
+
+        if (turnEnd == TurnEnd.SAFETY)
+            builder.shotType(AdvStats.ShotType.SAFETY);
+        else if (turnEnd == TurnEnd.SAFETY_ERROR)
+            builder.shotType(AdvStats.ShotType.SAFETY_ERROR);
+        else if (turnEnd == TurnEnd.BREAK_MISS)
+            builder.shotType(AdvStats.ShotType.BREAK_SHOT);
+        else if (turnEnd == TurnEnd.MISS) {
+            AdvStats.ShotType[] shots = AdvStats.ShotType.getShots();
+            AdvStats.HowType[] hows = AdvStats.HowType.values();
+            AdvStats.WhyType[] whys = AdvStats.WhyType.values();
+
+            builder.shotType(shots[random.nextInt(shots.length)])
+                    .howTypes(hows[random.nextInt(hows.length)])
+                    .whyTypes(whys[random.nextInt(whys.length)]);
+        }
+
+        return builder.use(turnEnd != TurnEnd.GAME_WON).build();
+    }
+
+    /**
+     * Builder for creating a new MatchGenerator
+     */
+    public static class Builder {
+        private final GameType gameType;
+        private final long seed;
+        private PlayerTurn playerTurn = PlayerTurn.PLAYER;
+        private BreakType breakType = BreakType.ALTERNATE;
+        private int maxAttemptsPerGhostGame;
+        private long turns = Long.MAX_VALUE;
+        private boolean advStats = false;
+        private String playerName = "Player", opponentName = "Opponent";
+
+        /**
+         * Creates a builder for a generator of turns for the game type
+         *
+         * @param gameType The type of game the turns are for
+         * @param seed     The seed for the random turns, generators with the same seed and settings
+         *                 generate the same turns
+         */
+        public Builder(GameType gameType, long seed) {
+            this.gameType = gameType;
+            this.seed = seed;
+        }
+
+        public Builder setPlayerTurn(PlayerTurn playerTurn) {
+            this.playerTurn = playerTurn;
+            return this;
+        }
+
+        public Builder setBreakType(BreakType breakType) {
+            this.breakType = breakType;
+            return this;
+        }
+
+        public Builder setMaxAttemptsPerGhostGame(int maxAttemptsPerGhostGame) {
+            this.maxAttemptsPerGhostGame = maxAttemptsPerGhostGame;
+            return this;
+        }
+
+        /**
+         * Sets the number of turns to generate, by default the generator never runs out of turns
+         *
+         * @param turns The number of turns to generate
+         * @return This builder for chaining purposes
+         */
+        public Builder setTurns(long turns) {
+            if (turns < 0)
+                throw new IllegalArgumentException("turns must not be negative: " + turns);
+
+            this.turns = turns;
+            return this;
+        }
+
+        /**
+         * Adds random {@link AdvStats} to every turn
+         *
+         * @param playerName   The name to use for the player's advanced stats
+         * @param opponentName The name to use for the opponent's advanced stats
+         * @return This builder for chaining purposes
+         */
+        public Builder setAdvStats(String playerName, String opponentName) {
+            this.advStats = true;
+            this.playerName = playerName;
+            this.opponentName = opponentName;
+            return this;
+        }
+
+        /**
+         * Creates the generator
+         *
+         * @return A new generator that hasn't generated any turns
+         * @throws InvalidGameTypeException if the game type isn't supported
+         */
+        public MatchGenerator build() throws InvalidGameTypeException {
+            return new MatchGenerator(this);
+        }
+    }
+}
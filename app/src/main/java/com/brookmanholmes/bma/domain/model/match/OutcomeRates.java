@@ -0,0 +1,35 @@
+package com.brookmanholmes.bma.domain.model.match;
+
+import com.brookmanholmes.bma.domain.model.player.Player;
+
+/**
+ * The chances of each outcome of a shot for a player, taken from their stats. Each rate starts
+ * from a typical value and moves towards the player's own rate as they take more shots, so a
+ * player with only a few turns doesn't end up never missing (or never making a ball)
+ */
+final class OutcomeRates {
+    // how many shots the typical rate counts for when it's mixed with a player's stats
+    private static final double PRIOR_WEIGHT = 10;
+
+    final double shooting;
+    final double safetyChoice;
+    final double safety;
+    final double breakSuccess;
+    final double breakFoul;
+    final double foul;
+
+    OutcomeRates(Player player) {
+        shooting = rate(player.getShootingBallsMade(), player.getShootingAttempts(), .75);
+        safetyChoice = rate(player.getSafetyAttempts(),
+                player.getSafetyAttempts() + player.getShootingAttempts() - player.getShootingBallsMade(), .2);
+        safety = rate(player.getSafetySuccesses(), player.getSafetyAttempts(), .5);
+        breakSuccess = rate(player.getBreakSuccesses(), player.getBreakAttempts(), .6);
+        breakFoul = rate(player.getBreakFouls(), player.getBreakAttempts(), .05);
+        foul = rate(player.getShootingFouls() + player.getSafetyFouls(),
+                player.getShootingTurns() + player.getSafetyAttempts(), .05);
+    }
+
+    private static double rate(int successes, int attempts, double prior) {
+        return (successes + prior * PRIOR_WEIGHT) / (attempts + PRIOR_WEIGHT);
+    }
+}
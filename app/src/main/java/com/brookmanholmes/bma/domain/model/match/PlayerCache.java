@@ -0,0 +1,91 @@
+package com.brookmanholmes.bma.domain.model.match;
+
+import com.brookmanholmes.bma.domain.model.player.Player;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The players made for one side of a match, kept until a change to the match makes them wrong.
+ * The stats of a range of turns only change when one of those turns is undone or edited, so
+ * ranges are kept when turns are added after them and only the totals of the whole match are
+ * dropped
+ * <p></p>
+ * The players are shared by every caller, so they shouldn't be changed
+ */
+final class PlayerCache {
+    // the number of ranges kept, the ones used least recently are dropped first
+    private static final int MAX_RANGES = 16;
+
+    private Player totals;
+    private final Map<Long, Player> ranges = new LinkedHashMap<Long, Player>(MAX_RANGES, .75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Player> eldest) {
+            return size() > MAX_RANGES;
+        }
+    };
+
+    /**
+     * Getter for the totals of every turn in the match
+     *
+     * @return The totals, or null if they haven't been made since the match last changed
+     */
+    Player getTotals() {
+        return totals;
+    }
+
+    void setTotals(Player totals) {
+        this.totals = totals;
+    }
+
+    /**
+     * Getter for the totals of a range of turns
+     *
+     * @param from The index of the first turn in the range
+     * @param to   The index after the last turn in the range
+     * @return The totals, or null if they haven't been made since those turns last changed
+     */
+    Player getRange(int from, int to) {
+        return ranges.get(key(from, to));
+    }
+
+    void putRange(int from, int to, Player player) {
+        ranges.put(key(from, to), player);
+    }
+
+    /**
+     * Drops the totals of the whole match after a turn is added, the ranges are still right
+     */
+    void turnAdded() {
+        totals = null;
+    }
+
+    /**
+     * Drops the totals and every range that includes a turn at or after {@code turns}, after the
+     * turns from there on are undone or edited
+     *
+     * @param turns The number of turns that weren't changed
+     */
+    void truncate(int turns) {
+        totals = null;
+
+        Iterator<Long> iterator = ranges.keySet().iterator();
+        while (iterator.hasNext()) {
+            if ((int) (iterator.next() & 0xFFFFFFFFL) > turns)
+                iterator.remove();
+        }
+    }
+
+    /**
+     * Drops every player, after something that every player has (like the id) changes
+     */
+    void clear() {
+        totals = null;
+        ranges.clear();
+    }
+
+    private static long key(int from, int to) {
+        return (long) from << 32 | to;
+    }
+}
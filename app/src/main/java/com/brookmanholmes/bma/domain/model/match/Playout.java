@@ -0,0 +1,207 @@
+package com.brookmanholmes.bma.domain.model.match;
+
+import com.brookmanholmes.bma.domain.model.game.Game;
+import com.brookmanholmes.bma.domain.model.game.GameStatus;
+import com.brookmanholmes.bma.domain.model.game.GameType;
+import com.brookmanholmes.bma.domain.model.game.PlayerColor;
+import com.brookmanholmes.bma.domain.model.game.PlayerTurn;
+import com.brookmanholmes.bma.domain.model.player.Pair;
+import com.brookmanholmes.bma.domain.model.player.Player;
+import com.brookmanholmes.bma.domain.model.player.Players;
+import com.brookmanholmes.bma.domain.model.player.controller.PlayerController;
+import com.brookmanholmes.bma.domain.model.turn.TurnEnd;
+
+import java.util.Random;
+
+import static com.brookmanholmes.bma.domain.model.game.BallStatus.MADE;
+import static com.brookmanholmes.bma.domain.model.game.BallStatus.MADE_ON_BREAK;
+import static com.brookmanholmes.bma.domain.model.game.BallStatus.ON_TABLE;
+
+/**
+ * Plays out the rest of a match with random turns, using each player's outcome rates to decide
+ * how their turns go. The turns are added to a real {@link Game} and scored with a real
+ * {@link PlayerController}, so breaks, races and point totals follow the same rules as the match.
+ * A playout keeps its game, turn and scores between runs so it can be played over and over
+ * without creating new state
+ */
+final class Playout {
+    static final int PLAYER_WON = 1;
+    static final int OPPONENT_WON = -1;
+    static final int UNFINISHED = 0;
+
+    // stops a playout where neither player can get to their race (e.g. they never make a ball)
+    private static final int MAX_TURNS = 5000;
+    // the chance (1 in n) of making a second ball on a successful break
+    private static final int SECOND_BREAK_BALL_ODDS = 3;
+
+    private final GameType gameType;
+    private final boolean straightPool;
+    private final int gameBall;
+    private final GameStatus start;
+    private final int playerRank, opponentRank;
+    private final int startPlayerPoints, startOpponentPoints;
+    private final OutcomeRates playerRates, opponentRates;
+    private final Game game;
+    private final PlayerController controller;
+    private final SimulatedTurn turn;
+
+    /**
+     * Creates a playout for the rest of a match
+     *
+     * @param start         The status of the game at the current point of the match
+     * @param player        The player's totals at the current point of the match
+     * @param opponent      The opponent's totals at the current point of the match
+     * @param playerRates   The chances of each outcome for the player's turns
+     * @param opponentRates The chances of each outcome for the opponent's turns
+     */
+    Playout(GameStatus start, Player player, Player opponent, OutcomeRates playerRates, OutcomeRates opponentRates) {
+        this.gameType = start.gameType;
+        this.straightPool = gameType.isStraightPool();
+        this.gameBall = gameType.getGameBall();
+        this.start = start;
+        this.playerRank = player.getRank();
+        this.opponentRank = opponent.getRank();
+        this.startPlayerPoints = player.getPoints();
+        this.startOpponentPoints = opponent.getPoints();
+        this.playerRates = playerRates;
+        this.opponentRates = opponentRates;
+
+        game = Game.newGame(gameType, start.turn, start.breakType, start.maxAttemptsPerGame);
+        controller = PlayerController.createController(game, player.getId(), opponent.getId(),
+                player.getName(), opponent.getName(), playerRank, opponentRank);
+        turn = new SimulatedTurn(gameType);
+    }
+
+    /**
+     * Plays the match out from the starting point until one of the players wins
+     *
+     * @param random The source of randomness for the turns
+     * @return {@link #PLAYER_WON}, {@link #OPPONENT_WON} or {@link #UNFINISHED} if neither player
+     * won within a reasonable number of turns
+     */
+    int play(Random random) {
+        game.setGameStatus(start);
+        GameStatus gameStatus = start;
+        int playerPoints = startPlayerPoints;
+        int opponentPoints = startOpponentPoints;
+
+        for (int i = 0; i < MAX_TURNS; i++) {
+            if (Players.isMatchOver(gameType, playerRank, playerPoints, opponentRank, opponentPoints)) {
+                return Players.isMatchOver(gameType, playerRank, playerPoints, opponentRank, Integer.MIN_VALUE)
+                        ? PLAYER_WON : OPPONENT_WON;
+            }
+
+            nextTurn(random, gameStatus,
+                    gameStatus.turn == PlayerTurn.PLAYER ? playerRates : opponentRates);
+
+            Pair<Player> points = controller.addTurn(gameStatus, turn);
+            playerPoints += points.getPlayer().getPoints();
+            opponentPoints += points.getOpponent().getPoints();
+
+            gameStatus = game.addTurn(turn);
+        }
+
+        return UNFINISHED;
+    }
+
+    private void nextTurn(Random random, GameStatus gameStatus, OutcomeRates rates) {
+        turn.reset(gameStatus.ballSet);
+
+        if (gameStatus.newGame) {
+            if (random.nextDouble() < rates.breakFoul) {
+                turn.setFoul(true);
+                turn.setTurnEnd(TurnEnd.BREAK_MISS);
+                return;
+            } else if (straightPool) {
+                // the break in straight pool is a safety, the incoming player shoots the first ball
+                turn.setTurnEnd(TurnEnd.BREAK_MISS);
+                return;
+            } else if (random.nextDouble() >= rates.breakSuccess) {
+                turn.setTurnEnd(TurnEnd.BREAK_MISS);
+                return;
+            }
+
+            makeBreakBalls(random, gameStatus);
+        }
+
+        int ball = nextBall(gameStatus);
+        while (ball != 0 && random.nextDouble() < rates.shooting) {
+            turn.setBall(MADE, ball);
+
+            if (ball == gameBall && !straightPool) {
+                turn.setTurnEnd(TurnEnd.GAME_WON);
+                return;
+            }
+
+            ball = nextBall(gameStatus);
+        }
+
+        turn.setFoul(random.nextDouble() < rates.foul);
+        if (random.nextDouble() < rates.safetyChoice) {
+            if (!turn.isFoul() && random.nextDouble() < rates.safety)
+                turn.setTurnEnd(TurnEnd.SAFETY);
+            else turn.setTurnEnd(TurnEnd.SAFETY_ERROR);
+        } else turn.setTurnEnd(TurnEnd.MISS);
+    }
+
+    /**
+     * Makes one or two balls on the break, never the game ball
+     */
+    private void makeBreakBalls(Random random, GameStatus gameStatus) {
+        int balls = random.nextInt(SECOND_BREAK_BALL_ODDS) == 0 ? 2 : 1;
+
+        for (int i = 0; i < balls; i++) {
+            int ball = 1 + random.nextInt(turn.size());
+            // walk up the table from a random ball until there's one that can be made
+            for (int j = 0; j < turn.size(); j++, ball = ball % turn.size() + 1) {
+                if (ball != gameBall && gameStatus.ballSet.contains(ball) && turn.getBallStatus(ball) == ON_TABLE) {
+                    turn.setBall(MADE_ON_BREAK, ball);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the next ball for the shooter to make, the lowest ball on the table in rotation games
+     * and straight pool, or the lowest ball in the shooter's group (and then the 8) in 8 ball
+     *
+     * @return The next ball to shoot at, or 0 if there are no balls left that can be made
+     */
+    private int nextBall(GameStatus gameStatus) {
+        if (straightPool) {
+            // always leave the game ball, it keeps the table from running out of balls
+            int ball = gameStatus.ballSet.lowest();
+            while (ball != 0 && ball != gameBall && turn.getBallStatus(ball) != ON_TABLE)
+                ball = gameStatus.ballSet.next(ball + 1);
+
+            return ball == gameBall ? 0 : ball;
+        } else if (gameBall == 8) {
+            PlayerColor color = gameStatus.currentPlayerColor;
+            if (color == PlayerColor.OPEN)
+                color = ballsOnTable(1, 7) <= ballsOnTable(9, 15) ? PlayerColor.SOLIDS : PlayerColor.STRIPES;
+
+            int ball = color == PlayerColor.SOLIDS ? lowestBallOnTable(1, 7) : lowestBallOnTable(9, 15);
+            return ball == 0 ? lowestBallOnTable(8, 8) : ball;
+        } else return lowestBallOnTable(1, turn.size());
+    }
+
+    private int lowestBallOnTable(int from, int to) {
+        for (int ball = from; ball <= to; ball++) {
+            if (turn.getBallStatus(ball) == ON_TABLE)
+                return ball;
+        }
+
+        return 0;
+    }
+
+    private int ballsOnTable(int from, int to) {
+        int balls = 0;
+        for (int ball = from; ball <= to; ball++) {
+            if (turn.getBallStatus(ball) == ON_TABLE)
+                balls++;
+        }
+
+        return balls;
+    }
+}
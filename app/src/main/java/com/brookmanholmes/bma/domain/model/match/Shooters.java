@@ -0,0 +1,61 @@
+package com.brookmanholmes.bma.domain.model.match;
+
+import com.brookmanholmes.bma.domain.model.game.PlayerTurn;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Who played each turn of a match, one bit for each turn that's set if the opponent played it.
+ * A {@link #snapshot(int)} shares the bits, the bits a snapshot can see are only copied if
+ * they're about to be changed
+ */
+final class Shooters implements Serializable {
+    private long[] bits = new long[16];
+    // the bits before this one are seen by snapshots, so they're copied before they're changed
+    private transient int shared = 0;
+
+    /**
+     * Sets who played a turn
+     *
+     * @param turn    The index of the turn in the match
+     * @param shooter The side that played the turn
+     */
+    void set(int turn, PlayerTurn shooter) {
+        int word = turn >>> 6;
+        if (word >= bits.length) {
+            bits = Arrays.copyOf(bits, Math.max(word + 1, bits.length * 2));
+            shared = 0;
+        } else if (turn < shared) {
+            bits = bits.clone();
+            shared = 0;
+        }
+
+        if (shooter == PlayerTurn.OPPONENT)
+            bits[word] |= 1L << turn;
+        else bits[word] &= ~(1L << turn);
+    }
+
+    /**
+     * Getter for the bits of the first turns as they are now, read them with
+     * {@link #get(long[], int)}
+     *
+     * @param turns The number of turns the snapshot can see
+     * @return The bits, these aren't copied and mustn't be changed
+     */
+    long[] snapshot(int turns) {
+        shared = Math.max(shared, turns);
+        return bits;
+    }
+
+    /**
+     * Getter for who played a turn in a snapshot
+     *
+     * @param bits The bits from {@link #snapshot(int)}
+     * @param turn The index of the turn
+     * @return The side that played the turn
+     */
+    static PlayerTurn get(long[] bits, int turn) {
+        return (bits[turn >>> 6] & 1L << turn) != 0 ? PlayerTurn.OPPONENT : PlayerTurn.PLAYER;
+    }
+}
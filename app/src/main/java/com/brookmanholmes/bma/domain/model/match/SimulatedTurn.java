@@ -0,0 +1,194 @@
+package com.brookmanholmes.bma.domain.model.match;
+
+import com.brookmanholmes.bma.domain.model.game.BallSet;
+import com.brookmanholmes.bma.domain.model.game.BallStatus;
+import com.brookmanholmes.bma.domain.model.game.GameType;
+import com.brookmanholmes.bma.domain.model.turn.AdvStats;
+import com.brookmanholmes.bma.domain.model.turn.ITableStatus;
+import com.brookmanholmes.bma.domain.model.turn.ITurn;
+import com.brookmanholmes.bma.domain.model.turn.InvalidBallException;
+import com.brookmanholmes.bma.domain.model.turn.TableStatus;
+import com.brookmanholmes.bma.domain.model.turn.TurnEnd;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.brookmanholmes.bma.domain.model.game.BallStatus.OFF_TABLE;
+import static com.brookmanholmes.bma.domain.model.game.BallStatus.ON_TABLE;
+
+/**
+ * A turn that is reused for every turn of a simulated match, instead of creating a new table and
+ * turn each time. Only the balls that are different from the last turn are changed on the table
+ * for the next one, so most turns only touch the balls that were made
+ */
+final class SimulatedTurn implements ITurn {
+    private final ITableStatus table;
+    private final boolean straightPool;
+    private final BallSet allBalls;
+    // the balls that were already off the table at the start of the turn
+    private BallSet ballsOffTable = BallSet.empty();
+    private BallSet ballsOnTable = null;
+    // the balls that were made or went dead during the turn
+    private int[] changedBalls = new int[16];
+    private int changedBallCount = 0;
+    private TurnEnd turnEnd = TurnEnd.MISS;
+    private boolean foul = false;
+
+    SimulatedTurn(GameType gameType) {
+        table = TableStatus.newTable(gameType);
+        straightPool = gameType.isStraightPool();
+        allBalls = BallSet.full(table.size());
+    }
+
+    /**
+     * Clears the turn and sets up the table with the balls that are on the table at the start of
+     * the turn
+     *
+     * @param ballsOnTable The balls on the table at the start of the turn
+     */
+    void reset(BallSet ballsOnTable) {
+        if (straightPool) {
+            // the balls in straight pool are only placeholders, so there's no point marking them
+            // off the table, only the balls from the last turn have to be put back
+            for (int i = 0; i < changedBallCount; i++)
+                table.setBallTo(ON_TABLE, changedBalls[i]);
+        } else if (!ballsOnTable.equals(this.ballsOnTable)) {
+            for (int ball = 1; ball <= table.size(); ball++) {
+                BallStatus status = ballsOnTable.contains(ball) ? ON_TABLE : OFF_TABLE;
+                if (table.getBallStatus(ball) != status)
+                    table.setBallTo(status, ball);
+            }
+
+            ballsOffTable = allBalls.without(ballsOnTable);
+        } else {
+            for (int i = 0; i < changedBallCount; i++)
+                table.setBallTo(ON_TABLE, changedBalls[i]);
+        }
+
+        this.ballsOnTable = ballsOnTable;
+        changedBallCount = 0;
+        turnEnd = TurnEnd.MISS;
+        foul = false;
+    }
+
+    void setBall(BallStatus status, int ball) {
+        if (changedBallCount == changedBalls.length)
+            changedBalls = Arrays.copyOf(changedBalls, changedBallCount * 2);
+
+        changedBalls[changedBallCount++] = ball;
+        table.setBallTo(status, ball);
+    }
+
+    void setTurnEnd(TurnEnd turnEnd) {
+        this.turnEnd = turnEnd;
+    }
+
+    void setFoul(boolean foul) {
+        this.foul = foul;
+    }
+
+    @Override
+    public boolean isFoul() {
+        return foul;
+    }
+
+    @Override
+    public boolean isSeriousFoul() {
+        return false;
+    }
+
+    @Override
+    public boolean isGameLost() {
+        return false;
+    }
+
+    @Override
+    public TurnEnd getTurnEnd() {
+        return turnEnd;
+    }
+
+    @Override
+    public AdvStats getAdvStats() {
+        return null;
+    }
+
+    @Override
+    public int getShootingBallsMade() {
+        return table.getShootingBallsMade();
+    }
+
+    @Override
+    public int getDeadBalls() {
+        return table.getDeadBalls();
+    }
+
+    @Override
+    public int getDeadBallsOnBreak() {
+        return table.getDeadBallsOnBreak();
+    }
+
+    @Override
+    public int getBreakBallsMade() {
+        return table.getBreakBallsMade();
+    }
+
+    @Override
+    public boolean isGameBallMadeOnBreak() {
+        return table.isGameBallMadeOnBreak();
+    }
+
+    @Override
+    public boolean isGameBallMade() {
+        return table.isGameBallMade();
+    }
+
+    @Override
+    public int getBallsRemaining() {
+        return table.getBallsRemaining();
+    }
+
+    @Override
+    public BallStatus getBallStatus(int ball) throws InvalidBallException {
+        return table.getBallStatus(ball);
+    }
+
+    @Override
+    public void setBallTo(BallStatus status, int... balls) {
+        throw new UnsupportedOperationException("Simulated turns can only be changed by the simulation");
+    }
+
+    @Override
+    public boolean isGameBallMadeIllegally() {
+        return table.isGameBallMadeIllegally();
+    }
+
+    @Override
+    public List<BallStatus> getBallStatuses() {
+        return table.getBallStatuses();
+    }
+
+    @Override
+    public List<Integer> getBallsToRemoveFromTable() {
+        BallSet ballsToRemove = ballsOffTable;
+        for (int i = 0; i < changedBallCount; i++)
+            ballsToRemove = ballsToRemove.with(changedBalls[i]);
+
+        // the list view of a ball set lets the game remove the balls without unboxing them
+        return ballsToRemove.asList();
+    }
+
+    @Override
+    public int size() {
+        return table.size();
+    }
+
+    @Override
+    public GameType getGameType() {
+        return table.getGameType();
+    }
+
+    @Override
+    public int getGameBall() {
+        return table.getGameBall();
+    }
+}
@@ -0,0 +1,94 @@
+package com.brookmanholmes.bma.domain.model.match;
+
+import com.brookmanholmes.bma.domain.model.game.Game;
+import com.brookmanholmes.bma.domain.model.game.GameStatus;
+import com.brookmanholmes.bma.domain.model.game.PlayerTurn;
+import com.brookmanholmes.bma.domain.model.player.TurnView;
+import com.brookmanholmes.bma.domain.model.turn.ITurn;
+
+import java.util.List;
+
+/**
+ * The turns of a match and who played each of them as they were when the snapshot was made, for
+ * the turn views of the players the match hands out. Undoing or editing turns afterwards doesn't
+ * change the snapshot, and reading it never touches the match
+ * <p></p>
+ * Who played the turns that the match hadn't replayed yet (see {@link Match#load(List, List)})
+ * is worked out the first time it's needed, by replaying a game of its own from the last
+ * checkpoint before them
+ */
+final class TurnSnapshot implements TurnView.Source {
+    private final List<ITurn> turns;
+    private final long[] shooters;
+    private final int firstReplayedTurn;
+    private final List<MatchCheckpoint> checkpoints;
+    private final GameStatus initialGameStatus;
+    // who played the turns from replayedFrom up to the first replayed turn
+    private long[] replayedShooters;
+    private int replayedFrom;
+
+    /**
+     * Creates a snapshot, none of the lists or bits passed in can change afterwards
+     *
+     * @param turns             Every turn of the match
+     * @param shooters          Who played each turn from {@code firstReplayedTurn} on, from
+     *                          {@link Shooters#snapshot(int)}
+     * @param firstReplayedTurn The first turn the match had replayed
+     * @param checkpoints       The checkpoints of the match, oldest first
+     * @param initialGameStatus The game status of the match before the first turn
+     */
+    TurnSnapshot(List<ITurn> turns, long[] shooters, int firstReplayedTurn,
+                 List<MatchCheckpoint> checkpoints, GameStatus initialGameStatus) {
+        this.turns = turns;
+        this.shooters = shooters;
+        this.firstReplayedTurn = firstReplayedTurn;
+        this.checkpoints = checkpoints;
+        this.initialGameStatus = initialGameStatus;
+    }
+
+    @Override
+    public List<ITurn> getTurns() {
+        return turns;
+    }
+
+    @Override
+    public PlayerTurn getShooter(int turn) {
+        if (turn >= firstReplayedTurn)
+            return Shooters.get(shooters, turn);
+        return Shooters.get(replayShooters(turn), turn);
+    }
+
+    /**
+     * Replays the game from the last checkpoint at or before a turn (or the start of the match)
+     * up to the first turn the match had replayed, unless that's been done already
+     *
+     * @param turn The turn that's needed
+     * @return Who played each turn from the checkpoint on
+     */
+    private synchronized long[] replayShooters(int turn) {
+        if (replayedShooters != null && turn >= replayedFrom)
+            return replayedShooters;
+
+        MatchCheckpoint checkpoint = null;
+        for (int i = checkpoints.size() - 1; i >= 0 && checkpoint == null; i--) {
+            if (checkpoints.get(i).getTurnCount() <= turn)
+                checkpoint = checkpoints.get(i);
+        }
+
+        GameStatus gameStatus = checkpoint == null ? initialGameStatus : checkpoint.getGameStatus();
+        Game game = Game.newGame(gameStatus.gameType, gameStatus.turn, gameStatus.breakType, gameStatus.maxAttemptsPerGame);
+        game.restoreGameStatus(gameStatus);
+
+        int from = checkpoint == null ? 0 : checkpoint.getTurnCount();
+        long[] bits = new long[(firstReplayedTurn + 63) >>> 6];
+        for (int i = from; i < firstReplayedTurn; i++) {
+            if (game.getTurn() == PlayerTurn.OPPONENT)
+                bits[i >>> 6] |= 1L << i;
+            game.addTurn(turns.get(i));
+        }
+
+        replayedShooters = bits;
+        replayedFrom = from;
+        return bits;
+    }
+}
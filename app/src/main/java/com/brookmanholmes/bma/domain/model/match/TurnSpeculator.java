@@ -0,0 +1,255 @@
+package com.brookmanholmes.bma.domain.model.match;
+
+import com.brookmanholmes.bma.domain.model.game.BallStatus;
+import com.brookmanholmes.bma.domain.model.game.GameStatus;
+import com.brookmanholmes.bma.domain.model.game.PlayerColor;
+import com.brookmanholmes.bma.domain.model.player.Pair;
+import com.brookmanholmes.bma.domain.model.player.Player;
+import com.brookmanholmes.bma.domain.model.player.PlayerStatsHistory;
+import com.brookmanholmes.bma.domain.model.player.controller.PlayerController;
+import com.brookmanholmes.bma.domain.model.turn.ITableStatus;
+import com.brookmanholmes.bma.domain.model.turn.ITurn;
+import com.brookmanholmes.bma.domain.model.turn.TableStatus;
+import com.brookmanholmes.bma.domain.model.turn.Turn;
+import com.brookmanholmes.bma.domain.model.turn.TurnEndOptions;
+import com.brookmanholmes.bma.domain.model.turn.helpers.TurnEndHelper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Works out the likeliest next turns of a match while the shot is being played, so entering a
+ * typical turn doesn't have to wait for anything. From the game status and the balls on the table
+ * the likeliest turns are a miss with nothing made, a scratch, one ball made and the game ball
+ * made. For each of them the turn end options, the stats of the turn and both players' totals
+ * after the turn are worked out on the executor
+ * <p></p>
+ * Everything the work needs is taken from the match when {@link #speculate()} is called, so the
+ * match is never read from the executor. The work is thrown away as soon as the match changes,
+ * and a turn that isn't one of the likely ones is added to the match like any other turn
+ * <p></p>
+ * Apart from the executor this should only be used from the thread that changes the match
+ */
+public final class TurnSpeculator {
+    private final Match match;
+    private final Executor executor;
+    private volatile Speculation speculation;
+
+    /**
+     * Creates a speculator for a match
+     *
+     * @param match    The match to speculate about
+     * @param executor The executor to work out the turns on, this should be a low priority one
+     *                 so that it doesn't get in the way of the screen
+     */
+    public TurnSpeculator(Match match, Executor executor) {
+        this.match = match;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts working out the likely next turns of the match as it is now, throwing away any that
+     * were worked out before. Call this after the match changes
+     */
+    public void speculate() {
+        final Speculation speculation = new Speculation(match);
+        this.speculation = speculation;
+
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                speculation.run();
+            }
+        });
+    }
+
+    /**
+     * Throws away the turns that were worked out, for when the match is going to be changed
+     * without this speculator
+     */
+    public void discard() {
+        speculation = null;
+    }
+
+    /**
+     * Getter for the likely next turns that were worked out
+     *
+     * @return The likely turns, or an empty list if they aren't done yet or the match has changed
+     * since they were started
+     */
+    public List<ITurn> getLikelyTurns() {
+        Speculation speculation = current();
+        if (speculation == null)
+            return Collections.emptyList();
+
+        List<ITurn> turns = new ArrayList<>(speculation.outcomes.size());
+        for (Outcome outcome : speculation.outcomes)
+            turns.add(outcome.turn);
+        return turns;
+    }
+
+    /**
+     * Getter for the turn end options of the next turn, these come from the turns that were
+     * worked out if the table is one of theirs
+     *
+     * @param tableStatus The status of the table for the next turn
+     * @return The turn end options for the table
+     */
+    public TurnEndOptions getTurnEndOptions(ITableStatus tableStatus) {
+        Speculation speculation = current();
+        if (speculation != null) {
+            for (Outcome outcome : speculation.outcomes) {
+                if (outcome.tableStatus.equals(tableStatus))
+                    return outcome.options;
+            }
+        }
+
+        return TurnEndHelper.getTurnEndOptions(match.getGameStatus(), tableStatus);
+    }
+
+    /**
+     * Adds a turn to the match, using the stats and totals that were worked out if it's one of
+     * the likely turns, then starts working out the turns after it
+     *
+     * @param turn The turn to add
+     */
+    public void addTurn(ITurn turn) {
+        Outcome outcome = find(turn);
+        if (outcome != null)
+            match.addTurn(turn, outcome.turnStats, outcome.player, outcome.opponent);
+        else match.addTurn(turn);
+
+        speculate();
+    }
+
+    /**
+     * Getter for the worked out turn that's the same as a turn
+     *
+     * @param turn The turn to look for
+     * @return The worked out turn, or null if the turn isn't one of them or they aren't done yet
+     */
+    Outcome find(ITurn turn) {
+        Speculation speculation = current();
+        if (speculation != null) {
+            for (Outcome outcome : speculation.outcomes) {
+                if (outcome.turn.equals(turn))
+                    return outcome;
+            }
+        }
+
+        return null;
+    }
+
+    // the speculation if it's done and the match hasn't changed since it was started
+    private Speculation current() {
+        Speculation speculation = this.speculation;
+        if (speculation == null || speculation.version != match.getVersion() || speculation.outcomes == null)
+            return null;
+
+        return speculation;
+    }
+
+    /**
+     * The work for one version of the match. The outcomes are only set once they're all done, so
+     * they're never read half finished. The outcomes are only used once, since adding one to the
+     * match hands its totals over to the match
+     */
+    private static final class Speculation {
+        private final long version;
+        private final GameStatus gameStatus;
+        private final Player player, opponent;
+        private final PlayerController controller;
+        private volatile List<Outcome> outcomes;
+
+        Speculation(Match match) {
+            version = match.getVersion();
+            gameStatus = match.getGameStatus();
+            player = match.getPlayer();
+            opponent = match.getOpponent();
+            controller = match.newPlayerController();
+        }
+
+        void run() {
+            List<Outcome> outcomes = new ArrayList<>(4);
+            // a miss with nothing made, and the same with a scratch
+            outcomes.add(outcome(table(), false));
+            outcomes.add(outcome(table(), true));
+
+            int ball = nextBall();
+            if (ball != 0) {
+                ITableStatus table = table();
+                table.setBallTo(gameStatus.newGame ? BallStatus.MADE_ON_BREAK : BallStatus.MADE, ball);
+                outcomes.add(outcome(table, false));
+            }
+
+            // there's no game ball to make in straight pool
+            if (!gameStatus.gameType.isStraightPool()) {
+                ITableStatus table = table();
+                table.setBallTo(gameStatus.newGame ? BallStatus.GAME_BALL_MADE_ON_BREAK : BallStatus.MADE,
+                        gameStatus.gameType.getGameBall());
+                outcomes.add(outcome(table, false));
+            }
+
+            this.outcomes = outcomes;
+        }
+
+        private ITableStatus table() {
+            return TableStatus.newTable(gameStatus.gameType, gameStatus.ballSet);
+        }
+
+        private Outcome outcome(ITableStatus tableStatus, boolean scratch) {
+            TurnEndOptions options = TurnEndHelper.getTurnEndOptions(gameStatus, tableStatus);
+            ITurn turn = new Turn(options.defaultCheck, tableStatus, scratch || options.isFoul(), false, null);
+            Pair<Player> turnStats = controller.addTurn(gameStatus, turn);
+
+            return new Outcome(tableStatus, options, turn, turnStats,
+                    PlayerStatsHistory.projectTotals(player, turnStats.getPlayer()),
+                    PlayerStatsHistory.projectTotals(opponent, turnStats.getOpponent()));
+        }
+
+        /**
+         * The ball a player is likeliest to make next: the lowest ball of their color in 8 ball,
+         * otherwise the lowest ball on the table that isn't the game ball
+         *
+         * @return The ball, or 0 if there isn't one
+         */
+        private int nextBall() {
+            int from = 1, to = Integer.MAX_VALUE;
+            if (gameStatus.gameType.is8Ball() && gameStatus.currentPlayerColor == PlayerColor.STRIPES)
+                from = 9;
+            else if (gameStatus.gameType.is8Ball() && gameStatus.currentPlayerColor == PlayerColor.SOLIDS)
+                to = 7;
+
+            int gameBall = gameStatus.gameType.getGameBall();
+            for (int ball = gameStatus.ballSet.next(from); ball != 0 && ball <= to; ball = gameStatus.ballSet.next(ball + 1)) {
+                if (ball != gameBall)
+                    return ball;
+            }
+
+            return 0;
+        }
+    }
+
+    /**
+     * One of the likely next turns, with everything that's needed to add it to the match
+     */
+    static final class Outcome {
+        final ITableStatus tableStatus;
+        final TurnEndOptions options;
+        final ITurn turn;
+        final Pair<Player> turnStats;
+        final Player player, opponent;
+
+        Outcome(ITableStatus tableStatus, TurnEndOptions options, ITurn turn, Pair<Player> turnStats,
+                Player player, Player opponent) {
+            this.tableStatus = tableStatus;
+            this.options = options;
+            this.turn = turn;
+            this.turnStats = turnStats;
+            this.player = player;
+            this.opponent = opponent;
+        }
+    }
+}
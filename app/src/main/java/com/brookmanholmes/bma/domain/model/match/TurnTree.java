@@ -0,0 +1,191 @@
+package com.brookmanholmes.bma.domain.model.match;
+
+import com.brookmanholmes.bma.domain.model.turn.ITurn;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The undo tree of a match. Every turn is a node whose parent is the turn before it, so undoing
+ * some turns and then adding a different turn starts a new branch instead of throwing the undone
+ * turns away. Branches share every turn before the point where they split, so each one only
+ * costs a node for each of its own turns
+ * <p></p>
+ * The tree only keeps the turns, the stats and game statuses for a branch are worked out again
+ * when the match switches to it
+ */
+final class TurnTree implements Serializable {
+    private transient Node root = new Node(null, null);
+    // the node of the last turn in the match
+    private transient Node current = root;
+
+    /**
+     * Moves to the node for a turn after the current one, the turn is redone if it's already a
+     * branch from here and starts a new branch if it isn't
+     *
+     * @param turn The turn being added
+     */
+    void add(ITurn turn) {
+        Node child = current.find(turn);
+        if (child == null)
+            child = current.addChild(turn);
+
+        current.redoChild = child;
+        current = child;
+    }
+
+    /**
+     * Moves back to the turn before the current one, the current one becomes the turn to redo
+     */
+    void undo() {
+        if (current == root)
+            throw new IllegalStateException("There are no turns to undo");
+
+        current.parent.redoChild = current;
+        current = current.parent;
+    }
+
+    /**
+     * Getter for the turn that would be redone, the one that was undone (or added) most recently
+     *
+     * @return The turn to redo, or null if there isn't one
+     */
+    ITurn getRedoTurn() {
+        return current.redoChild == null ? null : current.redoChild.turn;
+    }
+
+    /**
+     * Getter for the first turn of every branch from the current turn, oldest branch first
+     *
+     * @return The turns that could be redone
+     */
+    List<ITurn> getRedoTurns() {
+        if (current.children == null)
+            return Collections.emptyList();
+
+        List<ITurn> turns = new ArrayList<>(current.children.size());
+        for (Node child : current.children)
+            turns.add(child.turn);
+
+        return turns;
+    }
+
+    /**
+     * Getter for the turns that would be redone by redoing over and over again, the last turn is
+     * the next one to redo
+     *
+     * @return The turns that can be redone, the same order they would have been undone in
+     */
+    ArrayList<ITurn> getRedoPath() {
+        ArrayList<ITurn> turns = new ArrayList<>();
+        for (Node node = current.redoChild; node != null; node = node.redoChild)
+            turns.add(node.turn);
+
+        Collections.reverse(turns);
+        return turns;
+    }
+
+    /**
+     * Adds turns to redo from the current turn, the way they'd be left by undoing them
+     *
+     * @param turns The turns to redo, the last turn is the next one to redo
+     */
+    void addRedoPath(List<ITurn> turns) {
+        Node node = current;
+        for (int i = turns.size() - 1; i >= 0; i--) {
+            Node child = node.find(turns.get(i));
+            if (child == null)
+                child = node.addChild(turns.get(i));
+
+            node.redoChild = child;
+            node = child;
+        }
+    }
+
+    private void writeObject(ObjectOutputStream outputStream) throws IOException {
+        outputStream.defaultWriteObject();
+
+        // the nodes are written one after the other instead of recursively, each with the index
+        // of its parent, so a long match doesn't overflow the stack
+        List<Node> nodes = new ArrayList<>();
+        Map<Node, Integer> indexes = new IdentityHashMap<>();
+        nodes.add(root);
+        indexes.put(root, 0);
+        for (int i = 0; i < nodes.size(); i++) {
+            Node node = nodes.get(i);
+            if (node.children != null) {
+                for (Node child : node.children) {
+                    indexes.put(child, nodes.size());
+                    nodes.add(child);
+                }
+            }
+        }
+
+        outputStream.writeInt(nodes.size());
+        for (int i = 1; i < nodes.size(); i++) {
+            Node node = nodes.get(i);
+            outputStream.writeInt(indexes.get(node.parent));
+            outputStream.writeObject(node.turn);
+            outputStream.writeBoolean(node.parent.redoChild == node);
+        }
+        outputStream.writeInt(indexes.get(current));
+    }
+
+    private void readObject(ObjectInputStream inputStream) throws ClassNotFoundException, IOException {
+        inputStream.defaultReadObject();
+
+        int size = inputStream.readInt();
+        List<Node> nodes = new ArrayList<>(size);
+        root = new Node(null, null);
+        nodes.add(root);
+        for (int i = 1; i < size; i++) {
+            Node parent = nodes.get(inputStream.readInt());
+            Node node = parent.addChild((ITurn) inputStream.readObject());
+            if (inputStream.readBoolean())
+                parent.redoChild = node;
+            nodes.add(node);
+        }
+        current = nodes.get(inputStream.readInt());
+    }
+
+    private static final class Node {
+        private final ITurn turn;
+        private final Node parent;
+        // created when the first branch is added, most turns only ever have one
+        private List<Node> children;
+        // the branch that redoing from this turn follows
+        private Node redoChild;
+
+        Node(ITurn turn, Node parent) {
+            this.turn = turn;
+            this.parent = parent;
+        }
+
+        Node find(ITurn turn) {
+            if (children != null) {
+                for (Node child : children) {
+                    if (child.turn.equals(turn))
+                        return child;
+                }
+            }
+
+            return null;
+        }
+
+        Node addChild(ITurn turn) {
+            if (children == null)
+                children = new ArrayList<>(1);
+
+            Node child = new Node(turn, this);
+            children.add(child);
+            return child;
+        }
+    }
+}
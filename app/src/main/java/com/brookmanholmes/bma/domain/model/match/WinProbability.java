@@ -0,0 +1,193 @@
+package com.brookmanholmes.bma.domain.model.match;
+
+import com.brookmanholmes.bma.domain.model.game.GameStatus;
+import com.brookmanholmes.bma.domain.model.player.Player;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * An estimate of each player's chance of winning a match, made by playing the rest of the match
+ * out many times (Monte Carlo playouts) with turns based on each player's stats. The playouts are
+ * split up between every core, and the same seed always gives the same estimate no matter how
+ * many cores there are
+ */
+public final class WinProbability {
+    // the number of playouts that are run on a single thread with the same playout state
+    private static final int PLAYOUTS_PER_TASK = 512;
+    private static final ForkJoinPool POOL = new ForkJoinPool();
+
+    private final int playouts;
+    private final int playerWins;
+    private final int opponentWins;
+
+    private WinProbability(int playouts, int playerWins, int opponentWins) {
+        this.playouts = playouts;
+        this.playerWins = playerWins;
+        this.opponentWins = opponentWins;
+    }
+
+    /**
+     * Estimates the chance of each player winning a match from its current position, using each
+     * player's stats from the match so far
+     *
+     * @param match    The match to estimate
+     * @param playouts The number of times to play out the rest of the match
+     * @param seed     The seed for the random playouts
+     * @return The estimated chance of each player winning
+     * @throws IllegalArgumentException if the match doesn't have two players or playouts isn't positive
+     */
+    public static WinProbability estimate(Match match, int playouts, long seed) {
+        return estimate(match, match.getPlayer(), match.getOpponent(), playouts, seed);
+    }
+
+    /**
+     * Estimates the chance of each player winning a match from its current position, with the
+     * turns based on stats from outside the match (e.g. the players' previous matches, to review
+     * the handicap before the match is played)
+     *
+     * @param match         The match to estimate
+     * @param playerStats   The stats to base the player's turns on
+     * @param opponentStats The stats to base the opponent's turns on
+     * @param playouts      The number of times to play out the rest of the match
+     * @param seed          The seed for the random playouts
+     * @return The estimated chance of each player winning
+     * @throws IllegalArgumentException if the match doesn't have two players or playouts isn't positive
+     */
+    public static WinProbability estimate(Match match, Player playerStats, Player opponentStats, int playouts, long seed) {
+        GameStatus gameStatus = match.getGameStatus();
+        if (gameStatus.gameType.isSinglePlayer())
+            throw new IllegalArgumentException("Can't estimate the winner of a single player game: " + gameStatus.gameType);
+        if (playouts <= 0)
+            throw new IllegalArgumentException("playouts must be positive: " + playouts);
+
+        PlayoutTask task = new PlayoutTask(gameStatus, match.getPlayer(), match.getOpponent(),
+                new OutcomeRates(playerStats), new OutcomeRates(opponentStats),
+                seed, 0, playouts);
+        int[] wins = POOL.invoke(task);
+
+        return new WinProbability(playouts, wins[0], wins[1]);
+    }
+
+    /**
+     * Getter for the estimated chance of the player winning the match
+     *
+     * @return A probability between 0 and 1
+     */
+    public double getPlayerWinProbability() {
+        return (double) playerWins / playouts;
+    }
+
+    /**
+     * Getter for the estimated chance of the opponent winning the match
+     *
+     * @return A probability between 0 and 1
+     */
+    public double getOpponentWinProbability() {
+        return (double) opponentWins / playouts;
+    }
+
+    public int getPlayouts() {
+        return playouts;
+    }
+
+    public int getPlayerWins() {
+        return playerWins;
+    }
+
+    public int getOpponentWins() {
+        return opponentWins;
+    }
+
+    @Override
+    public String toString() {
+        return "WinProbability{" +
+                "playouts=" + playouts +
+                ", playerWins=" + playerWins +
+                ", opponentWins=" + opponentWins +
+                '}';
+    }
+
+    /**
+     * Runs the playouts from {@code from} (inclusive) to {@code to} (exclusive), splitting them in
+     * half until there are few enough to run on one thread. Each task's random numbers are seeded
+     * from the index of its first playout, so the results don't depend on how the work was split
+     */
+    private static class PlayoutTask extends RecursiveTask<int[]> {
+        private final GameStatus gameStatus;
+        private final Player player, opponent;
+        private final OutcomeRates playerRates, opponentRates;
+        private final long seed;
+        private final int from, to;
+
+        PlayoutTask(GameStatus gameStatus, Player player, Player opponent,
+                    OutcomeRates playerRates, OutcomeRates opponentRates,
+                    long seed, int from, int to) {
+            this.gameStatus = gameStatus;
+            this.player = player;
+            this.opponent = opponent;
+            this.playerRates = playerRates;
+            this.opponentRates = opponentRates;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= PLAYOUTS_PER_TASK)
+                return play();
+
+            // split on a multiple of the task size so every task starts at the same playouts
+            int middle = from + Math.max(1, (to - from) / PLAYOUTS_PER_TASK / 2) * PLAYOUTS_PER_TASK;
+            PlayoutTask left = new PlayoutTask(gameStatus, player, opponent, playerRates, opponentRates, seed, from, middle);
+            PlayoutTask right = new PlayoutTask(gameStatus, player, opponent, playerRates, opponentRates, seed, middle, to);
+
+            left.fork();
+            int[] wins = right.compute();
+            int[] leftWins = left.join();
+            wins[0] += leftWins[0];
+            wins[1] += leftWins[1];
+            return wins;
+        }
+
+        private int[] play() {
+            Playout playout = new Playout(gameStatus, player, opponent, playerRates, opponentRates);
+            Random random = new PlayoutRandom(seed ^ (from * 0x9E3779B97F4A7C15L));
+            int[] wins = new int[2];
+
+            for (int i = from; i < to; i++) {
+                int result = playout.play(random);
+                if (result == Playout.PLAYER_WON)
+                    wins[0]++;
+                else if (result == Playout.OPPONENT_WON)
+                    wins[1]++;
+            }
+
+            return wins;
+        }
+    }
+
+    /**
+     * A xorshift random number generator, each task has its own so there's no need for the
+     * thread safety (and the atomic updates) of {@link Random}
+     */
+    private static final class PlayoutRandom extends Random {
+        private long state;
+
+        PlayoutRandom(long seed) {
+            // mix the seed so that seeds close together don't start with similar numbers
+            long state = (seed ^ 0x5DEECE66DL) * 0x9E3779B97F4A7C15L;
+            this.state = state == 0 ? 1 : state;
+        }
+
+        @Override
+        protected int next(int bits) {
+            state ^= state << 13;
+            state ^= state >>> 7;
+            state ^= state << 17;
+            return (int) ((state * 0x2545F4914F6CDD1DL) >>> (64 - bits));
+        }
+    }
+}
@@ -7,7 +7,9 @@ import org.apache.commons.math3.stat.StatUtils;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -21,41 +23,22 @@ public class Player implements Comparable<Player>, Serializable {
 
     Date date;
     int rank;
-    int safetyAttempts = 0;
-    int safetySuccesses = 0;
-    int safetyFouls = 0;
-    int safetyReturns = 0;
-    int breakSuccesses = 0;
-    int breakAttempts = 0;
-    int breakContinuations = 0;
-    int breakFouls = 0;
-    int breakBallsMade = 0;
-    int shootingBallsMade = 0;
-    int shootingTurns = 0;
-    int shootingMisses = 0;
-    int shootingFouls = 0;
-    int gameTotal = 0;
-    int gameWins = 0;
-    int safetyEscapes = 0;
-    int safetyForcedErrors = 0;
-    int breakAndRuns = 0;
-    int tableRuns = 0;
-    int fiveBallRun = 0;
+    // the counters, indexed by Stat
+    final int[] stats = new int[Stat.COUNT];
     int opponentRank;
-    int winsOnBreak = 0;
-    int earlyWins = 0;
-    int points;
-    int deadBalls;
     int highRun;
-    int seriousFouls;
     List<Integer> runLengths = new ArrayList<>();
-    List<ITurn> turns = new ArrayList<>();
+    // a view of the match's turns (see TurnView), only copied into a list of its own if turns are
+    // added to this player
+    List<ITurn> turns = Collections.emptyList();
     String id = "";
     String name = "";
 
     public Player(Player player) {
         this(player.id, player.name, player.gameType, player.rank, player.opponentRank);
         addPlayerStats(player);
+        // a copy has turns of its own instead of sharing the other player's view
+        turns = new ArrayList<>(player.turns);
     }
 
     public Player(String id, String name, GameType gameType, int rank, int opponentRank) {
@@ -97,61 +80,79 @@ public class Player implements Comparable<Player>, Serializable {
      * @param player The player whose stats you want to add
      */
     public void addPlayerStats(Player player) {
-        this.safetyAttempts += player.safetyAttempts;
-        this.safetyReturns += player.safetyReturns;
-        this.safetySuccesses += player.safetySuccesses;
-        this.safetyFouls += player.safetyFouls;
-        this.safetyEscapes += player.safetyEscapes;
-        this.safetyForcedErrors += player.safetyForcedErrors;
-
-        this.breakSuccesses += player.breakSuccesses;
-        this.breakAttempts += player.breakAttempts;
-        this.breakContinuations += player.breakContinuations;
-        this.breakFouls += player.breakFouls;
-        this.breakBallsMade += player.breakBallsMade;
-
-        shootingBallsMade += player.shootingBallsMade;
-        shootingTurns += player.shootingTurns;
-        shootingMisses += player.shootingMisses;
-        shootingFouls += player.shootingFouls;
-
-        breakAndRuns += player.breakAndRuns;
-        tableRuns += player.tableRuns;
-        fiveBallRun += player.fiveBallRun;
-
-        gameTotal += player.gameTotal;
-        gameWins += player.gameWins;
-
-        earlyWins += player.earlyWins;
-        winsOnBreak += player.winsOnBreak;
-        points += player.points;
-        deadBalls += player.deadBalls;
+        int[] stats = this.stats, other = player.stats;
+        for (int i = 0; i < stats.length; i++)
+            stats[i] += other[i];
 
         if (highRun < player.highRun)
             highRun = player.highRun;
 
-        seriousFouls += player.seriousFouls;
-
-        runLengths.addAll(player.runLengths);
+        if (!player.runLengths.isEmpty())
+            runLengths.addAll(player.runLengths);
 
         if (gameType.isStraightPool()) {
-            if (player.points > player.rank)
-                gameWins++;
+            if (player.get(Stat.POINTS) > player.rank)
+                add(Stat.GAME_WINS, 1);
         }
 
-        turns.addAll(player.turns);
+        turns = TurnView.concat(turns, player.turns);
+    }
+
+    /**
+     * Getter for one of the player's counters
+     *
+     * @param stat The counter to get
+     * @return The value of the counter
+     */
+    public int get(Stat stat) {
+        return stats[stat.ordinal()];
+    }
+
+    /**
+     * Getter for every counter of the player, in the order of {@link Stat}. Adding up the arrays
+     * of a lot of players is a lot quicker than adding up the players
+     *
+     * @return A copy of the player's counters
+     */
+    public int[] getStats() {
+        return stats.clone();
+    }
+
+    private void add(Stat stat, int amount) {
+        stats[stat.ordinal()] += amount;
     }
 
     public void addTurn(ITurn turn) {
-        turns.add(turn);
+        ownTurns().add(turn);
     }
 
     public void addTurns(Collection<ITurn> turns) {
-        this.turns.addAll(turns);
+        ownTurns().addAll(turns);
     }
 
+    /**
+     * Getter for the turns this player played, this is a read only view of the turns and isn't
+     * a copy
+     *
+     * @return The player's turns
+     */
     public List<ITurn> getTurns() {
-        return new ArrayList<>(turns);
+        return Collections.unmodifiableList(turns);
+    }
+
+    /**
+     * Sets the turns this player played, without copying them
+     *
+     * @param turns A view of the player's turns, usually a {@link TurnView} of a match's turns
+     */
+    public void setTurns(List<ITurn> turns) {
+        this.turns = turns;
+    }
+
+    private List<ITurn> ownTurns() {
+        if (!(turns instanceof ArrayList))
+            turns = new ArrayList<>(turns);
+        return turns;
     }
 
     public int getMatchPoints(int opponentScore) {
@@ -164,20 +165,20 @@ public class Player implements Comparable<Player>, Serializable {
                 return 1;
             } else return 0;
         } else if (gameType.isApa9Ball()) {
-            if (points >= Players.apa9BallRaceTo(rank))
+            if (get(Stat.POINTS) >= Players.apa9BallRaceTo(rank))
                 return 20 - Players.getMinimumMatchPointsEarned(opponentRank, opponentScore);
-            else return Players.getMinimumMatchPointsEarned(rank, points);
+            else return Players.getMinimumMatchPointsEarned(rank, get(Stat.POINTS));
         } else return 0;
     }
 
     public int getPoints() {
         if (gameType.isApa8Ball()) {
-            return gameWins;
+            return get(Stat.GAME_WINS);
         } else if (gameType.isApa9Ball()) {
-            return shootingBallsMade + breakBallsMade + gameWins;
+            return get(Stat.SHOOTING_BALLS_MADE) + get(Stat.BREAK_BALLS_MADE) + get(Stat.GAME_WINS);
         } else if (gameType.isStraightPool()) {
-            return shootingBallsMade - shootingFouls - breakFouls - (seriousFouls * 15);
-        } else return gameWins;
+            return get(Stat.SHOOTING_BALLS_MADE) - get(Stat.SHOOTING_FOULS) - get(Stat.BREAK_FOULS) - (get(Stat.SERIOUS_FOULS) * 15);
+        } else return get(Stat.GAME_WINS);
     }
 
     public int getPointsNeeded() {
@@ -186,45 +187,45 @@ public class Player implements Comparable<Player>, Serializable {
         } else if (gameType.isApa9Ball()) {
             return Players.apa9BallRaceTo(rank);
         } else if (gameType == GameType.ALL) {
-            return gameTotal;
+            return get(Stat.GAME_TOTAL);
         } else
             return rank;
     }
 
     public int getShootingTurns() {
-        return shootingTurns;
+        return get(Stat.SHOOTING_TURNS);
     }
 
     public int getDeadBalls() {
-        return deadBalls;
+        return get(Stat.DEAD_BALLS);
     }
 
     public void addDeadBalls(int deadBalls) {
-        this.deadBalls += deadBalls;
+        add(Stat.DEAD_BALLS, deadBalls);
     }
 
     public void addWinOnBreak() {
-        winsOnBreak++;
+        add(Stat.WINS_ON_BREAK, 1);
     }
 
     public int getWinsOnBreak() {
-        return winsOnBreak;
+        return get(Stat.WINS_ON_BREAK);
     }
 
     public void addWinsOnBreak(int wins) {
-        winsOnBreak += wins;
+        add(Stat.WINS_ON_BREAK, wins);
     }
 
     public void addEarlyWin() {
-        earlyWins++;
+        add(Stat.EARLY_WINS, 1);
     }
 
     public int getEarlyWins() {
-        return earlyWins;
+        return get(Stat.EARLY_WINS);
     }
 
     public void addEarlyWins(int wins) {
-        earlyWins += wins;
+        add(Stat.EARLY_WINS, wins);
     }
 
     public int getHighRun() {
@@ -236,7 +237,7 @@ public class Player implements Comparable<Player>, Serializable {
     }
 
     public void addSeriousFoul() {
-        seriousFouls++;
+        add(Stat.SERIOUS_FOULS, 1);
     }
 
     public GameType getGameType() {
@@ -316,10 +317,10 @@ public class Player implements Comparable<Player>, Serializable {
      * @param foul Whether or not the player fouled on their attempted safety
      */
     public void addSafetyAttempt(boolean foul) {
-        safetyAttempts++;
+        add(Stat.SAFETY_ATTEMPTS, 1);
 
         if (foul)
-            safetyFouls++;
+            add(Stat.SAFETY_FOULS, 1);
     }
 
     /**
@@ -332,9 +333,9 @@ public class Player implements Comparable<Player>, Serializable {
      */
     public void addSafety(boolean opponentPlayedSuccessfulSafe, int shootingBallsMade) {
         addSafetyAttempt(false);
-        safetySuccesses++;
+        add(Stat.SAFETY_SUCCESSES, 1);
         if (opponentPlayedSuccessfulSafe && shootingBallsMade == 0)
-            safetyReturns++;
+            add(Stat.SAFETY_RETURNS, 1);
     }
 
     /**
@@ -345,22 +346,22 @@ public class Player implements Comparable<Player>, Serializable {
      * @param foul      Whether or not the player fouled
      */
     public void addShootingBallsMade(int ballsMade, boolean foul) {
-        shootingBallsMade += ballsMade;
+        add(Stat.SHOOTING_BALLS_MADE, ballsMade);
         runLengths.add(ballsMade);
         if (ballsMade > highRun)
             highRun = ballsMade;
 
-        shootingTurns++;
+        add(Stat.SHOOTING_TURNS, 1);
 
         if (foul)
-            shootingFouls++;
+            add(Stat.SHOOTING_FOULS, 1);
     }
 
     /**
      * Adds in a shooting miss for the player
      */
     public void addShootingMiss() {
-        shootingMisses++;
+        add(Stat.SHOOTING_MISSES, 1);
     }
 
     /**
@@ -372,35 +373,35 @@ public class Player implements Comparable<Player>, Serializable {
      * @param foul         True if the player fouled on the break, false otherwise
      */
     public void addBreakShot(int ballsMade, boolean continuation, boolean foul) {
-        breakAttempts++;
+        add(Stat.BREAK_ATTEMPTS, 1);
 
         if (foul)
-            breakFouls++;
+            add(Stat.BREAK_FOULS, 1);
         else {
             if (ballsMade > 0) {
-                breakBallsMade += ballsMade;
-                breakSuccesses++;
+                add(Stat.BREAK_BALLS_MADE, ballsMade);
+                add(Stat.BREAK_SUCCESSES, 1);
             }
 
             if (continuation)
-                breakContinuations++;
+                add(Stat.BREAK_CONTINUATIONS, 1);
         }
     }
 
     /**
-     * Increments both {@link Player#gameTotal} and
-     * {@link Player#gameWins} by 1
+     * Increments both {@link Stat#GAME_TOTAL} and
+     * {@link Stat#GAME_WINS} by 1
      */
     public void addGameWon() {
-        gameTotal++;
-        gameWins++;
+        add(Stat.GAME_TOTAL, 1);
+        add(Stat.GAME_WINS, 1);
     }
 
     /**
-     * Increments both {@link Player#gameTotal} by 1
+     * Increments both {@link Stat#GAME_TOTAL} by 1
      */
     public void addGameLost() {
-        gameTotal++;
+        add(Stat.GAME_TOTAL, 1);
     }
 
     /**
@@ -409,7 +410,7 @@ public class Player implements Comparable<Player>, Serializable {
      * @return The number of games won
      */
     public int getWins() {
-        return gameWins;
+        return get(Stat.GAME_WINS);
     }
 
     /**
@@ -418,19 +419,19 @@ public class Player implements Comparable<Player>, Serializable {
      * @return The number of games played
      */
     public int getGameTotal() {
-        return gameTotal;
+        return get(Stat.GAME_TOTAL);
     }
 
     /**
      * Getter for the total number of fouls, combines
-     * {@link Player#shootingFouls},
-     * {@link Player#safetyFouls} and
-     * {@link Player#breakFouls}
+     * {@link Stat#SHOOTING_FOULS},
+     * {@link Stat#SAFETY_FOULS} and
+     * {@link Stat#BREAK_FOULS}
      *
      * @return The total number of times the player has fouled
      */
     public int getTotalFouls() {
-        return shootingFouls + safetyFouls + breakFouls;
+        return get(Stat.SHOOTING_FOULS) + get(Stat.SAFETY_FOULS) + get(Stat.BREAK_FOULS);
     }
 
     /**
@@ -439,18 +440,18 @@ public class Player implements Comparable<Player>, Serializable {
      * @return The total number of shooting balls made
      */
     public int getShootingBallsMade() {
-        return shootingBallsMade;
+        return get(Stat.SHOOTING_BALLS_MADE);
     }
 
     /**
      * Getter for the total number of shooting attempts, combines
-     * {@link Player#shootingMisses} and
-     * {@link Player#shootingBallsMade}
+     * {@link Stat#SHOOTING_MISSES} and
+     * {@link Stat#SHOOTING_BALLS_MADE}
      *
      * @return The total number of shooting attempts
      */
     public int getShootingAttempts() {
-        return shootingMisses + shootingBallsMade;
+        return get(Stat.SHOOTING_MISSES) + get(Stat.SHOOTING_BALLS_MADE);
     }
 
     /**
@@ -459,7 +460,7 @@ public class Player implements Comparable<Player>, Serializable {
      * @return Returns the total number of shooting fouls made
      */
     public int getShootingFouls() {
-        return shootingFouls;
+        return get(Stat.SHOOTING_FOULS);
     }
 
     /**
@@ -468,7 +469,7 @@ public class Player implements Comparable<Player>, Serializable {
      * @return The number of safety attempts made
      */
     public int getSafetyAttempts() {
-        return safetyAttempts;
+        return get(Stat.SAFETY_ATTEMPTS);
     }
 
     /**
@@ -477,7 +478,7 @@ public class Player implements Comparable<Player>, Serializable {
      * @return The number of successful safeties made
      */
     public int getSafetySuccesses() {
-        return safetySuccesses;
+        return get(Stat.SAFETY_SUCCESSES);
     }
 
     /**
@@ -486,7 +487,7 @@ public class Player implements Comparable<Player>, Serializable {
      * @return The number of fouls made during safety attempts
      */
     public int getSafetyFouls() {
-        return safetyFouls;
+        return get(Stat.SAFETY_FOULS);
     }
 
     /**
@@ -496,7 +497,7 @@ public class Player implements Comparable<Player>, Serializable {
      * @return The number of safeties returned
      */
     public int getSafetyReturns() {
-        return safetyReturns;
+        return get(Stat.SAFETY_RETURNS);
     }
 
     /**
@@ -506,7 +507,7 @@ public class Player implements Comparable<Player>, Serializable {
      * @return The number of safeties escaped
      */
     public int getSafetyEscapes() {
-        return safetyEscapes;
+        return get(Stat.SAFETY_ESCAPES);
     }
 
     /**
@@ -515,7 +516,7 @@ public class Player implements Comparable<Player>, Serializable {
      * @return The number of errors made following an opponent playing a safety
      */
     public int getSafetyForcedErrors() {
-        return safetyForcedErrors;
+        return get(Stat.SAFETY_FORCED_ERRORS);
     }
 
     /**
@@ -524,7 +525,7 @@ public class Player implements Comparable<Player>, Serializable {
      * @return The number of break and runs
      */
     public int getBreakAndRuns() {
-        return breakAndRuns;
+        return get(Stat.BREAK_AND_RUNS);
     }
 
     /**
@@ -534,7 +535,7 @@ public class Player implements Comparable<Player>, Serializable {
      * @return The number of table runs
      */
     public int getTableRuns() {
-        return tableRuns;
+        return get(Stat.TABLE_RUNS);
     }
 
     /**
@@ -543,7 +544,7 @@ public class Player implements Comparable<Player>, Serializable {
      * @return The number of games won that involved making 5 or fewer balls
      */
     public int getFiveBallRun() {
-        return fiveBallRun;
+        return get(Stat.FIVE_BALL_RUN);
     }
 
     /**
@@ -552,7 +553,7 @@ public class Player implements Comparable<Player>, Serializable {
      * @return The number of breaks that made a ball
      */
     public int getBreakSuccesses() {
-        return breakSuccesses;
+        return get(Stat.BREAK_SUCCESSES);
     }
 
     /**
@@ -561,7 +562,7 @@ public class Player implements Comparable<Player>, Serializable {
      * @return The number of break shots attempted
      */
     public int getBreakAttempts() {
-        return breakAttempts;
+        return get(Stat.BREAK_ATTEMPTS);
     }
 
     /**
@@ -570,7 +571,7 @@ public class Player implements Comparable<Player>, Serializable {
      * @return The number of breaks that the player 'continued' shooting afterwards
      */
     public int getBreakContinuations() {
-        return breakContinuations;
+        return get(Stat.BREAK_CONTINUATIONS);
     }
 
     /**
@@ -579,7 +580,7 @@ public class Player implements Comparable<Player>, Serializable {
      * @return The number of fouls on break shots
      */
     public int getBreakFouls() {
-        return breakFouls;
+        return get(Stat.BREAK_FOULS);
     }
 
     /**
@@ -588,42 +589,42 @@ public class Player implements Comparable<Player>, Serializable {
      * @return The total number of balls made during all break shots
      */
     public int getBreakBallsMade() {
-        return breakBallsMade;
+        return get(Stat.BREAK_BALLS_MADE);
     }
 
     /**
      * Adds a break and run to the player
      */
     public void addBreakAndRun() {
-        breakAndRuns++;
+        add(Stat.BREAK_AND_RUNS, 1);
     }
 
     /**
      * Adds a table run to the player
      */
     public void addTableRun() {
-        tableRuns++;
+        add(Stat.TABLE_RUNS, 1);
     }
 
     /**
      * Adds a five (or fewer) ball run to the player
      */
     public void addFiveBallRun() {
-        fiveBallRun++;
+        add(Stat.FIVE_BALL_RUN, 1);
     }
 
     /**
      * Adds a safety escape to the player (opponent played a safe and the player makes a ball)
      */
     public void addSafetyEscape() {
-        safetyEscapes++;
+        add(Stat.SAFETY_ESCAPES, 1);
     }
 
     /**
      * Adds a forced error to the player (opponent played a safe and the player fouls)
      */
     public void addSafetyForcedError() {
-        safetyForcedErrors++;
+        add(Stat.SAFETY_FORCED_ERRORS, 1);
     }
 
     /**
@@ -632,8 +633,8 @@ public class Player implements Comparable<Player>, Serializable {
      * @return The win percentage for the player
      */
     public double getWinPct() {
-        if (gameTotal > 0) {
-            return (double) gameWins / (double) gameTotal;
+        if (get(Stat.GAME_TOTAL) > 0) {
+            return (double) get(Stat.GAME_WINS) / (double) get(Stat.GAME_TOTAL);
         } else return 0;
     }
 
@@ -643,8 +644,8 @@ public class Player implements Comparable<Player>, Serializable {
      * @return The average number of balls made per turn
      */
     public double getAvgBallsTurn() {
-        if (shootingTurns > 0) {
-            return ((double) shootingBallsMade) / (double) shootingTurns;
+        if (get(Stat.SHOOTING_TURNS) > 0) {
+            return ((double) get(Stat.SHOOTING_BALLS_MADE)) / (double) get(Stat.SHOOTING_TURNS);
         } else return 0;
     }
 
@@ -654,8 +655,8 @@ public class Player implements Comparable<Player>, Serializable {
      * @return The safety percentage for the player
      */
     public double getSafetyPct() {
-        if (safetyAttempts > 0) {
-            return (double) safetySuccesses / (double) safetyAttempts;
+        if (get(Stat.SAFETY_ATTEMPTS) > 0) {
+            return (double) get(Stat.SAFETY_SUCCESSES) / (double) get(Stat.SAFETY_ATTEMPTS);
         } else return 0;
     }
 
@@ -666,7 +667,7 @@ public class Player implements Comparable<Player>, Serializable {
      */
     public double getShootingPct() {
         if (getShootingAttempts() > 0) {
-            return (double) shootingBallsMade / (double) getShootingAttempts();
+            return (double) get(Stat.SHOOTING_BALLS_MADE) / (double) getShootingAttempts();
         } else return 0;
     }
 
@@ -677,7 +678,7 @@ public class Player implements Comparable<Player>, Serializable {
      */
     public double getBreakPct() {
         if (getBreakAttempts() > 0) {
-            return (double) breakSuccesses / (double) breakAttempts;
+            return (double) get(Stat.BREAK_SUCCESSES) / (double) get(Stat.BREAK_ATTEMPTS);
         } else return 0;
     }
 
@@ -712,8 +713,8 @@ public class Player implements Comparable<Player>, Serializable {
      * @return The average number of balls made on the break
      */
     public double getAvgBallsBreak() {
-        if (breakAttempts > 0) {
-            return (double) breakBallsMade / (double) breakAttempts;
+        if (get(Stat.BREAK_ATTEMPTS) > 0) {
+            return (double) get(Stat.BREAK_BALLS_MADE) / (double) get(Stat.BREAK_ATTEMPTS);
         } else return 0;
     }
 
@@ -725,8 +726,8 @@ public class Player implements Comparable<Player>, Serializable {
      * @return The aggressiveness of the player
      */
     public double getAggressivenessRating() {
-        if (shootingBallsMade + shootingMisses + safetyAttempts > 0) {
-            return (((double) getShootingAttempts()) / ((double) getShootingAttempts() + (double) safetyAttempts));
+        if (get(Stat.SHOOTING_BALLS_MADE) + get(Stat.SHOOTING_MISSES) + get(Stat.SAFETY_ATTEMPTS) > 0) {
+            return (((double) getShootingAttempts()) / ((double) getShootingAttempts() + (double) get(Stat.SAFETY_ATTEMPTS)));
         } else return 0;
 
     }
@@ -757,33 +758,9 @@ public class Player implements Comparable<Player>, Serializable {
         Player player = (Player) o;
 
         if (rank != player.rank) return false;
-        if (safetyAttempts != player.safetyAttempts) return false;
-        if (safetySuccesses != player.safetySuccesses) return false;
-        if (safetyFouls != player.safetyFouls) return false;
-        if (safetyReturns != player.safetyReturns) return false;
-        if (breakSuccesses != player.breakSuccesses) return false;
-        if (breakAttempts != player.breakAttempts) return false;
-        if (breakContinuations != player.breakContinuations) return false;
-        if (breakFouls != player.breakFouls) return false;
-        if (breakBallsMade != player.breakBallsMade) return false;
-        if (shootingBallsMade != player.shootingBallsMade) return false;
-        if (shootingTurns != player.shootingTurns) return false;
-        if (shootingMisses != player.shootingMisses) return false;
-        if (shootingFouls != player.shootingFouls) return false;
-        if (gameTotal != player.gameTotal) return false;
-        if (gameWins != player.gameWins) return false;
-        if (safetyEscapes != player.safetyEscapes) return false;
-        if (safetyForcedErrors != player.safetyForcedErrors) return false;
-        if (breakAndRuns != player.breakAndRuns) return false;
-        if (tableRuns != player.tableRuns) return false;
-        if (fiveBallRun != player.fiveBallRun) return false;
+        if (!Arrays.equals(stats, player.stats)) return false;
         if (opponentRank != player.opponentRank) return false;
-        if (winsOnBreak != player.winsOnBreak) return false;
-        if (earlyWins != player.earlyWins) return false;
-        if (points != player.points) return false;
-        if (deadBalls != player.deadBalls) return false;
         if (highRun != player.highRun) return false;
-        if (seriousFouls != player.seriousFouls) return false;
         if (gameType != player.gameType) return false;
         if (date != null ? !date.equals(player.date) : player.date != null) return false;
         if (!runLengths.equals(player.runLengths)) return false;
@@ -797,33 +774,9 @@ public class Player implements Comparable<Player>, Serializable {
         int result = gameType.hashCode();
         result = 31 * result + (date != null ? date.hashCode() : 0);
         result = 31 * result + rank;
-        result = 31 * result + safetyAttempts;
-        result = 31 * result + safetySuccesses;
-        result = 31 * result + safetyFouls;
-        result = 31 * result + safetyReturns;
-        result = 31 * result + breakSuccesses;
-        result = 31 * result + breakAttempts;
-        result = 31 * result + breakContinuations;
-        result = 31 * result + breakFouls;
-        result = 31 * result + breakBallsMade;
-        result = 31 * result + shootingBallsMade;
-        result = 31 * result + shootingTurns;
-        result = 31 * result + shootingMisses;
-        result = 31 * result + shootingFouls;
-        result = 31 * result + gameTotal;
-        result = 31 * result + gameWins;
-        result = 31 * result + safetyEscapes;
-        result = 31 * result + safetyForcedErrors;
-        result = 31 * result + breakAndRuns;
-        result = 31 * result + tableRuns;
-        result = 31 * result + fiveBallRun;
+        result = 31 * result + Arrays.hashCode(stats);
         result = 31 * result + opponentRank;
-        result = 31 * result + winsOnBreak;
-        result = 31 * result + earlyWins;
-        result = 31 * result + points;
-        result = 31 * result + deadBalls;
         result = 31 * result + highRun;
-        result = 31 * result + seriousFouls;
         result = 31 * result + runLengths.hashCode();
         result = 31 * result + id.hashCode();
         result = 31 * result + name.hashCode();
@@ -836,33 +789,33 @@ public class Player implements Comparable<Player>, Serializable {
                 "gameType=" + gameType +
                 "\n date=" + date +
                 "\n rank=" + rank +
-                "\n safetyAttempts=" + safetyAttempts +
-                "\n safetySuccesses=" + safetySuccesses +
-                "\n safetyFouls=" + safetyFouls +
-                "\n safetyReturns=" + safetyReturns +
-                "\n breakSuccesses=" + breakSuccesses +
-                "\n breakAttempts=" + breakAttempts +
-                "\n breakContinuations=" + breakContinuations +
-                "\n breakFouls=" + breakFouls +
-                "\n breakBallsMade=" + breakBallsMade +
-                "\n shootingBallsMade=" + shootingBallsMade +
-                "\n shootingTurns=" + shootingTurns +
-                "\n shootingMisses=" + shootingMisses +
-                "\n shootingFouls=" + shootingFouls +
-                "\n gameTotal=" + gameTotal +
-                "\n gameWins=" + gameWins +
-                "\n safetyEscapes=" + safetyEscapes +
-                "\n safetyForcedErrors=" + safetyForcedErrors +
-                "\n breakAndRuns=" + breakAndRuns +
-                "\n tableRuns=" + tableRuns +
-                "\n fiveBallRun=" + fiveBallRun +
+                "\n safetyAttempts=" + get(Stat.SAFETY_ATTEMPTS) +
+                "\n safetySuccesses=" + get(Stat.SAFETY_SUCCESSES) +
+                "\n safetyFouls=" + get(Stat.SAFETY_FOULS) +
+                "\n safetyReturns=" + get(Stat.SAFETY_RETURNS) +
+                "\n breakSuccesses=" + get(Stat.BREAK_SUCCESSES) +
+                "\n breakAttempts=" + get(Stat.BREAK_ATTEMPTS) +
+                "\n breakContinuations=" + get(Stat.BREAK_CONTINUATIONS) +
+                "\n breakFouls=" + get(Stat.BREAK_FOULS) +
+                "\n breakBallsMade=" + get(Stat.BREAK_BALLS_MADE) +
+                "\n shootingBallsMade=" + get(Stat.SHOOTING_BALLS_MADE) +
+                "\n shootingTurns=" + get(Stat.SHOOTING_TURNS) +
+                "\n shootingMisses=" + get(Stat.SHOOTING_MISSES) +
+                "\n shootingFouls=" + get(Stat.SHOOTING_FOULS) +
+                "\n gameTotal=" + get(Stat.GAME_TOTAL) +
+                "\n gameWins=" + get(Stat.GAME_WINS) +
+                "\n safetyEscapes=" + get(Stat.SAFETY_ESCAPES) +
+                "\n safetyForcedErrors=" + get(Stat.SAFETY_FORCED_ERRORS) +
+                "\n breakAndRuns=" + get(Stat.BREAK_AND_RUNS) +
+                "\n tableRuns=" + get(Stat.TABLE_RUNS) +
+                "\n fiveBallRun=" + get(Stat.FIVE_BALL_RUN) +
                 "\n opponentRank=" + opponentRank +
-                "\n winsOnBreak=" + winsOnBreak +
-                "\n earlyWins=" + earlyWins +
-                "\n points=" + points +
-                "\n deadBalls=" + deadBalls +
+                "\n winsOnBreak=" + get(Stat.WINS_ON_BREAK) +
+                "\n earlyWins=" + get(Stat.EARLY_WINS) +
+                "\n points=" + get(Stat.POINTS) +
+                "\n deadBalls=" + get(Stat.DEAD_BALLS) +
                 "\n highRun=" + highRun +
-                "\n seriousFouls=" + seriousFouls +
+                "\n seriousFouls=" + get(Stat.SERIOUS_FOULS) +
                 "\n runLengths=" + runLengths +
                 "\n id='" + id + '\'' +
                 "\n name='" + name + '\'' +
@@ -870,11 +823,11 @@ public class Player implements Comparable<Player>, Serializable {
     }
 
     public void addPoints(int points) {
-        this.points += points;
+        add(Stat.POINTS, points);
     }
 
     public int getSeriousFouls() {
-        return seriousFouls;
+        return get(Stat.SERIOUS_FOULS);
     }
 
     public String getName() {
@@ -0,0 +1,317 @@
+package com.brookmanholmes.bma.domain.model.player;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps running totals of the stats for one side of a match. A row of cumulative totals is kept
+ * for every turn added so that adding a turn and rolling one back are both constant time,
+ * instead of re-adding the stats of every turn in the match. The totals for any range of turns
+ * are the difference between two rows, with the high run for the range coming from a sparse
+ * table of range maximums
+ * <p></p>
+ * A history can also start part way through a match, from the totals of the turns before it (see
+ * {@link #reset(Player, int)}). The totals of those turns can only be used as a whole, so ranges
+ * have to start at the first turn or after the turns the history started from
+ */
+public class PlayerStatsHistory implements Serializable {
+    // columns of a row, the first ones are the counters of Player in the order of Stat
+    static final int COUNTERS = Stat.COUNT;
+    static final int HIGH_RUN = COUNTERS;
+    private static final int RUN_COUNT = COUNTERS + 1;
+    private static final int ROW_SIZE = COUNTERS + 2;
+    private static final int[] EMPTY_ROW = new int[ROW_SIZE];
+
+    private Player totals;
+    // rows[n * ROW_SIZE] holds the totals after firstTurn + n turns, row 0 is the starting totals
+    private int[] rows = new int[ROW_SIZE * 16];
+    // highRuns[k][i] holds the highest run of the turns from i (inclusive) to i + 2^k (exclusive)
+    private int[][] highRuns = new int[1][16];
+    private int size = 0;
+    // the number of turns the history started from
+    private int firstTurn = 0;
+
+    /**
+     * Creates a new history with no turns in it
+     *
+     * @param player The player whose id, name, game type and ranks the totals should have
+     */
+    public PlayerStatsHistory(Player player) {
+        totals = new Player(player.id, player.name, player.getGameType(), player.rank, player.opponentRank);
+    }
+
+    /**
+     * Adds the stats of a single turn to the running totals
+     *
+     * @param turnStats The stats for this side of the match for the turn being added
+     * @return The change the turn made to the totals, which is all that has to be kept of the turn
+     */
+    public StatDelta add(Player turnStats) {
+        totals.addPlayerStats(turnStats);
+
+        size++;
+        if (rows.length < (size + 1) * ROW_SIZE)
+            grow();
+
+        writeRow(totals, size);
+        addHighRun(turnStats.highRun);
+        return StatDelta.of(rows, (size - 1) * ROW_SIZE, size * ROW_SIZE, COUNTERS, turnStats.highRun, turnStats.runLengths);
+    }
+
+    /**
+     * Rolls the running totals back to what they were before the last turn was added
+     */
+    public void removeLast() {
+        if (size == 0)
+            throw new IllegalStateException("There are no turns to remove");
+
+        size--;
+        readRow(size);
+    }
+
+    /**
+     * Rolls the running totals back to what they were after a number of turns
+     *
+     * @param turns The number of turns to keep, it can't be less than the turns the history
+     *              started from
+     */
+    public void truncate(int turns) {
+        if (turns < firstTurn || turns > size())
+            throw new IndexOutOfBoundsException("turns: " + turns + ", size: " + size() + ", first turn: " + firstTurn);
+
+        size = turns - firstTurn;
+        readRow(size);
+    }
+
+    /**
+     * Starts the history over from the totals of the first {@code turns} turns of the match, the
+     * turns added after this are added on to those totals
+     *
+     * @param startingTotals The totals of the turns before the history starts
+     * @param turns          The number of turns in the starting totals
+     */
+    public void reset(Player startingTotals, int turns) {
+        totals = new Player(totals.id, totals.name, totals.getGameType(), totals.rank, totals.opponentRank);
+        size = 0;
+        firstTurn = turns;
+
+        writeRow(startingTotals, 0);
+        readRow(0);
+        totals.runLengths.addAll(startingTotals.runLengths);
+    }
+
+    /**
+     * Adds the turns of a history that ends where this one starts to the start of this one, so a
+     * history that started part way through a match can be filled in back to an earlier turn
+     * without adding the turns after it again. The rows are running totals, so the rows already
+     * here don't change, only the table of range maximums is made again
+     *
+     * @param before A history of the same side of the match that has had every turn up to the
+     *               first turn of this one added
+     * @throws IllegalArgumentException if the history doesn't end where this one starts
+     */
+    public void prepend(PlayerStatsHistory before) {
+        if (before.size() != firstTurn || before.firstTurn > firstTurn)
+            throw new IllegalArgumentException("History ends at turn " + before.size()
+                    + ", this one starts at turn " + firstTurn);
+
+        int turns = before.size + size;
+        int capacity = highRuns[0].length;
+        while (capacity < turns + 1)
+            capacity *= 2;
+
+        int[] rows = new int[capacity * ROW_SIZE];
+        System.arraycopy(before.rows, 0, rows, 0, (before.size + 1) * ROW_SIZE);
+        System.arraycopy(this.rows, ROW_SIZE, rows, (before.size + 1) * ROW_SIZE, size * ROW_SIZE);
+
+        int[] turnHighRuns = new int[turns];
+        System.arraycopy(before.highRuns[0], 0, turnHighRuns, 0, before.size);
+        System.arraycopy(highRuns[0], 0, turnHighRuns, before.size, size);
+
+        this.rows = rows;
+        firstTurn = before.firstTurn;
+        highRuns = new int[1][capacity];
+        size = 0;
+        for (int highRun : turnHighRuns) {
+            size++;
+            addHighRun(highRun);
+        }
+    }
+
+    /**
+     * Creates an empty history for the same player as this one, for filling in the turns before
+     * this history starts (see {@link #prepend(PlayerStatsHistory)})
+     *
+     * @return A new history with no turns in it
+     */
+    public PlayerStatsHistory newEmptyHistory() {
+        return new PlayerStatsHistory(totals);
+    }
+
+    /**
+     * Removes every turn from the history, including any starting totals
+     */
+    public void clear() {
+        reset(new Player(totals.id, totals.name, totals.getGameType(), totals.rank, totals.opponentRank), 0);
+    }
+
+    /**
+     * The number of turns in the totals, including the turns the history started from
+     *
+     * @return The number of turns in this history
+     */
+    public int size() {
+        return firstTurn + size;
+    }
+
+    /**
+     * The number of turns the history started from, ranges can't start between the first turn
+     * and this turn
+     *
+     * @return The number of turns in the starting totals
+     */
+    public int getFirstTurn() {
+        return firstTurn;
+    }
+
+    /**
+     * Sets the id of the player these totals belong to
+     *
+     * @param id The new id of the player
+     */
+    public void setId(String id) {
+        totals.setId(id);
+    }
+
+    /**
+     * Creates a new player with the running totals of every turn added
+     *
+     * @return A copy of the running totals
+     */
+    public Player getTotals() {
+        return getTotals(0, size());
+    }
+
+    /**
+     * Creates a new player with the totals of the turns between {@code from} (inclusive) and
+     * {@code to} (exclusive). The counters are the difference of two rows, the high run is a
+     * lookup into a table of range maximums and the run lengths are copied from the running
+     * totals. The player has no turns, the match gives it a {@link TurnView} of them
+     *
+     * @param from The index of the first turn to include
+     * @param to   The index after the last turn to include
+     * @return A new player with the totals of the turns in the range
+     * @throws IndexOutOfBoundsException if the range is outside of the turns added, or starts
+     *                                   or ends inside of the starting totals
+     */
+    public Player getTotals(int from, int to) {
+        if (from < 0 || to > size() || from > to || (from != 0 && from < firstTurn) || to < firstTurn)
+            throw new IndexOutOfBoundsException("from: " + from + ", to: " + to + ", size: " + size()
+                    + ", first turn: " + firstTurn);
+
+        Player player = new Player(totals.id, totals.name, totals.getGameType(), totals.rank, totals.opponentRank);
+        int[] rows = this.rows;
+        // a range from the first turn includes the starting totals, so it's taken from nothing
+        int[] fromRows = from == 0 ? EMPTY_ROW : rows;
+        int i = (to - firstTurn) * ROW_SIZE, j = from == 0 ? 0 : (from - firstTurn) * ROW_SIZE;
+
+        int[] stats = player.stats;
+        for (int k = 0; k < COUNTERS; k++)
+            stats[k] = rows[i + k] - fromRows[j + k];
+        player.highRun = from == 0 ? rows[i + HIGH_RUN] : getHighRun(from - firstTurn, to - firstTurn);
+
+        player.runLengths.addAll(totals.runLengths.subList(fromRows[j + RUN_COUNT], rows[i + RUN_COUNT]));
+        return player;
+    }
+
+    /**
+     * Works out the totals a player would have after one more turn without adding the turn to
+     * anything. Unlike copying the totals with {@link Player#Player(Player)} and adding the turn,
+     * a straight pool game win isn't counted again for the totals being copied. Nothing is
+     * changed, so it's safe to call from another thread as long as the players passed in aren't
+     * being changed
+     *
+     * @param totals    The totals before the turn, from {@link #getTotals()}
+     * @param turnStats The stats of the turn
+     * @return A new player with the totals after the turn
+     */
+    public static Player projectTotals(Player totals, Player turnStats) {
+        Player player = new Player(totals.id, totals.name, totals.getGameType(), totals.rank, totals.opponentRank);
+        System.arraycopy(totals.stats, 0, player.stats, 0, COUNTERS);
+        player.highRun = totals.highRun;
+        player.runLengths.addAll(totals.runLengths);
+        player.addPlayerStats(turnStats);
+        return player;
+    }
+
+    /**
+     * Getter for the running totals without making a copy, for use when only the counters are
+     * needed
+     *
+     * @return The running totals, which should not be modified
+     */
+    Player getRunningTotals() {
+        return totals;
+    }
+
+    private void grow() {
+        rows = Arrays.copyOf(rows, rows.length * 2);
+
+        for (int k = 0; k < highRuns.length; k++)
+            highRuns[k] = Arrays.copyOf(highRuns[k], highRuns[k].length * 2);
+    }
+
+    /**
+     * Adds the high run of the last turn to the table of range maximums, only the entries that end
+     * with the last turn have to be filled in. Entries past the last turn are left behind when a
+     * turn is removed and get overwritten when the next one is added
+     *
+     * @param highRun The high run of the turn that was just added
+     */
+    private void addHighRun(int highRun) {
+        if (1 << highRuns.length <= size) {
+            highRuns = Arrays.copyOf(highRuns, highRuns.length + 1);
+            highRuns[highRuns.length - 1] = new int[highRuns[0].length];
+        }
+
+        highRuns[0][size - 1] = highRun;
+        for (int k = 1; 1 << k <= size; k++) {
+            int start = size - (1 << k);
+            highRuns[k][start] = Math.max(highRuns[k - 1][start], highRuns[k - 1][start + (1 << (k - 1))]);
+        }
+    }
+
+    private int getHighRun(int from, int to) {
+        if (from == to)
+            return 0;
+
+        int k = 31 - Integer.numberOfLeadingZeros(to - from);
+        return Math.max(highRuns[k][from], highRuns[k][to - (1 << k)]);
+    }
+
+    private void writeRow(Player p, int row) {
+        int[] rows = this.rows;
+        int i = row * ROW_SIZE;
+
+        System.arraycopy(p.stats, 0, rows, i, COUNTERS);
+        rows[i + HIGH_RUN] = p.highRun;
+        rows[i + RUN_COUNT] = p.runLengths.size();
+    }
+
+    private void readRow(int row) {
+        int[] rows = this.rows;
+        int i = row * ROW_SIZE;
+        Player p = totals;
+
+        System.arraycopy(rows, i, p.stats, 0, COUNTERS);
+        p.highRun = rows[i + HIGH_RUN];
+
+        truncate(p.runLengths, rows[i + RUN_COUNT]);
+    }
+
+    private static void truncate(List<?> list, int size) {
+        if (list.size() > size)
+            list.subList(size, list.size()).clear();
+    }
+}
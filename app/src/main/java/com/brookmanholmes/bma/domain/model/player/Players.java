@@ -48,19 +48,43 @@ public class Players {
      * @return True if the match is finished, false otherwise
      */
     public static boolean isMatchOver(Player player, Player opponent) {
-        GameType gameType = player.getGameType();
+        return isMatchOver(player.getGameType(), player.getRank(), player.getPoints(),
+                opponent.getRank(), opponent.getPoints());
+    }
+
+    /**
+     * Determines if a match is finished or not from each player's rank and points, without
+     * needing a {@link Player} for either of them
+     *
+     * @param gameType       The type of game being played
+     * @param playerRank     The rank of the player in the match
+     * @param playerPoints   The points of the player in the match (see {@link Player#getPoints()})
+     * @param opponentRank   The rank of the opponent in the match
+     * @param opponentPoints The points of the opponent in the match
+     * @return True if the match is finished, false otherwise
+     */
+    public static boolean isMatchOver(GameType gameType, int playerRank, int playerPoints,
+                                      int opponentRank, int opponentPoints) {
         if (gameType.isSinglePlayer())
             return false;
         if (gameType.isApa9Ball())
-            return isMatchOverApa9(player, opponent);
+            return isMatchOverApa9(playerRank, playerPoints, opponentRank, opponentPoints);
         else if (gameType.isApa8Ball())
-            return isMatchOverApa8(player, opponent);
-        else if (gameType == GameType.STRAIGHT_POOL) {
-            return player.getRank() <= player.getPoints() ||
-                    opponent.getRank() <= opponent.getPoints();
-        } else
-            return player.getRank() <= player.getWins() ||
-                    opponent.getRank() <= opponent.getWins();
+            return isMatchOverApa8(playerRank, playerPoints, opponentRank, opponentPoints);
+        else
+            return playerRank <= playerPoints || opponentRank <= opponentPoints;
+    }
+
+    /**
+     * Determines if a match is finished or not from the running totals of each player, without
+     * creating a copy of either player
+     *
+     * @param player   The running totals of the player in the match
+     * @param opponent The running totals of the opponent in the match
+     * @return True if the match is finished, false otherwise
+     */
+    public static boolean isMatchOver(PlayerStatsHistory player, PlayerStatsHistory opponent) {
+        return isMatchOver(player.getRunningTotals(), opponent.getRunningTotals());
     }
 
     // TODO: 8/26/2016 test this method
@@ -68,13 +92,15 @@ public class Players {
     /**
      * Determines if an APA 9 ball match is over
      *
-     * @param player   The player in the match
-     * @param opponent The opponent in the match
+     * @param playerRank     The rank of the player in the match
+     * @param playerPoints   The points of the player in the match
+     * @param opponentRank   The rank of the opponent in the match
+     * @param opponentPoints The points of the opponent in the match
      * @return True if the match is finished, false otherwise
      */
-    private static boolean isMatchOverApa9(Player player, Player opponent) {
-        return player.getPointsNeeded() <= player.getPoints() ||
-                opponent.getPointsNeeded() <= opponent.getPoints();
+    private static boolean isMatchOverApa9(int playerRank, int playerPoints, int opponentRank, int opponentPoints) {
+        return apa9BallRaceTo(playerRank) <= playerPoints ||
+                apa9BallRaceTo(opponentRank) <= opponentPoints;
     }
 
     // TODO: 8/26/2016 test this method
@@ -82,15 +108,17 @@ public class Players {
     /**
      * Determines if an APA 8 ball match is over
      *
-     * @param player   The player in the match
-     * @param opponent The opponent in the match
+     * @param playerRank     The rank of the player in the match
+     * @param playerPoints   The points of the player in the match
+     * @param opponentRank   The rank of the opponent in the match
+     * @param opponentPoints The points of the opponent in the match
      * @return True if the match is finished, false otherwise
      */
-    private static boolean isMatchOverApa8(Player player, Player opponent) {
-        RaceTo raceTo = apa8BallRaceTo(player.getRank(), opponent.getRank());
+    private static boolean isMatchOverApa8(int playerRank, int playerPoints, int opponentRank, int opponentPoints) {
+        RaceTo raceTo = apa8BallRaceTo(playerRank, opponentRank);
 
-        return raceTo.getPlayerRaceTo() <= player.getPoints() ||
-                raceTo.getOpponentRaceTo() <= opponent.getPoints();
+        return raceTo.getPlayerRaceTo() <= playerPoints ||
+                raceTo.getOpponentRaceTo() <= opponentPoints;
     }
 
     /**
@@ -0,0 +1,39 @@
+package com.brookmanholmes.bma.domain.model.player;
+
+/**
+ * The counters a {@link Player} keeps, each one is added together when players are added
+ * together. A player keeps them in an int[] in this order (see {@link Player#getStats()}), so
+ * anything adding up lots of players can work on the arrays directly
+ */
+public enum Stat {
+    SAFETY_ATTEMPTS,
+    SAFETY_SUCCESSES,
+    SAFETY_FOULS,
+    SAFETY_RETURNS,
+    BREAK_SUCCESSES,
+    BREAK_ATTEMPTS,
+    BREAK_CONTINUATIONS,
+    BREAK_FOULS,
+    BREAK_BALLS_MADE,
+    SHOOTING_BALLS_MADE,
+    SHOOTING_TURNS,
+    SHOOTING_MISSES,
+    SHOOTING_FOULS,
+    GAME_TOTAL,
+    GAME_WINS,
+    SAFETY_ESCAPES,
+    SAFETY_FORCED_ERRORS,
+    BREAK_AND_RUNS,
+    TABLE_RUNS,
+    FIVE_BALL_RUN,
+    WINS_ON_BREAK,
+    EARLY_WINS,
+    POINTS,
+    DEAD_BALLS,
+    SERIOUS_FOULS;
+
+    /**
+     * The number of stats, the length of a player's array of stats
+     */
+    public static final int COUNT = values().length;
+}
@@ -0,0 +1,167 @@
+package com.brookmanholmes.bma.domain.model.player;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The change one turn made to one side's stats. Most of the counters don't change in a turn, so
+ * only the ones that did are kept, each packed into a single int with its {@link Stat}, along
+ * with the turn's high run and any runs it finished. A turn that changed nothing shares a single
+ * empty delta
+ * <p></p>
+ * Deltas are made by {@link PlayerStatsHistory#add(Player)} from the player a controller made for
+ * the turn, so that player can be thrown away straight after
+ */
+public final class StatDelta implements Serializable {
+    static final StatDelta EMPTY = new StatDelta(new int[0]);
+
+    // the column of an entry is in the low bits, then a flag for a value too big to pack
+    private static final int COLUMN_BITS = 5;
+    private static final int COLUMN_MASK = (1 << COLUMN_BITS) - 1;
+    private static final int WIDE = 1 << COLUMN_BITS;
+    private static final int VALUE_SHIFT = COLUMN_BITS + 1;
+    // the columns after the counters
+    private static final int HIGH_RUN = PlayerStatsHistory.HIGH_RUN;
+    private static final int RUN_LENGTH = PlayerStatsHistory.HIGH_RUN + 1;
+
+    // (value << VALUE_SHIFT | column), or (column | WIDE) followed by the value if it doesn't fit
+    private final int[] entries;
+
+    private StatDelta(int[] entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Makes a delta from the difference between two rows of counters
+     *
+     * @param rows       The rows of counters
+     * @param before     The index of the first counter of the row before the turn
+     * @param after      The index of the first counter of the row after the turn
+     * @param counters   The number of counters in a row
+     * @param highRun    The high run of the turn
+     * @param runLengths The runs that the turn finished
+     * @return The change the turn made
+     */
+    static StatDelta of(int[] rows, int before, int after, int counters, int highRun, List<Integer> runLengths) {
+        int[] entries = new int[(counters + 1 + runLengths.size()) * 2];
+        int size = 0;
+
+        for (int column = 0; column < counters; column++)
+            size = put(entries, size, column, rows[after + column] - rows[before + column]);
+        size = put(entries, size, HIGH_RUN, highRun);
+        for (int runLength : runLengths)
+            size = putAlways(entries, size, RUN_LENGTH, runLength);
+
+        return size == 0 ? EMPTY : new StatDelta(Arrays.copyOf(entries, size));
+    }
+
+    private static int put(int[] entries, int size, int column, int value) {
+        return value == 0 ? size : putAlways(entries, size, column, value);
+    }
+
+    private static int putAlways(int[] entries, int size, int column, int value) {
+        if (value << VALUE_SHIFT >> VALUE_SHIFT == value)
+            entries[size++] = value << VALUE_SHIFT | column;
+        else {
+            entries[size++] = column | WIDE;
+            entries[size++] = value;
+        }
+
+        return size;
+    }
+
+    /**
+     * Getter for how much a counter changed in the turn
+     *
+     * @param stat The counter
+     * @return The change, 0 if it didn't change
+     */
+    public int get(Stat stat) {
+        return get(stat.ordinal());
+    }
+
+    private int get(int column) {
+        for (int i = 0; i < entries.length; i++) {
+            int entry = entries[i];
+            boolean wide = (entry & WIDE) != 0;
+            if ((entry & COLUMN_MASK) == column)
+                return wide ? entries[i + 1] : entry >> VALUE_SHIFT;
+            if (wide)
+                i++;
+        }
+
+        return 0;
+    }
+
+    /**
+     * Getter for the highest run in the turn
+     *
+     * @return The high run of the turn
+     */
+    public int getHighRun() {
+        return get(HIGH_RUN);
+    }
+
+    /**
+     * Getter for the runs that ended in the turn
+     *
+     * @return The length of each run, in order
+     */
+    public List<Integer> getRunLengths() {
+        List<Integer> runLengths = new ArrayList<>();
+        for (int i = 0; i < entries.length; i++) {
+            int entry = entries[i];
+            boolean wide = (entry & WIDE) != 0;
+            if ((entry & COLUMN_MASK) == RUN_LENGTH)
+                runLengths.add(wide ? entries[i + 1] : entry >> VALUE_SHIFT);
+            if (wide)
+                i++;
+        }
+
+        return runLengths;
+    }
+
+    /**
+     * Determines if the turn didn't change any stats
+     *
+     * @return True if nothing changed, false otherwise
+     */
+    public boolean isEmpty() {
+        return entries.length == 0;
+    }
+
+    private Object readResolve() {
+        return entries.length == 0 ? EMPTY : this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        StatDelta statDelta = (StatDelta) o;
+
+        return Arrays.equals(entries, statDelta.entries);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(entries);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("StatDelta{");
+        for (int i = 0; i < entries.length; i++) {
+            int entry = entries[i];
+            boolean wide = (entry & WIDE) != 0;
+            if (i > 0)
+                builder.append(", ");
+            builder.append(entry & COLUMN_MASK).append('=').append(wide ? entries[++i] : entry >> VALUE_SHIFT);
+        }
+
+        return builder.append('}').toString();
+    }
+}
@@ -0,0 +1,211 @@
+package com.brookmanholmes.bma.domain.model.player;
+
+import com.brookmanholmes.bma.domain.model.game.PlayerTurn;
+import com.brookmanholmes.bma.domain.model.turn.ITurn;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * A read only view of one side's turns in a range of a match's turns. Nothing is copied when the
+ * view is made, the turns that belong to the side are only found the first time the view is
+ * read, and after that the view only keeps their indexes into the match's turns
+ * <p></p>
+ * The view reads a snapshot of the match's turns made when the view was, so it stays the same
+ * when turns are undone or edited afterwards. A view is serialized as a plain list of its turns
+ */
+public final class TurnView extends AbstractList<ITurn> implements RandomAccess, Serializable {
+    private static final int[] NO_INDEXES = new int[0];
+
+    private final transient Source source;
+    private final transient PlayerTurn side;
+    private final transient int from, to;
+    // the indexes of the side's turns in the range, found the first time they're needed
+    private transient int[] indexes;
+
+    /**
+     * Creates a view of one side's turns
+     *
+     * @param source The turns of the match and who played each of them
+     * @param side   The side whose turns are in the view
+     * @param from   The index of the first turn in the range
+     * @param to     The index after the last turn in the range
+     */
+    public TurnView(Source source, PlayerTurn side, int from, int to) {
+        this.source = source;
+        this.side = side;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public ITurn get(int index) {
+        int[] indexes = indexes();
+        if (index < 0 || index >= indexes.length)
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + indexes.length);
+
+        return source.getTurns().get(indexes[index]);
+    }
+
+    @Override
+    public int size() {
+        return indexes().length;
+    }
+
+    private int[] indexes() {
+        if (indexes == null) {
+            int[] found = new int[Math.min(16, to - from)];
+            int size = 0;
+            for (int i = from; i < to; i++) {
+                if (source.getShooter(i) == side) {
+                    if (size == found.length)
+                        found = Arrays.copyOf(found, size * 2);
+                    found[size++] = i;
+                }
+            }
+
+            indexes = size == 0 ? NO_INDEXES : Arrays.copyOf(found, size);
+        }
+
+        return indexes;
+    }
+
+    private Object writeReplace() throws ObjectStreamException {
+        return new ArrayList<>(this);
+    }
+
+    /**
+     * Joins two lists of turns without copying either of them, for adding up the stats of players
+     * without copying their turns
+     *
+     * @param first  The turns that go first
+     * @param second The turns that go after them
+     * @return A read only list of the turns in both lists, or one of the lists if the other one
+     * is empty
+     */
+    static List<ITurn> concat(List<ITurn> first, List<ITurn> second) {
+        if (second.isEmpty())
+            return first;
+        if (first.isEmpty())
+            return second;
+
+        return Concat.of(first, second);
+    }
+
+    /**
+     * The turns of a match and who played each of them, a match gives this to the views of its
+     * players. Neither can change once the source is handed to a view
+     */
+    public interface Source {
+        /**
+         * Getter for every turn in the match
+         *
+         * @return The turns of the match, in order
+         */
+        List<ITurn> getTurns();
+
+        /**
+         * Getter for the side that played a turn
+         *
+         * @param turn The index of the turn
+         * @return The side that played the turn
+         */
+        PlayerTurn getShooter(int turn);
+    }
+
+    /**
+     * Lists of turns one after the other. Joins share a list of parts and each one only uses the
+     * parts up to its count, so joining onto the latest join adds to the list instead of copying
+     * it and adding up thousands of players stays linear
+     */
+    private static final class Concat extends AbstractList<ITurn> implements Serializable {
+        private final List<List<ITurn>> parts;
+        private final int count;
+
+        private Concat(List<List<ITurn>> parts, int count) {
+            this.parts = parts;
+            this.count = count;
+        }
+
+        static Concat of(List<ITurn> first, List<ITurn> second) {
+            List<List<ITurn>> parts;
+            if (first instanceof Concat) {
+                Concat concat = (Concat) first;
+                if (concat.count == concat.parts.size())
+                    parts = concat.parts;
+                else parts = new ArrayList<>(concat.parts.subList(0, concat.count));
+            } else {
+                parts = new ArrayList<>();
+                parts.add(first);
+            }
+
+            if (second instanceof Concat)
+                parts.addAll(((Concat) second).parts.subList(0, ((Concat) second).count));
+            else parts.add(second);
+
+            return new Concat(parts, parts.size());
+        }
+
+        @Override
+        public ITurn get(int index) {
+            if (index >= 0) {
+                int offset = index;
+                for (int i = 0; i < count; i++) {
+                    List<ITurn> part = parts.get(i);
+                    if (offset < part.size())
+                        return part.get(offset);
+                    offset -= part.size();
+                }
+            }
+
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size());
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (int i = 0; i < count; i++)
+                size += parts.get(i).size();
+            return size;
+        }
+
+        @Override
+        public Iterator<ITurn> iterator() {
+            return new Iterator<ITurn>() {
+                private int part = 0;
+                private Iterator<ITurn> turns = Collections.emptyIterator();
+
+                @Override
+                public boolean hasNext() {
+                    while (!turns.hasNext() && part < count)
+                        turns = parts.get(part++).iterator();
+                    return turns.hasNext();
+                }
+
+                @Override
+                public ITurn next() {
+                    if (!hasNext())
+                        throw new NoSuchElementException();
+                    return turns.next();
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        private Object writeReplace() throws ObjectStreamException {
+            return new ArrayList<>(this);
+        }
+    }
+}
@@ -104,32 +104,11 @@ public abstract class PlayerController implements Serializable {
     public static PlayerController createController(Game game, String playerId, String opponentId,
                                                     String playerName, String opponentName,
                                                     int playerRank, int opponentRank) {
-        switch (game.getGameType()) {
-            case BCA_NINE_BALL:
-            case BCA_GHOST_NINE_BALL:
-                return new NineBallController(playerId, opponentId, playerName, opponentName, playerRank, opponentRank);
-            case BCA_TEN_BALL:
-            case BCA_GHOST_TEN_BALL:
-                return new TenBallController(playerId, opponentId, playerName, opponentName, playerRank, opponentRank);
-            case APA_EIGHT_BALL:
-            case APA_GHOST_EIGHT_BALL:
-                return new ApaEightBallController(playerId, opponentId, playerName, opponentName, playerRank, opponentRank);
-            case APA_NINE_BALL:
-            case APA_GHOST_NINE_BALL:
-                return new ApaNineBallController(playerId, opponentId, playerName, opponentName, playerRank, opponentRank);
-            case BCA_EIGHT_BALL:
-            case BCA_GHOST_EIGHT_BALL:
-                return new EightBallController(playerId, opponentId, playerName, opponentName, playerRank, opponentRank);
-            case STRAIGHT_POOL:
-            case STRAIGHT_GHOST:
-                return new StraightPoolController(playerId, opponentId, playerName, opponentName, playerRank, opponentRank);
-            case EQUAL_OFFENSE:
-                return null; // TODO: 1/5/2017 implement equal offense here
-            case EQUAL_DEFENSE:
-                return null; // // TODO: 1/5/2017 implement equal defense here
-            default:
-                throw new InvalidGameTypeException(game.getGameType().name());
-        }
+        Factory factory = game.getGameType().getRules().controller;
+        if (factory == null)
+            throw new InvalidGameTypeException(game.getGameType().name());
+
+        return factory.create(playerId, opponentId, playerName, opponentName, playerRank, opponentRank);
     }
 
     public String getOpponentName() {
@@ -195,11 +174,9 @@ public abstract class PlayerController implements Serializable {
 
         switch (gameStatus.turn) {
             case PLAYER:
-                player1.addTurn(turn);
                 addStatsToPlayer(player1);
                 break;
             case OPPONENT:
-                player2.addTurn(turn);
                 addStatsToPlayer(player2);
                 break;
             default:
@@ -213,6 +190,21 @@ public abstract class PlayerController implements Serializable {
         return new Pair<>(player1, player2);
     }
 
+    /**
+     * Records a turn whose stats were worked out by another controller for the same players, so
+     * this controller is left the same as if it had added the turn itself
+     *
+     * @param gameStatus The status of the game before the turn
+     * @param turn       The turn that was added to the match
+     */
+    public void turnAdded(GameStatus gameStatus, ITurn turn) {
+        assert gameStatus != null;
+        assert turn != null;
+
+        this.gameStatus = gameStatus;
+        this.turn = turn;
+    }
+
     /**
      * Adds games won/lost to both players
      *
@@ -417,4 +409,56 @@ public abstract class PlayerController implements Serializable {
     public int getPlayerRank() {
         return playerRank;
     }
+
+    /**
+     * Makes the right subclass of player controller for a type of game, see
+     * {@link com.brookmanholmes.bma.domain.model.game.GameRules#controller}
+     */
+    public enum Factory {
+        EIGHT_BALL {
+            @Override
+            PlayerController create(String playerId, String opponentId, String playerName, String opponentName,
+                                    int playerRank, int opponentRank) {
+                return new EightBallController(playerId, opponentId, playerName, opponentName, playerRank, opponentRank);
+            }
+        },
+        NINE_BALL {
+            @Override
+            PlayerController create(String playerId, String opponentId, String playerName, String opponentName,
+                                    int playerRank, int opponentRank) {
+                return new NineBallController(playerId, opponentId, playerName, opponentName, playerRank, opponentRank);
+            }
+        },
+        TEN_BALL {
+            @Override
+            PlayerController create(String playerId, String opponentId, String playerName, String opponentName,
+                                    int playerRank, int opponentRank) {
+                return new TenBallController(playerId, opponentId, playerName, opponentName, playerRank, opponentRank);
+            }
+        },
+        APA_EIGHT_BALL {
+            @Override
+            PlayerController create(String playerId, String opponentId, String playerName, String opponentName,
+                                    int playerRank, int opponentRank) {
+                return new ApaEightBallController(playerId, opponentId, playerName, opponentName, playerRank, opponentRank);
+            }
+        },
+        APA_NINE_BALL {
+            @Override
+            PlayerController create(String playerId, String opponentId, String playerName, String opponentName,
+                                    int playerRank, int opponentRank) {
+                return new ApaNineBallController(playerId, opponentId, playerName, opponentName, playerRank, opponentRank);
+            }
+        },
+        STRAIGHT_POOL {
+            @Override
+            PlayerController create(String playerId, String opponentId, String playerName, String opponentName,
+                                    int playerRank, int opponentRank) {
+                return new StraightPoolController(playerId, opponentId, playerName, opponentName, playerRank, opponentRank);
+            }
+        };
+
+        abstract PlayerController create(String playerId, String opponentId, String playerName, String opponentName,
+                                         int playerRank, int opponentRank);
+    }
 }
@@ -25,6 +25,8 @@ public class AdvStats implements Serializable {
     private final int cueY;
     private final String startingPosition;
     private final boolean use;
+    // worked out once, the stats aren't changed after they're built
+    private final long fingerprint;
 
     private AdvStats(Builder builder) {
         this.shotType = builder.shotType;
@@ -40,6 +42,38 @@ public class AdvStats implements Serializable {
         speed = builder.speed;
         cueX = builder.cueX;
         cueY = builder.cueY;
+        fingerprint = fingerprint();
+    }
+
+    private long fingerprint() {
+        long fingerprint = Fingerprints.mix(0, player);
+        fingerprint = Fingerprints.mix(fingerprint, shotType == null ? -1 : shotType.ordinal());
+        fingerprint = Fingerprints.mix(fingerprint, shotSubtype == null ? -1 : shotSubtype.ordinal());
+        fingerprint = Fingerprints.mix(fingerprint, howTypes.size());
+        for (HowType howType : howTypes)
+            fingerprint = Fingerprints.mix(fingerprint, howType.ordinal());
+        fingerprint = Fingerprints.mix(fingerprint, whyTypes.size());
+        for (WhyType whyType : whyTypes)
+            fingerprint = Fingerprints.mix(fingerprint, whyType.ordinal());
+        fingerprint = Fingerprints.mix(fingerprint, angles.size());
+        for (Angle angle : angles)
+            fingerprint = Fingerprints.mix(fingerprint, angle.ordinal());
+        fingerprint = Fingerprints.mix(fingerprint, Float.floatToIntBits(cbToOb));
+        fingerprint = Fingerprints.mix(fingerprint, Float.floatToIntBits(obToPocket));
+        fingerprint = Fingerprints.mix(fingerprint, speed);
+        fingerprint = Fingerprints.mix(fingerprint, cueX);
+        fingerprint = Fingerprints.mix(fingerprint, cueY);
+        fingerprint = Fingerprints.mix(fingerprint, startingPosition);
+        return Fingerprints.mix(fingerprint, use ? 1 : 0);
+    }
+
+    /**
+     * A 64 bit fingerprint of everything in these stats, equal stats have the same fingerprint
+     *
+     * @return The fingerprint of the stats
+     */
+    public long getFingerprint() {
+        return fingerprint;
     }
 
     /**
@@ -200,6 +234,7 @@ public class AdvStats implements Serializable {
 
         AdvStats advStats = (AdvStats) o;
 
+        if (fingerprint != advStats.fingerprint) return false;
         if (Float.compare(advStats.cbToOb, cbToOb) != 0) return false;
         if (Float.compare(advStats.obToPocket, obToPocket) != 0) return false;
         if (speed != advStats.speed) return false;
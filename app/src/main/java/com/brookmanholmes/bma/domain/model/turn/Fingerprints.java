@@ -0,0 +1,49 @@
+package com.brookmanholmes.bma.domain.model.turn;
+
+/**
+ * Helpers for building 64 bit fingerprints of turns, so two turns (or two lists of turns) can be
+ * told apart by comparing a single long instead of everything in them. Equal turns always have the
+ * same fingerprint, different turns have the same one only by (very unlikely) chance
+ */
+public final class Fingerprints {
+    private static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private Fingerprints() {
+    }
+
+    /**
+     * Mixes a value into a fingerprint
+     *
+     * @param fingerprint The fingerprint so far
+     * @param value       The value to add to it
+     * @return The new fingerprint
+     */
+    public static long mix(long fingerprint, long value) {
+        long hash = (fingerprint ^ value) * MULTIPLIER;
+        return hash ^ (hash >>> 29);
+    }
+
+    /**
+     * Mixes a string into a fingerprint, null strings are different from empty ones
+     *
+     * @param fingerprint The fingerprint so far
+     * @param value       The string to add to it
+     * @return The new fingerprint
+     */
+    public static long mix(long fingerprint, String value) {
+        return value == null ? mix(fingerprint, -1L) : mix(mix(fingerprint, value.length()), value.hashCode());
+    }
+
+    /**
+     * Gets the fingerprint of any turn, {@link Turn}s work theirs out when they're created and
+     * other turns are fingerprinted from their hash code
+     *
+     * @param turn The turn to get the fingerprint of
+     * @return The turn's fingerprint
+     */
+    public static long of(ITurn turn) {
+        if (turn instanceof Turn)
+            return ((Turn) turn).getFingerprint();
+        else return mix(0, turn.hashCode());
+    }
+}
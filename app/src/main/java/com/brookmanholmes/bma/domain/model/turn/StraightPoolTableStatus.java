@@ -0,0 +1,338 @@
+package com.brookmanholmes.bma.domain.model.turn;
+
+import com.brookmanholmes.bma.domain.model.game.BallSet;
+import com.brookmanholmes.bma.domain.model.game.BallStatus;
+import com.brookmanholmes.bma.domain.model.game.GameType;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.brookmanholmes.bma.domain.model.game.BallStatus.DEAD;
+import static com.brookmanholmes.bma.domain.model.game.BallStatus.DEAD_ON_BREAK;
+import static com.brookmanholmes.bma.domain.model.game.BallStatus.GAME_BALL_DEAD_ON_BREAK;
+import static com.brookmanholmes.bma.domain.model.game.BallStatus.GAME_BALL_DEAD_ON_BREAK_THEN_DEAD;
+import static com.brookmanholmes.bma.domain.model.game.BallStatus.GAME_BALL_DEAD_ON_BREAK_THEN_MADE;
+import static com.brookmanholmes.bma.domain.model.game.BallStatus.GAME_BALL_MADE_ON_BREAK;
+import static com.brookmanholmes.bma.domain.model.game.BallStatus.GAME_BALL_MADE_ON_BREAK_THEN_DEAD;
+import static com.brookmanholmes.bma.domain.model.game.BallStatus.GAME_BALL_MADE_ON_BREAK_THEN_MADE;
+import static com.brookmanholmes.bma.domain.model.game.BallStatus.MADE;
+import static com.brookmanholmes.bma.domain.model.game.BallStatus.MADE_ON_BREAK;
+import static com.brookmanholmes.bma.domain.model.game.BallStatus.OFF_TABLE;
+import static com.brookmanholmes.bma.domain.model.game.BallStatus.ON_TABLE;
+
+/**
+ * A table for straight pool, where the balls are only placeholders and which ball was made
+ * doesn't matter. Instead of a status for every one of the balls, the table keeps a count of the
+ * balls with each status and only remembers the balls that have been taken off the table, so the
+ * cost of a turn depends on the number of balls made or dead and not the size of the table
+ */
+final class StraightPoolTableStatus implements ITableStatus, Serializable {
+    private static final BallStatus[] STATUSES = BallStatus.values();
+
+    private final int size;
+    private final int GAME_BALL;
+    private final GameType gameType;
+    // the number of balls with each status, indexed by ordinal
+    private final int[] counts = new int[STATUSES.length];
+    // the balls that aren't on the table and their statuses, every other ball is on the table
+    private int[] balls = new int[8];
+    private byte[] statuses = new byte[8];
+    private int ballsOffTable = 0;
+    private boolean frozen = false;
+
+    StraightPoolTableStatus(int size, int gameBall, GameType gameType) throws InvalidBallException {
+        if (gameBall > size)
+            throw new InvalidBallException("Game ball (" + gameBall
+                    + ") is out of range (1-" + size + ")");
+
+        this.size = size;
+        this.GAME_BALL = gameBall;
+        this.gameType = gameType;
+        counts[ON_TABLE.ordinal()] = size;
+    }
+
+    StraightPoolTableStatus(int size, int gameBall, GameType gameType, BallSet ballsOnTable) throws InvalidBallException {
+        this(size, gameBall, gameType);
+
+        if (!ballsOnTable.contains(gameBall))
+            throw new InvalidBallException("Game ball (" + gameBall + ") " +
+                    "not on table, balls on table:" + ballsOnTable.toString());
+
+        if (ballsOnTable.size() < size) {
+            for (int ball = 1; ball <= size; ball++) {
+                if (!ballsOnTable.contains(ball))
+                    setBallTo(OFF_TABLE, ball);
+            }
+        }
+    }
+
+    private StraightPoolTableStatus(StraightPoolTableStatus table) {
+        size = table.size;
+        GAME_BALL = table.GAME_BALL;
+        gameType = table.gameType;
+        System.arraycopy(table.counts, 0, counts, 0, counts.length);
+        balls = Arrays.copyOf(table.balls, Math.max(1, table.ballsOffTable));
+        statuses = Arrays.copyOf(table.statuses, Math.max(1, table.ballsOffTable));
+        ballsOffTable = table.ballsOffTable;
+        frozen = true;
+    }
+
+    @Override
+    public List<Integer> getBallsToRemoveFromTable() {
+        int[] ballsOffTable = Arrays.copyOf(balls, this.ballsOffTable);
+        Arrays.sort(ballsOffTable);
+
+        List<Integer> ballsToRemove = new ArrayList<>(ballsOffTable.length);
+        for (int ball : ballsOffTable)
+            ballsToRemove.add(ball);
+
+        return ballsToRemove;
+    }
+
+    @Override
+    public List<BallStatus> getBallStatuses() {
+        List<BallStatus> ballStatuses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            ballStatuses.add(ON_TABLE);
+
+        for (int i = 0; i < ballsOffTable; i++)
+            ballStatuses.set(balls[i] - 1, STATUSES[statuses[i]]);
+
+        return ballStatuses;
+    }
+
+    @Override
+    public int getGameBall() {
+        return GAME_BALL;
+    }
+
+    @Override
+    public void setBallTo(BallStatus status, int... balls) throws InvalidBallException {
+        if (frozen)
+            throw new UnsupportedOperationException("The table can't be changed once it's part of a turn");
+
+        for (int ball : balls) {
+            setBall(status, ball);
+        }
+    }
+
+    @Override
+    public int getDeadBalls() {
+        return count(DEAD)
+                + (gameBallStatus() == GAME_BALL_MADE_ON_BREAK_THEN_DEAD ? 1 : 0);
+    }
+
+    @Override
+    public int getDeadBallsOnBreak() {
+        return count(DEAD_ON_BREAK)
+                + (gameBallStatus() == GAME_BALL_DEAD_ON_BREAK_THEN_MADE ? 1 : 0)
+                + (gameBallStatus() == GAME_BALL_DEAD_ON_BREAK_THEN_DEAD ? 1 : 0)
+                + (gameBallStatus() == GAME_BALL_DEAD_ON_BREAK ? 1 : 0);
+    }
+
+    @Override
+    public int getBallsRemaining() {
+        return count(ON_TABLE);
+    }
+
+    @Override
+    public int getBreakBallsMade() {
+        return count(MADE_ON_BREAK)
+                + (gameBallStatus() == GAME_BALL_MADE_ON_BREAK ? 1 : 0)
+                + (gameBallStatus() == GAME_BALL_MADE_ON_BREAK_THEN_MADE ? 1 : 0)
+                + (gameBallStatus() == GAME_BALL_MADE_ON_BREAK_THEN_DEAD ? 1 : 0);
+    }
+
+    @Override
+    public int getShootingBallsMade() {
+        return count(MADE)
+                + (gameBallStatus() == GAME_BALL_MADE_ON_BREAK_THEN_MADE ? 1 : 0)
+                + (gameBallStatus() == GAME_BALL_DEAD_ON_BREAK_THEN_MADE ? 1 : 0);
+    }
+
+    @Override
+    public boolean isGameBallMade() {
+        BallStatus gameBall = gameBallStatus();
+        return gameBall == MADE ||
+                gameBall == GAME_BALL_MADE_ON_BREAK_THEN_MADE ||
+                gameBall == GAME_BALL_DEAD_ON_BREAK_THEN_MADE;
+    }
+
+    @Override
+    public boolean isGameBallMadeOnBreak() {
+        BallStatus gameBall = gameBallStatus();
+        return gameBall == MADE_ON_BREAK
+                || gameBall == GAME_BALL_MADE_ON_BREAK
+                || gameBall == GAME_BALL_MADE_ON_BREAK_THEN_DEAD
+                || gameBall == GAME_BALL_MADE_ON_BREAK_THEN_MADE;
+    }
+
+    @Override
+    public boolean isGameBallMadeIllegally() {
+        BallStatus gameBall = gameBallStatus();
+        return gameBall == DEAD ||
+                gameBall == GAME_BALL_MADE_ON_BREAK_THEN_DEAD ||
+                gameBall == GAME_BALL_DEAD_ON_BREAK;
+    }
+
+    @Override
+    public BallStatus getBallStatus(int ball) throws InvalidBallException {
+        if (ball < 1 || ball > size)
+            throw new InvalidBallException("ball: " + ball);
+
+        int index = indexOf(ball);
+        return index < 0 ? ON_TABLE : STATUSES[statuses[index]];
+    }
+
+    @Override
+    public GameType getGameType() {
+        return gameType;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Creates a copy of this table that can't be changed
+     *
+     * @return A frozen copy of this table, or this table if it's already frozen
+     */
+    StraightPoolTableStatus freeze() {
+        return frozen ? this : new StraightPoolTableStatus(this);
+    }
+
+    /**
+     * A fingerprint of the status of every ball, equal tables have the same fingerprint. Only the
+     * balls that are off the table are looked at, every other ball is on it
+     *
+     * @return The fingerprint of the table's balls
+     */
+    long fingerprint() {
+        // the balls are stored in the order they were taken off the table, so they're added up
+        // instead of mixed in one after the other
+        long balls = 0;
+        for (int i = 0; i < ballsOffTable; i++)
+            balls += Fingerprints.mix(this.balls[i], statuses[i]);
+
+        return Fingerprints.mix(Fingerprints.mix(ballsOffTable, GAME_BALL), balls);
+    }
+
+    /**
+     * Puts the table back to only having the specified balls on it, so the same table can be used
+     * for turn after turn without making a new one each time
+     *
+     * @param ballsOnTable The balls which you want to remain on the table
+     * @throws InvalidBallException if the game ball isn't one of the balls
+     */
+    void reset(BallSet ballsOnTable) throws InvalidBallException {
+        if (frozen)
+            throw new UnsupportedOperationException("The table can't be changed once it's part of a turn");
+        if (!ballsOnTable.contains(GAME_BALL))
+            throw new InvalidBallException("Game ball (" + GAME_BALL + ") " +
+                    "not on table, balls on table:" + ballsOnTable.toString());
+
+        Arrays.fill(counts, 0);
+        counts[ON_TABLE.ordinal()] = size;
+        ballsOffTable = 0;
+
+        if (ballsOnTable.size() < size) {
+            for (int ball = 1; ball <= size; ball++) {
+                if (!ballsOnTable.contains(ball))
+                    setBall(OFF_TABLE, ball);
+            }
+        }
+    }
+
+    private void setBall(BallStatus status, int ball) throws InvalidBallException {
+        if (ball < 1 || ball > size)
+            throw new InvalidBallException();
+
+        int index = indexOf(ball);
+        BallStatus previous = index < 0 ? ON_TABLE : STATUSES[statuses[index]];
+        counts[previous.ordinal()]--;
+        counts[status.ordinal()]++;
+
+        if (status == ON_TABLE) {
+            if (index >= 0)
+                removeBall(index);
+        } else if (index >= 0) {
+            statuses[index] = (byte) status.ordinal();
+        } else {
+            addBall(ball, status);
+        }
+    }
+
+    private int count(BallStatus status) {
+        return counts[status.ordinal()];
+    }
+
+    private BallStatus gameBallStatus() {
+        return getBallStatus(GAME_BALL);
+    }
+
+    private int indexOf(int ball) {
+        for (int i = 0; i < ballsOffTable; i++) {
+            if (balls[i] == ball)
+                return i;
+        }
+
+        return -1;
+    }
+
+    private void addBall(int ball, BallStatus status) {
+        if (ballsOffTable == balls.length) {
+            balls = Arrays.copyOf(balls, ballsOffTable * 2);
+            statuses = Arrays.copyOf(statuses, ballsOffTable * 2);
+        }
+
+        balls[ballsOffTable] = ball;
+        statuses[ballsOffTable] = (byte) status.ordinal();
+        ballsOffTable++;
+    }
+
+    private void removeBall(int index) {
+        ballsOffTable--;
+        balls[index] = balls[ballsOffTable];
+        statuses[index] = statuses[ballsOffTable];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        StraightPoolTableStatus that = (StraightPoolTableStatus) o;
+
+        if (size != that.size) return false;
+        if (GAME_BALL != that.GAME_BALL) return false;
+        if (gameType != that.gameType) return false;
+        if (ballsOffTable != that.ballsOffTable) return false;
+
+        for (int i = 0; i < ballsOffTable; i++) {
+            if (that.getBallStatus(balls[i]).ordinal() != statuses[i])
+                return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = GAME_BALL;
+        result = 31 * result + gameType.hashCode();
+        result = 31 * result + size;
+
+        // the balls are stored in the order they were taken off the table, so this has to be
+        // independent of the order
+        int balls = 0;
+        for (int i = 0; i < ballsOffTable; i++)
+            balls += 31 * this.balls[i] + statuses[i];
+
+        result = 31 * result + balls;
+        return result;
+    }
+}
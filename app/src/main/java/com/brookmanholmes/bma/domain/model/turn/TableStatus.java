@@ -1,6 +1,8 @@
 package com.brookmanholmes.bma.domain.model.turn;
 
+import com.brookmanholmes.bma.domain.model.game.BallSet;
 import com.brookmanholmes.bma.domain.model.game.BallStatus;
+import com.brookmanholmes.bma.domain.model.game.GameRules;
 import com.brookmanholmes.bma.domain.model.game.GameType;
 import com.brookmanholmes.bma.domain.model.game.InvalidGameTypeException;
 
@@ -9,10 +11,8 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 import static com.brookmanholmes.bma.domain.model.game.BallStatus.DEAD;
 import static com.brookmanholmes.bma.domain.model.game.BallStatus.DEAD_ON_BREAK;
@@ -31,9 +31,15 @@ import static com.brookmanholmes.bma.domain.model.game.BallStatus.ON_TABLE;
  * Created by Brookman Holmes on 10/25/2015.
  */
 final public class TableStatus implements ITableStatus, Serializable {
+    private static final BallStatus[] STATUSES = BallStatus.values();
+
     private final int GAME_BALL;
     private final GameType gameType;
-    final private Map<Integer, BallStatus> table;
+    // the ordinal of the status of each ball, indexed by ball number (index 0 is unused)
+    final private byte[] table;
+    // the number of balls with each status, indexed by ordinal, kept current by setBallTo
+    private transient int[] counts;
+    private boolean frozen = false;
 
     TableStatus(int size, int gameBall, GameType gameType) throws InvalidBallException {
         if (gameBall > size)
@@ -42,61 +48,47 @@ final public class TableStatus implements ITableStatus, Serializable {
 
         GAME_BALL = gameBall;
         this.gameType = gameType;
-        table = new HashMap<>(size);
+        table = new byte[size + 1];
+        counts = new int[STATUSES.length];
         setupTable(size, ON_TABLE);
     }
 
-    private TableStatus(int size, int gameBall, GameType gameType, List<Integer> ballsOnTable) throws InvalidBallException {
+    private TableStatus(int size, int gameBall, GameType gameType, BallSet ballsOnTable) throws InvalidBallException {
         if (!ballsOnTable.contains(gameBall))
             throw new InvalidBallException("Game ball (" + gameBall + ") " +
                     "not on table, balls on table:" + ballsOnTable.toString());
 
         this.GAME_BALL = gameBall;
         this.gameType = gameType;
-        table = new HashMap<>(size);
+        table = new byte[size + 1];
+        counts = new int[STATUSES.length];
         setupTable(size, OFF_TABLE);
 
-        for (int ball : ballsOnTable) {
-            table.put(ball, ON_TABLE);
+        for (int ball = ballsOnTable.lowest(); ball != 0; ball = ballsOnTable.next(ball + 1)) {
+            setBallTo(ON_TABLE, ball);
         }
     }
 
+    private TableStatus(TableStatus table) {
+        GAME_BALL = table.GAME_BALL;
+        gameType = table.gameType;
+        this.table = table.table.clone();
+        counts = table.counts.clone();
+        frozen = true;
+    }
+
     /**
-     * Creates a new table of the correct size with all balls on the table
+     * Creates a new table of the correct size with all balls on the table. Straight pool games
+     * get a {@link StraightPoolTableStatus}, which only counts the balls taken off the table
      *
      * @param gameType The type of game this table represents
      *                 {@link GameType}
      * @return A new table with all balls on it
-     * @throws InvalidGameTypeException thrown when
-     *                                  {@link GameType#AMERICAN_ROTATION} or
-     *                                  {@link GameType#STRAIGHT_POOL} is selected because
-     *                                  these games are not yet supported
+     * @throws InvalidGameTypeException thrown when the type of game doesn't have a table yet
+     *                                  (see {@link GameRules#table})
      */
-    public static TableStatus newTable(GameType gameType) throws InvalidGameTypeException {
-        switch (gameType) {
-            case BCA_GHOST_EIGHT_BALL:
-            case APA_EIGHT_BALL:
-            case BCA_EIGHT_BALL:
-            case APA_GHOST_EIGHT_BALL:
-                return new TableStatus(15, 8, gameType);
-            case APA_NINE_BALL:
-            case BCA_NINE_BALL:
-            case APA_GHOST_NINE_BALL:
-            case BCA_GHOST_NINE_BALL:
-                return new TableStatus(9, 9, gameType);
-            case BCA_TEN_BALL:
-            case BCA_GHOST_TEN_BALL:
-                return new TableStatus(10, 10, gameType);
-            case STRAIGHT_POOL:
-            case STRAIGHT_GHOST:
-                return new TableStatus(999, 999, gameType);
-            case EQUAL_DEFENSE:
-                return null; // // TODO: 1/5/2017 implement equal defense here
-            case EQUAL_OFFENSE:
-                return null;// TODO: 1/5/2017 implement equal offense here
-            default:
-                throw new InvalidGameTypeException(gameType.name());
-        }
+    public static ITableStatus newTable(GameType gameType) throws InvalidGameTypeException {
+        return factory(gameType).create(gameType.getRules());
     }
 
     /**
@@ -105,44 +97,40 @@ final public class TableStatus implements ITableStatus, Serializable {
      * @param gameType     The type of game this table represents
      * @param ballsOnTable The balls which you want to remain on the table
      * @return A new table with only the balls in {@param ballsOnTable} on it
-     * @throws InvalidGameTypeException thrown when
-     *                                  {@link GameType#AMERICAN_ROTATION} or
-     *                                  {@link GameType#STRAIGHT_POOL} is selected because
-     *                                  these games are not yet supported
+     * @throws InvalidGameTypeException thrown when the type of game doesn't have a table yet
+     *                                  (see {@link GameRules#table})
      */
-    public static TableStatus newTable(GameType gameType, List<Integer> ballsOnTable) throws InvalidGameTypeException {
-        switch (gameType) {
-            case BCA_GHOST_EIGHT_BALL:
-            case APA_EIGHT_BALL:
-            case BCA_EIGHT_BALL:
-            case APA_GHOST_EIGHT_BALL:
-                return new TableStatus(15, 8, gameType, ballsOnTable);
-            case APA_NINE_BALL:
-            case BCA_NINE_BALL:
-            case APA_GHOST_NINE_BALL:
-            case BCA_GHOST_NINE_BALL:
-                return new TableStatus(9, 9, gameType, ballsOnTable);
-            case BCA_TEN_BALL:
-            case BCA_GHOST_TEN_BALL:
-                return new TableStatus(10, 10, gameType, ballsOnTable);
-            case STRAIGHT_POOL:
-            case STRAIGHT_GHOST:
-                return new TableStatus(999, 999, gameType, ballsOnTable);
-            case EQUAL_DEFENSE:
-                return null; // // TODO: 1/5/2017 implement equal defense here
-            case EQUAL_OFFENSE:
-                return null;// TODO: 1/5/2017 implement equal offense here
-            default:
-                throw new InvalidGameTypeException(gameType.name());
-        }
+    public static ITableStatus newTable(GameType gameType, List<Integer> ballsOnTable) throws InvalidGameTypeException {
+        return newTable(gameType, BallSet.copyOf(ballsOnTable));
+    }
+
+    /**
+     * Creates a new table of the correct size with only the specified balls on it
+     *
+     * @param gameType     The type of game this table represents
+     * @param ballsOnTable The balls which you want to remain on the table
+     * @return A new table with only the balls in {@param ballsOnTable} on it
+     * @throws InvalidGameTypeException thrown when the type of game doesn't have a table yet
+     *                                  (see {@link GameRules#table})
+     */
+    public static ITableStatus newTable(GameType gameType, BallSet ballsOnTable) throws InvalidGameTypeException {
+        return factory(gameType).create(gameType.getRules(), ballsOnTable);
+    }
+
+    private static Factory factory(GameType gameType) throws InvalidGameTypeException {
+        Factory factory = gameType.getRules().table;
+        if (factory == null)
+            throw new InvalidGameTypeException(gameType.name());
+
+        return factory;
     }
 
     @Override
     public List<Integer> getBallsToRemoveFromTable() {
-        List<Integer> ballsOffTable = new ArrayList<>();
+        List<Integer> ballsOffTable = new ArrayList<>(size() - counts[ON_TABLE.ordinal()]);
 
-        for (int ball : table.keySet()) {
-            if (table.get(ball) != ON_TABLE)
+        for (int ball = 1; ball < table.length; ball++) {
+            if (table[ball] != ON_TABLE.ordinal())
                 ballsOffTable.add(ball);
         }
 
@@ -151,9 +139,9 @@ final public class TableStatus implements ITableStatus, Serializable {
 
     @Override
     public List<BallStatus> getBallStatuses() {
-        List<BallStatus> ballStatuses = new ArrayList<>();
+        List<BallStatus> ballStatuses = new ArrayList<>(size());
         for (int i = 1; i <= size(); i++) {
-            ballStatuses.add(table.get(i));
+            ballStatuses.add(STATUSES[table[i]]);
         }
 
         return ballStatuses;
@@ -166,74 +154,77 @@ final public class TableStatus implements ITableStatus, Serializable {
 
     @Override
     public void setBallTo(BallStatus status, int... balls) throws InvalidBallException {
+        if (frozen)
+            throw new UnsupportedOperationException("The table can't be changed once it's part of a turn");
+
         for (int ball : balls) {
-            if (table.get(ball) == null) {
-                throw new InvalidBallException();
-            } else
-                table.put(ball, status);
+            setBall(status, ball);
         }
     }
 
     @Override
     public int getDeadBalls() {
-        return Collections.frequency(table.values(), DEAD)
-                + (table.get(GAME_BALL) == GAME_BALL_MADE_ON_BREAK_THEN_DEAD ? 1 : 0);
+        return count(DEAD)
+                + (gameBallStatus() == GAME_BALL_MADE_ON_BREAK_THEN_DEAD ? 1 : 0);
     }
 
     @Override
     public int getDeadBallsOnBreak() {
-        return Collections.frequency(table.values(), DEAD_ON_BREAK)
-                + (table.get(GAME_BALL) == GAME_BALL_DEAD_ON_BREAK_THEN_MADE ? 1 : 0)
-                + (table.get(GAME_BALL) == GAME_BALL_DEAD_ON_BREAK_THEN_DEAD ? 1 : 0)
-                + (table.get(GAME_BALL) == GAME_BALL_DEAD_ON_BREAK ? 1 : 0);
+        return count(DEAD_ON_BREAK)
+                + (gameBallStatus() == GAME_BALL_DEAD_ON_BREAK_THEN_MADE ? 1 : 0)
+                + (gameBallStatus() == GAME_BALL_DEAD_ON_BREAK_THEN_DEAD ? 1 : 0)
+                + (gameBallStatus() == GAME_BALL_DEAD_ON_BREAK ? 1 : 0);
     }
 
     @Override
     public int getBallsRemaining() {
-        return Collections.frequency(table.values(), ON_TABLE);
+        return count(ON_TABLE);
     }
 
     @Override
     public int getBreakBallsMade() {
-        return Collections.frequency(table.values(), MADE_ON_BREAK)
-                + (table.get(GAME_BALL) == GAME_BALL_MADE_ON_BREAK ? 1 : 0)
-                + (table.get(GAME_BALL) == GAME_BALL_MADE_ON_BREAK_THEN_MADE ? 1 : 0)
-                + (table.get(GAME_BALL) == GAME_BALL_MADE_ON_BREAK_THEN_DEAD ? 1 : 0);
+        return count(MADE_ON_BREAK)
+                + (gameBallStatus() == GAME_BALL_MADE_ON_BREAK ? 1 : 0)
+                + (gameBallStatus() == GAME_BALL_MADE_ON_BREAK_THEN_MADE ? 1 : 0)
+                + (gameBallStatus() == GAME_BALL_MADE_ON_BREAK_THEN_DEAD ? 1 : 0);
     }
 
     @Override
     public int getShootingBallsMade() {
-        return Collections.frequency(table.values(), MADE)
-                + (table.get(GAME_BALL) == GAME_BALL_MADE_ON_BREAK_THEN_MADE ? 1 : 0)
-                + (table.get(GAME_BALL) == GAME_BALL_DEAD_ON_BREAK_THEN_MADE ? 1 : 0);
+        return count(MADE)
+                + (gameBallStatus() == GAME_BALL_MADE_ON_BREAK_THEN_MADE ? 1 : 0)
+                + (gameBallStatus() == GAME_BALL_DEAD_ON_BREAK_THEN_MADE ? 1 : 0);
     }
 
     @Override
     public boolean isGameBallMade() {
-        return table.get(GAME_BALL) == MADE ||
-                table.get(GAME_BALL) == GAME_BALL_MADE_ON_BREAK_THEN_MADE ||
-                table.get(GAME_BALL) == GAME_BALL_DEAD_ON_BREAK_THEN_MADE;
+        BallStatus gameBall = gameBallStatus();
+        return gameBall == MADE ||
+                gameBall == GAME_BALL_MADE_ON_BREAK_THEN_MADE ||
+                gameBall == GAME_BALL_DEAD_ON_BREAK_THEN_MADE;
     }
 
     @Override
     public boolean isGameBallMadeOnBreak() {
-        return table.get(GAME_BALL) == MADE_ON_BREAK
-                || table.get(GAME_BALL) == GAME_BALL_MADE_ON_BREAK
-                || table.get(GAME_BALL) == GAME_BALL_MADE_ON_BREAK_THEN_DEAD
-                || table.get(GAME_BALL) == GAME_BALL_MADE_ON_BREAK_THEN_MADE;
+        BallStatus gameBall = gameBallStatus();
+        return gameBall == MADE_ON_BREAK
+                || gameBall == GAME_BALL_MADE_ON_BREAK
+                || gameBall == GAME_BALL_MADE_ON_BREAK_THEN_DEAD
+                || gameBall == GAME_BALL_MADE_ON_BREAK_THEN_MADE;
     }
 
     @Override
     public boolean isGameBallMadeIllegally() {
-        return table.get(GAME_BALL) == DEAD ||
-                table.get(GAME_BALL) == GAME_BALL_MADE_ON_BREAK_THEN_DEAD ||
-                table.get(GAME_BALL) == GAME_BALL_DEAD_ON_BREAK;
+        BallStatus gameBall = gameBallStatus();
+        return gameBall == DEAD ||
+                gameBall == GAME_BALL_MADE_ON_BREAK_THEN_DEAD ||
+                gameBall == GAME_BALL_DEAD_ON_BREAK;
     }
 
     @Override
     public BallStatus getBallStatus(int ball) throws InvalidBallException {
-        if (table.get(ball) != null)
-            return table.get(ball);
+        if (ball >= 1 && ball < table.length)
+            return STATUSES[table[ball]];
         else throw new InvalidBallException("ball: " + ball);
     }
 
@@ -244,7 +235,68 @@ final public class TableStatus implements ITableStatus, Serializable {
 
     @Override
     public int size() {
-        return table.size();
+        return table.length - 1;
+    }
+
+    /**
+     * Creates a copy of this table that can't be changed
+     *
+     * @return A frozen copy of this table, or this table if it's already frozen
+     */
+    TableStatus freeze() {
+        return frozen ? this : new TableStatus(this);
+    }
+
+    /**
+     * A fingerprint of the status of every ball, equal tables have the same fingerprint
+     *
+     * @return The fingerprint of the table's balls
+     */
+    long fingerprint() {
+        long fingerprint = 0;
+        for (int ball = 1; ball < table.length; ball++)
+            fingerprint = Fingerprints.mix(fingerprint, table[ball]);
+        return fingerprint;
+    }
+
+    /**
+     * Puts the table back to only having the specified balls on it, so the same table can be used
+     * for turn after turn without making a new one each time
+     *
+     * @param ballsOnTable The balls which you want to remain on the table
+     * @throws InvalidBallException if the game ball isn't one of the balls or one of them is out
+     *                              of range
+     */
+    void reset(BallSet ballsOnTable) throws InvalidBallException {
+        if (frozen)
+            throw new UnsupportedOperationException("The table can't be changed once it's part of a turn");
+        if (!ballsOnTable.contains(GAME_BALL))
+            throw new InvalidBallException("Game ball (" + GAME_BALL + ") " +
+                    "not on table, balls on table:" + ballsOnTable.toString());
+
+        Arrays.fill(counts, 0);
+        setupTable(size(), OFF_TABLE);
+
+        for (int ball = ballsOnTable.lowest(); ball != 0; ball = ballsOnTable.next(ball + 1)) {
+            setBall(ON_TABLE, ball);
+        }
+    }
+
+    private void setBall(BallStatus status, int ball) throws InvalidBallException {
+        if (ball < 1 || ball >= table.length)
+            throw new InvalidBallException();
+
+        counts[table[ball]]--;
+        counts[status.ordinal()]++;
+        table[ball] = (byte) status.ordinal();
+    }
+
+    private int count(BallStatus status) {
+        return counts[status.ordinal()];
+    }
+
+    private BallStatus gameBallStatus() {
+        return STATUSES[table[GAME_BALL]];
     }
 
     /**
@@ -254,14 +306,23 @@ final public class TableStatus implements ITableStatus, Serializable {
      * @param statusOfBalls The status of all the balls you are putting on the table
      */
     private void setupTable(int size, BallStatus statusOfBalls) {
-        for (int i = 1; i <= size; i++) {
-            table.put(i, statusOfBalls);
-        }
+        Arrays.fill(table, 1, size + 1, (byte) statusOfBalls.ordinal());
+        counts[statusOfBalls.ordinal()] = size;
     }
 
+    /**
+     * Recounts the number of balls with each status, the counts aren't serialized
+     */
+    private void countBalls() {
+        counts = new int[STATUSES.length];
+        for (int ball = 1; ball < table.length; ball++) {
+            counts[table[ball]]++;
+        }
+    }
 
     private void readObject(ObjectInputStream inputStream) throws ClassNotFoundException, IOException {
         inputStream.defaultReadObject();
+        countBalls();
     }
 
     private void writeObject(ObjectOutputStream outputStream) throws IOException {
@@ -277,7 +338,7 @@ final public class TableStatus implements ITableStatus, Serializable {
 
         if (GAME_BALL != that.GAME_BALL) return false;
         if (gameType != that.gameType) return false;
-        return table.equals(that.table);
+        return Arrays.equals(table, that.table);
 
     }
 
@@ -285,7 +346,40 @@ final public class TableStatus implements ITableStatus, Serializable {
     public int hashCode() {
         int result = GAME_BALL;
         result = 31 * result + gameType.hashCode();
-        result = 31 * result + table.hashCode();
+        result = 31 * result + Arrays.hashCode(table);
         return result;
     }
+
+    /**
+     * Makes the right kind of table for a type of game, see
+     * {@link com.brookmanholmes.bma.domain.model.game.GameRules#table}
+     */
+    public enum Factory {
+        STANDARD {
+            @Override
+            ITableStatus create(GameRules rules) {
+                return new TableStatus(rules.maxBalls, rules.gameBall, rules.gameType);
+            }
+
+            @Override
+            ITableStatus create(GameRules rules, BallSet ballsOnTable) {
+                return new TableStatus(rules.maxBalls, rules.gameBall, rules.gameType, ballsOnTable);
+            }
+        },
+        STRAIGHT_POOL {
+            @Override
+            ITableStatus create(GameRules rules) {
+                return new StraightPoolTableStatus(rules.maxBalls, rules.gameBall, rules.gameType);
+            }
+
+            @Override
+            ITableStatus create(GameRules rules, BallSet ballsOnTable) {
+                return new StraightPoolTableStatus(rules.maxBalls, rules.gameBall, rules.gameType, ballsOnTable);
+            }
+        };
+
+        abstract ITableStatus create(GameRules rules);
+
+        abstract ITableStatus create(GameRules rules, BallSet ballsOnTable);
+    }
 }
@@ -1,10 +1,11 @@
 package com.brookmanholmes.bma.domain.model.turn;
 
+import com.brookmanholmes.bma.domain.model.game.BallSet;
 import com.brookmanholmes.bma.domain.model.game.BallStatus;
 import com.brookmanholmes.bma.domain.model.game.GameType;
 
 import java.io.Serializable;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -17,32 +18,127 @@ public class Turn implements ITurn, Serializable {
     private final boolean seriousFoul;
     private final AdvStats advStats;
 
+    // summary of the table, worked out once when the turn is created
+    private final int shootingBallsMade;
+    private final int deadBalls;
+    private final int deadBallsOnBreak;
+    private final int breakBallsMade;
+    private final int ballsRemaining;
+    private final boolean gameBallMade;
+    private final boolean gameBallMadeOnBreak;
+    private final boolean gameBallMadeIllegally;
+    private final List<Integer> ballsToRemove;
+    private final int size;
+    private final int gameBall;
+    private final GameType gameType;
+    private final long fingerprint;
+    private transient List<BallStatus> ballStatuses;
+
+    /**
+     * Creates a new turn. The table is copied and frozen, so changing the table passed in
+     * afterwards (for example by reusing a {@link TurnBuilder}) doesn't change this turn
+     *
+     * @param turnEnd       How the turn ended
+     * @param tableStatus   The status of the table at the end of the turn
+     * @param foul          Whether the player fouled
+     * @param isSeriousFoul Whether the player committed a serious foul
+     * @param advStats      The advanced stats for the turn
+     */
     public Turn(TurnEnd turnEnd, ITableStatus tableStatus, boolean foul, boolean isSeriousFoul, AdvStats advStats) {
         this.foul = foul;
         this.turnEnd = turnEnd;
-        this.tableStatus = tableStatus;
+        this.tableStatus = freeze(tableStatus);
         this.seriousFoul = isSeriousFoul;
         this.advStats = advStats;
+
+        shootingBallsMade = this.tableStatus.getShootingBallsMade();
+        deadBalls = this.tableStatus.getDeadBalls();
+        deadBallsOnBreak = this.tableStatus.getDeadBallsOnBreak();
+        breakBallsMade = this.tableStatus.getBreakBallsMade();
+        ballsRemaining = this.tableStatus.getBallsRemaining();
+        gameBallMade = this.tableStatus.isGameBallMade();
+        gameBallMadeOnBreak = this.tableStatus.isGameBallMadeOnBreak();
+        gameBallMadeIllegally = this.tableStatus.isGameBallMadeIllegally();
+        ballsToRemove = BallSet.copyOf(this.tableStatus.getBallsToRemoveFromTable()).asList();
+        size = this.tableStatus.size();
+        gameBall = this.tableStatus.getGameBall();
+        gameType = this.tableStatus.getGameType();
+        fingerprint = fingerprint();
+    }
+
+    private long fingerprint() {
+        long fingerprint = Fingerprints.mix(0, gameType.ordinal());
+        fingerprint = Fingerprints.mix(fingerprint, size);
+        fingerprint = Fingerprints.mix(fingerprint, fingerprint(tableStatus));
+        fingerprint = Fingerprints.mix(fingerprint, turnEnd.ordinal());
+        fingerprint = Fingerprints.mix(fingerprint, (foul ? 1 : 0) | (seriousFoul ? 2 : 0));
+        return Fingerprints.mix(fingerprint, advStats == null ? 0 : advStats.getFingerprint());
+    }
+
+    /**
+     * Fingerprints the status of every ball on a table. Tables created by
+     * {@link TableStatus#newTable(GameType)} work it out from what they keep, so a straight pool
+     * table only looks at the balls that are off it instead of all 999
+     *
+     * @param tableStatus The table to fingerprint
+     * @return The fingerprint of the table's balls
+     */
+    private static long fingerprint(ITableStatus tableStatus) {
+        if (tableStatus instanceof TableStatus)
+            return ((TableStatus) tableStatus).fingerprint();
+        else if (tableStatus instanceof StraightPoolTableStatus)
+            return ((StraightPoolTableStatus) tableStatus).fingerprint();
+
+        long fingerprint = 0;
+        for (int ball = 1; ball <= tableStatus.size(); ball++)
+            fingerprint = Fingerprints.mix(fingerprint, tableStatus.getBallStatus(ball).ordinal());
+        return fingerprint;
+    }
+
+    /**
+     * A 64 bit fingerprint of the turn worked out when it was created. Equal turns always have
+     * the same fingerprint, so turns with different fingerprints can be told apart without
+     * comparing their tables and advanced stats
+     *
+     * @return The fingerprint of the turn
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Makes a copy of a table that can't be changed. Tables that aren't created by
+     * {@link TableStatus#newTable(GameType)} can't be copied and are kept as they are
+     *
+     * @param tableStatus The table to freeze
+     * @return A table that can't be changed
+     */
+    private static ITableStatus freeze(ITableStatus tableStatus) {
+        if (tableStatus instanceof TableStatus)
+            return ((TableStatus) tableStatus).freeze();
+        else if (tableStatus instanceof StraightPoolTableStatus)
+            return ((StraightPoolTableStatus) tableStatus).freeze();
+        else return tableStatus;
     }
 
     @Override
     public int getShootingBallsMade() {
-        return tableStatus.getShootingBallsMade();
+        return shootingBallsMade;
     }
 
     @Override
     public int getDeadBalls() {
-        return tableStatus.getDeadBalls();
+        return deadBalls;
     }
 
     @Override
     public int getDeadBallsOnBreak() {
-        return tableStatus.getDeadBallsOnBreak();
+        return deadBallsOnBreak;
     }
 
     @Override
     public int getBreakBallsMade() {
-        return tableStatus.getBreakBallsMade();
+        return breakBallsMade;
     }
 
     @Override
@@ -52,7 +148,7 @@ public class Turn implements ITurn, Serializable {
 
     @Override
     public List<Integer> getBallsToRemoveFromTable() {
-        return tableStatus.getBallsToRemoveFromTable();
+        return ballsToRemove;
     }
 
     @Override
@@ -62,17 +158,17 @@ public class Turn implements ITurn, Serializable {
 
     @Override
     public boolean isGameBallMadeOnBreak() {
-        return tableStatus.isGameBallMadeOnBreak();
+        return gameBallMadeOnBreak;
     }
 
     @Override
     public boolean isGameBallMade() {
-        return tableStatus.isGameBallMade();
+        return gameBallMade;
     }
 
     @Override
     public int getBallsRemaining() {
-        return tableStatus.getBallsRemaining();
+        return ballsRemaining;
     }
 
     @Override
@@ -82,13 +178,17 @@ public class Turn implements ITurn, Serializable {
 
     @Override
     public boolean isGameBallMadeIllegally() {
-        return tableStatus.isGameBallMadeIllegally();
+        return gameBallMadeIllegally;
     }
 
-    // TODO: 8/26/2016 add test for this method
+    /**
+     * Turns can't be changed once they're created
+     *
+     * @throws UnsupportedOperationException always
+     */
     @Override
     public void setBallTo(BallStatus status, int... balls) {
-        tableStatus.setBallTo(status, balls);
+        throw new UnsupportedOperationException("The table can't be changed once it's part of a turn");
     }
 
     @Override
@@ -98,16 +198,13 @@ public class Turn implements ITurn, Serializable {
 
     @Override
     public boolean isGameLost() {
-        return tableStatus.getGameType() != GameType.STRAIGHT_POOL && seriousFoul;
+        return gameType != GameType.STRAIGHT_POOL && seriousFoul;
     }
 
     @Override
     public List<BallStatus> getBallStatuses() {
-        List<BallStatus> ballStatuses = new ArrayList<>();
-
-        for (int ball = 1; ball <= tableStatus.size(); ball++) {
-            ballStatuses.add(tableStatus.getBallStatus(ball));
-        }
+        if (ballStatuses == null)
+            ballStatuses = Collections.unmodifiableList(tableStatus.getBallStatuses());
 
         return ballStatuses;
     }
@@ -119,17 +216,17 @@ public class Turn implements ITurn, Serializable {
 
     @Override
     public int size() {
-        return tableStatus.size();
+        return size;
     }
 
     @Override
     public GameType getGameType() {
-        return tableStatus.getGameType();
+        return gameType;
     }
 
     @Override
     public int getGameBall() {
-        return tableStatus.getGameBall();
+        return gameBall;
     }
 
 
@@ -151,21 +248,17 @@ public class Turn implements ITurn, Serializable {
 
         Turn turn = (Turn) o;
 
+        if (fingerprint != turn.fingerprint) return false;
         if (foul != turn.foul) return false;
         if (seriousFoul != turn.seriousFoul) return false;
         if (!tableStatus.equals(turn.tableStatus)) return false;
         if (turnEnd != turn.turnEnd) return false;
-        return advStats.equals(turn.advStats);
+        return advStats != null ? advStats.equals(turn.advStats) : turn.advStats == null;
 
     }
 
     @Override
     public int hashCode() {
-        int result = tableStatus.hashCode();
-        result = 31 * result + turnEnd.hashCode();
-        result = 31 * result + (foul ? 1 : 0);
-        result = 31 * result + (seriousFoul ? 1 : 0);
-        result = 31 * result + advStats.hashCode();
-        return result;
+        return (int) (fingerprint ^ (fingerprint >>> 32));
     }
 }
@@ -1,15 +1,24 @@
 package com.brookmanholmes.bma.domain.model.turn;
 
+import com.brookmanholmes.bma.domain.model.game.BallSet;
 import com.brookmanholmes.bma.domain.model.game.BallStatus;
 import com.brookmanholmes.bma.domain.model.game.GameType;
 
 /**
  * Created by Brookman Holmes on 11/8/2015.
  * A helper class that creates a turn with chaining methods for convenience
+ * <p></p>
+ * A builder can be used for turn after turn: the turn it creates gets its own copy of the table,
+ * and {@link #reset(BallSet)} puts the builder's table back without making a new one, so entering
+ * turns only makes a new object when the turn is created
  */
 public class TurnBuilder {
     private final int GAME_BALL;
     private final ITableStatus status;
+    // the balls on the table when the builder is reset without any balls
+    private final BallSet allBalls;
+    // the ball being set by setBallTo, so setting one ball doesn't make an array each time
+    private final int[] ball = new int[1];
     private boolean foul = false;
     private boolean seriousFoul = false;
     private AdvStats advStats = null;
@@ -21,25 +30,102 @@ public class TurnBuilder {
      */
     public TurnBuilder(GameType gameType) {
         status = TableStatus.newTable(gameType);
-        switch (gameType) {
-            case APA_EIGHT_BALL:
-                GAME_BALL = 8;
-                break;
-            case BCA_EIGHT_BALL:
-                GAME_BALL = 8;
-                break;
-            case APA_NINE_BALL:
-                GAME_BALL = 9;
-                break;
-            case BCA_NINE_BALL:
-                GAME_BALL = 9;
-                break;
-            case BCA_TEN_BALL:
-                GAME_BALL = 10;
-                break;
-            default:
-                GAME_BALL = 15;
+        GAME_BALL = gameType.getGameBall();
+        allBalls = BallSet.full(gameType.getMaxBalls());
+    }
+
+    /**
+     * Creates a builder for creating a new turn to add to a match, starting with only some of the
+     * balls on the table
+     *
+     * @param gameType     The type of game that this turn is being added to
+     * @param ballsOnTable The balls that are on the table at the start of the turn
+     */
+    public TurnBuilder(GameType gameType, BallSet ballsOnTable) {
+        status = TableStatus.newTable(gameType, ballsOnTable);
+        GAME_BALL = gameType.getGameBall();
+        allBalls = BallSet.full(gameType.getMaxBalls());
+    }
+
+    /**
+     * Starts a new turn with all of the balls on the table, nothing fouled and no advanced stats
+     *
+     * @return This instance of {@link com.brookmanholmes.bma.domain.model.turn.TurnBuilder} for chaining purposes
+     */
+    public TurnBuilder reset() {
+        return reset(allBalls);
+    }
+
+    /**
+     * Starts a new turn with only some of the balls on the table, nothing fouled and no advanced
+     * stats. The table is changed in place, turns that were already created keep theirs
+     *
+     * @param ballsOnTable The balls that are on the table at the start of the turn
+     * @return This instance of {@link com.brookmanholmes.bma.domain.model.turn.TurnBuilder} for chaining purposes
+     */
+    public TurnBuilder reset(BallSet ballsOnTable) {
+        if (status instanceof StraightPoolTableStatus)
+            ((StraightPoolTableStatus) status).reset(ballsOnTable);
+        else ((TableStatus) status).reset(ballsOnTable);
+
+        foul = false;
+        seriousFoul = false;
+        advStats = null;
+        return this;
+    }
+
+    /**
+     * Sets the status of a ball
+     *
+     * @param status The status that you want to set the ball to
+     * @param ball   The ball to set to that status
+     * @return This instance of {@link com.brookmanholmes.bma.domain.model.turn.TurnBuilder} for chaining purposes
+     */
+    public TurnBuilder setBallTo(BallStatus status, int ball) {
+        this.ball[0] = ball;
+        this.status.setBallTo(status, this.ball);
+        return this;
+    }
+
+    /**
+     * Sets the status of the balls in a bit mask, where bit n is ball n, so a whole rack can be
+     * set at once. Only balls 1 to 63 fit, use {@link #setBallsTo(BallStatus, BallSet)} for more
+     *
+     * @param status The status that you want to set the balls to
+     * @param balls  The bit mask of the balls to set to that status
+     * @return This instance of {@link com.brookmanholmes.bma.domain.model.turn.TurnBuilder} for chaining purposes
+     */
+    public TurnBuilder setBallsTo(BallStatus status, long balls) {
+        for (long remaining = balls; remaining != 0; remaining &= remaining - 1) {
+            setBallTo(status, Long.numberOfTrailingZeros(remaining));
+        }
+
+        return this;
+    }
+
+    /**
+     * Sets the status of balls
+     *
+     * @param status The status that you want to set the balls to
+     * @param balls  The balls to set to that status
+     * @return This instance of {@link com.brookmanholmes.bma.domain.model.turn.TurnBuilder} for chaining purposes
+     */
+    public TurnBuilder setBallsTo(BallStatus status, BallSet balls) {
+        for (int ball = balls.lowest(); ball != 0; ball = balls.next(ball + 1)) {
+            setBallTo(status, ball);
         }
+
+        return this;
+    }
+
+    /**
+     * Getter for the table as it is now, for working out the turn end options while the turn is
+     * being entered. The table changes with the builder, so it shouldn't be kept
+     *
+     * @return The builder's table
+     */
+    public ITableStatus getTableStatus() {
+        return status;
     }
 
     /**
@@ -81,8 +167,7 @@ public class TurnBuilder {
      * @return This instance of {@link com.brookmanholmes.bma.domain.model.turn.TurnBuilder} for chaining purposes
      */
     public TurnBuilder gameBallMadeOnBreakAndThenMade() {
-        status.setBallTo(BallStatus.GAME_BALL_MADE_ON_BREAK_THEN_MADE, GAME_BALL);
-        return this;
+        return setBallTo(BallStatus.GAME_BALL_MADE_ON_BREAK_THEN_MADE, GAME_BALL);
     }
 
     /**
@@ -91,8 +176,7 @@ public class TurnBuilder {
      * @return This instance of {@link com.brookmanholmes.bma.domain.model.turn.TurnBuilder} for chaining purposes
      */
     public TurnBuilder gameBallMadeOnBreakAndThenDead() {
-        status.setBallTo(BallStatus.GAME_BALL_MADE_ON_BREAK_THEN_DEAD, GAME_BALL);
-        return this;
+        return setBallTo(BallStatus.GAME_BALL_MADE_ON_BREAK_THEN_DEAD, GAME_BALL);
     }
 
     /**
@@ -146,7 +230,7 @@ public class TurnBuilder {
      * @return A new instance of {@link com.brookmanholmes.bma.domain.model.turn.ITurn}
      */
     public ITurn miss() {
-        return new Turn(TurnEnd.MISS, status, foul, seriousFoul, advStats);
+        return build(TurnEnd.MISS);
     }
 
     /**
@@ -156,7 +240,7 @@ public class TurnBuilder {
      * @return A new instance of {@link com.brookmanholmes.bma.domain.model.turn.ITurn}
      */
     public ITurn win() {
-        return new Turn(TurnEnd.GAME_WON, status, foul, seriousFoul, advStats);
+        return build(TurnEnd.GAME_WON);
     }
 
     /**
@@ -178,7 +262,7 @@ public class TurnBuilder {
      * @return A new instance of {@link com.brookmanholmes.bma.domain.model.turn.ITurn}
      */
     public ITurn safety() {
-        return new Turn(TurnEnd.SAFETY, status, foul, seriousFoul, advStats);
+        return build(TurnEnd.SAFETY);
     }
 
     /**
@@ -188,7 +272,7 @@ public class TurnBuilder {
      * @return A new instance of {@link com.brookmanholmes.bma.domain.model.turn.ITurn}
      */
     public ITurn safetyMiss() {
-        return new Turn(TurnEnd.SAFETY_ERROR, status, foul, seriousFoul, advStats);
+        return build(TurnEnd.SAFETY_ERROR);
     }
 
     /**
@@ -198,7 +282,7 @@ public class TurnBuilder {
      * @return A new instance of {@link com.brookmanholmes.bma.domain.model.turn.ITurn}
      */
     public ITurn breakMiss() {
-        return new Turn(TurnEnd.BREAK_MISS, status, foul, seriousFoul, advStats);
+        return build(TurnEnd.BREAK_MISS);
     }
 
     /**
@@ -208,7 +292,7 @@ public class TurnBuilder {
      * @return A new instance of {@link com.brookmanholmes.bma.domain.model.turn.ITurn}
      */
     public ITurn push() {
-        return new Turn(TurnEnd.PUSH_SHOT, status, foul, seriousFoul, advStats);
+        return build(TurnEnd.PUSH_SHOT);
     }
 
     /**
@@ -218,7 +302,7 @@ public class TurnBuilder {
      * @return A new instance of {@link com.brookmanholmes.bma.domain.model.turn.ITurn}
      */
     public ITurn skipTurn() {
-        return new Turn(TurnEnd.SKIP_TURN, status, foul, seriousFoul, advStats);
+        return build(TurnEnd.SKIP_TURN);
     }
 
     /**
@@ -228,7 +312,7 @@ public class TurnBuilder {
      * @return A new instance of {@link com.brookmanholmes.bma.domain.model.turn.ITurn}
      */
     public ITurn continueGame() {
-        return new Turn(TurnEnd.CONTINUE_WITH_GAME, status, foul, seriousFoul, advStats);
+        return build(TurnEnd.CONTINUE_WITH_GAME);
     }
 
     /**
@@ -238,7 +322,7 @@ public class TurnBuilder {
      * @return A new instance of {@link com.brookmanholmes.bma.domain.model.turn.ITurn}
      */
     public ITurn currentPlayerBreaks() {
-        return new Turn(TurnEnd.CURRENT_PLAYER_BREAKS_AGAIN, status, foul, seriousFoul, advStats);
+        return build(TurnEnd.CURRENT_PLAYER_BREAKS_AGAIN);
     }
 
     /**
@@ -248,6 +332,17 @@ public class TurnBuilder {
      * @return A new instance of {@link com.brookmanholmes.bma.domain.model.turn.ITurn}
      */
     public ITurn opposingPlayerBreaks() {
-        return new Turn(TurnEnd.OPPONENT_BREAKS_AGAIN, status, foul, seriousFoul, advStats);
+        return build(TurnEnd.OPPONENT_BREAKS_AGAIN);
+    }
+
+    /**
+     * Creates a new turn with the arguments supplied to this builder. The turn gets its own copy
+     * of the table, so the builder can be changed or reset for the next turn afterwards
+     *
+     * @param turnEnd How the turn ended
+     * @return A new instance of {@link com.brookmanholmes.bma.domain.model.turn.ITurn}
+     */
+    public ITurn build(TurnEnd turnEnd) {
+        return new Turn(turnEnd, status, foul, seriousFoul, advStats);
     }
 }
@@ -1,6 +1,8 @@
 package com.brookmanholmes.bma.domain.model.turn;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 
 /**
@@ -11,7 +13,9 @@ import java.util.List;
 // TODO: 9/13/2016 add in tests for foul, lostgame, nofoul getters
 public class TurnEndOptions {
     public final TurnEnd defaultCheck;
-    public final List<TurnEnd> possibleEndings = new ArrayList<>();
+    // can't be changed, options are shared between every game and table that have the same ones
+    public final List<TurnEnd> possibleEndings;
+    private final EnumSet<TurnEnd> endings;
     private final boolean foul;
     private final boolean lostGame;
     private final boolean noFoul;
@@ -24,7 +28,8 @@ public class TurnEndOptions {
      * @param builder
      */
     private TurnEndOptions(Builder builder) {
-        possibleEndings.addAll(builder.turnEnds);
+        possibleEndings = Collections.unmodifiableList(new ArrayList<>(builder.turnEnds));
+        endings = builder.turnEnds.isEmpty() ? EnumSet.noneOf(TurnEnd.class) : EnumSet.copyOf(builder.turnEnds);
         defaultCheck = builder.checked;
         noFoul = !builder.foul;
         foul = builder.foul;
@@ -32,6 +37,16 @@ public class TurnEndOptions {
         reallyLostGame = builder.reallyLostGame;
     }
 
+    /**
+     * Determines whether a turn can end a certain way, without searching the list of endings
+     *
+     * @param turnEnd The way the turn ended
+     * @return True if the turn end is the default or one of the possible endings, false otherwise
+     */
+    public boolean isPossible(TurnEnd turnEnd) {
+        return turnEnd == defaultCheck || endings.contains(turnEnd);
+    }
+
     public boolean isFoul() {
         return foul;
     }
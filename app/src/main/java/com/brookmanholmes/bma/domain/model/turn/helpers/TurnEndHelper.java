@@ -4,7 +4,6 @@ import com.brookmanholmes.bma.domain.model.game.GameStatus;
 import com.brookmanholmes.bma.domain.model.game.GameType;
 import com.brookmanholmes.bma.domain.model.game.InvalidGameTypeException;
 import com.brookmanholmes.bma.domain.model.turn.ITableStatus;
-import com.brookmanholmes.bma.domain.model.turn.TableStatus;
 import com.brookmanholmes.bma.domain.model.turn.TurnEnd;
 import com.brookmanholmes.bma.domain.model.turn.TurnEndOptions;
 
@@ -39,40 +38,15 @@ public abstract class TurnEndHelper {
      * @param tableStatus The status of the table that you want a new
      *                    {@link com.brookmanholmes.bma.domain.model.turn.TurnEndOptions} for
      * @return A new TurnEndHelper of the correct subclass
-     * @throws InvalidGameTypeException when provided with
-     *                                  {@link GameType#AMERICAN_ROTATION} or
-     *                                  {@link GameType#STRAIGHT_POOL} because those games
-     *                                  are not yet supported
+     * @throws InvalidGameTypeException when the type of game doesn't have a turn end helper
+     *                                  yet (see {@link com.brookmanholmes.bma.domain.model.game.GameRules#turnEndHelper})
      */
     static TurnEndHelper create(GameStatus game, ITableStatus tableStatus) throws InvalidGameTypeException {
-        switch (game.gameType) {
-            case APA_EIGHT_BALL:
-                return new ApaEightBallTurnEndHelper(game, tableStatus);
-            case APA_NINE_BALL:
-                return new RotationTurnEndHelper(game, tableStatus);
-            case BCA_EIGHT_BALL:
-                return new EightBallTurnEndHelper(game, tableStatus);
-            case BCA_NINE_BALL:
-                return new RotationTurnEndHelper(game, tableStatus);
-            case BCA_TEN_BALL:
-                return new TenBallTurnEndHelper(game, tableStatus);
-            case BCA_GHOST_EIGHT_BALL:
-                return new GhostEightBallTurnEndHelper(game, tableStatus);
-            case BCA_GHOST_NINE_BALL:
-                return new GhostTurnEndHelper(game, tableStatus);
-            case BCA_GHOST_TEN_BALL:
-                return new GhostTurnEndHelper(game, tableStatus);
-            case APA_GHOST_EIGHT_BALL:
-                return new ApaGhostEightBallTurnEndHelper(game, tableStatus);
-            case APA_GHOST_NINE_BALL:
-                return new ApaGhostNineBallTurnEndHelper(game, tableStatus);
-            case STRAIGHT_POOL:
-                return new StraightPoolTurnEndHelper(game, tableStatus);
-            case STRAIGHT_GHOST:
-                return new GhostTurnEndHelper(game, tableStatus);
-            default:
-                throw new InvalidGameTypeException();
-        }
+        Factory factory = game.gameType.getRules().turnEndHelper;
+        if (factory == null)
+            throw new InvalidGameTypeException(game.gameType.name());
+
+        return factory.create(game, tableStatus);
     }
 
     /**
@@ -82,11 +56,11 @@ public abstract class TurnEndHelper {
      *
      * @param game        The current status of the game
      * @param tableStatus The status of the table for the next turn
-     * @return A new {@link com.brookmanholmes.bma.domain.model.turn.TurnEndOptions} object
+     * @return A {@link com.brookmanholmes.bma.domain.model.turn.TurnEndOptions} object, which is
+     * shared with any game and table that have the same options (see {@link TurnEndOptionsCache})
      */
     public static TurnEndOptions getTurnEndOptions(GameStatus game, ITableStatus tableStatus) {
-        TurnEndHelper turnEndHelper = create(game, tableStatus);
-        return turnEndHelper.getTurnEndOptions();
+        return TurnEndOptionsCache.get(game, tableStatus);
     }
 
     /**
@@ -95,11 +69,11 @@ public abstract class TurnEndHelper {
      * for the next turn
      *
      * @param game The current status of the game
-     * @return A new {@link com.brookmanholmes.bma.domain.model.turn.TurnEndOptions} object
+     * @return A {@link com.brookmanholmes.bma.domain.model.turn.TurnEndOptions} object, which is
+     * shared with any game and table that have the same options (see {@link TurnEndOptionsCache})
      */
     public static TurnEndOptions getTurnEndOptions(GameStatus game) {
-        TurnEndHelper turnEndHelper = create(game, TableStatus.newTable(game.gameType, game.ballsOnTable));
-        return turnEndHelper.getTurnEndOptions();
+        return TurnEndOptionsCache.get(game);
     }
 
     /**
@@ -246,4 +220,67 @@ public abstract class TurnEndHelper {
                 tableStatus.getShootingBallsMade() == 0 &&
                 tableStatus.getDeadBalls() == 0;
     }
+
+    /**
+     * Makes the right subclass of turn end helper for a type of game, see
+     * {@link com.brookmanholmes.bma.domain.model.game.GameRules#turnEndHelper}
+     */
+    public enum Factory {
+        EIGHT_BALL {
+            @Override
+            TurnEndHelper create(GameStatus game, ITableStatus tableStatus) {
+                return new EightBallTurnEndHelper(game, tableStatus);
+            }
+        },
+        APA_EIGHT_BALL {
+            @Override
+            TurnEndHelper create(GameStatus game, ITableStatus tableStatus) {
+                return new ApaEightBallTurnEndHelper(game, tableStatus);
+            }
+        },
+        ROTATION {
+            @Override
+            TurnEndHelper create(GameStatus game, ITableStatus tableStatus) {
+                return new RotationTurnEndHelper(game, tableStatus);
+            }
+        },
+        TEN_BALL {
+            @Override
+            TurnEndHelper create(GameStatus game, ITableStatus tableStatus) {
+                return new TenBallTurnEndHelper(game, tableStatus);
+            }
+        },
+        GHOST {
+            @Override
+            TurnEndHelper create(GameStatus game, ITableStatus tableStatus) {
+                return new GhostTurnEndHelper(game, tableStatus);
+            }
+        },
+        GHOST_EIGHT_BALL {
+            @Override
+            TurnEndHelper create(GameStatus game, ITableStatus tableStatus) {
+                return new GhostEightBallTurnEndHelper(game, tableStatus);
+            }
+        },
+        APA_GHOST_EIGHT_BALL {
+            @Override
+            TurnEndHelper create(GameStatus game, ITableStatus tableStatus) {
+                return new ApaGhostEightBallTurnEndHelper(game, tableStatus);
+            }
+        },
+        APA_GHOST_NINE_BALL {
+            @Override
+            TurnEndHelper create(GameStatus game, ITableStatus tableStatus) {
+                return new ApaGhostNineBallTurnEndHelper(game, tableStatus);
+            }
+        },
+        STRAIGHT_POOL {
+            @Override
+            TurnEndHelper create(GameStatus game, ITableStatus tableStatus) {
+                return new StraightPoolTurnEndHelper(game, tableStatus);
+            }
+        };
+
+        abstract TurnEndHelper create(GameStatus game, ITableStatus tableStatus);
+    }
 }
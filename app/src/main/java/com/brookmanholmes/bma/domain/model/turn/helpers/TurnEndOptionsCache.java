@@ -0,0 +1,307 @@
+package com.brookmanholmes.bma.domain.model.turn.helpers;
+
+import com.brookmanholmes.bma.domain.model.game.BallSet;
+import com.brookmanholmes.bma.domain.model.game.BallStatus;
+import com.brookmanholmes.bma.domain.model.game.GameStatus;
+import com.brookmanholmes.bma.domain.model.game.GameType;
+import com.brookmanholmes.bma.domain.model.turn.ITableStatus;
+import com.brookmanholmes.bma.domain.model.turn.TableStatus;
+import com.brookmanholmes.bma.domain.model.turn.TurnEndOptions;
+
+import java.util.Arrays;
+
+/**
+ * Decision tables of turn end options. The helpers only ever look at a handful of things about
+ * the game and the table (is a foul possible, were any balls made on the break, is the game ball
+ * made, ...), so those are packed into the bits of an int and each game type has a table of the
+ * keys it has seen. An entry is worked out by a {@link TurnEndHelper} the first time its key is
+ * seen, after that getting the options is working out the key and looking it up
+ * <p></p>
+ * Most combinations of the bits can't happen in a game, so the tables only have room for the
+ * keys that are seen, which is a few hundred at most. There are only a few different options for
+ * each game type, so the table keeps each one once and the entries are indexes into them. Turn end options can't be changed, so the same options
+ * are handed out for every game and table with the same key. The helpers stay the rules, the
+ * tables only remember what they said
+ */
+final class TurnEndOptionsCache {
+    // the bits of a key, the game type ordinal is in the bits below GAME_BITS and isn't part of
+    // the index into a game type's table
+    private static final int GAME_BITS = 5;
+    private static final int ALLOWED_TO_BREAK_AGAIN = GAME_BITS;
+    private static final int NEW_GAME = GAME_BITS + 1;
+    private static final int ALLOW_PUSH = GAME_BITS + 2;
+    private static final int ALLOW_TURN_SKIP = GAME_BITS + 3;
+    private static final int TWO_FOULS = GAME_BITS + 4;
+    private static final int BREAK_BALLS_MADE = GAME_BITS + 5;
+    private static final int SHOOTING_BALLS_MADE = GAME_BITS + 6;
+    private static final int DEAD_BALLS = GAME_BITS + 7;
+    private static final int DEAD_BALLS_ON_BREAK = GAME_BITS + 8;
+    private static final int GAME_BALL_MADE_ON_BREAK = GAME_BITS + 9;
+    private static final int GAME_BALL_MADE = GAME_BITS + 10;
+    private static final int GAME_BALL_MADE_ILLEGALLY = GAME_BITS + 11;
+    private static final int NO_BALLS_REMAINING = GAME_BITS + 12;
+    // only set for 8 ball, the rest of the games don't look at them
+    private static final int EIGHT_BALL_BITS = GAME_BITS + 13;
+    // two bits, one more than the highest color ordinal means there's no color
+    private static final int COLOR = EIGHT_BALL_BITS;
+    private static final int EIGHT_DEAD_ON_BREAK = EIGHT_BALL_BITS + 2;
+    private static final int NO_SOLIDS_REMAINING = EIGHT_BALL_BITS + 3;
+    private static final int NO_STRIPES_REMAINING = EIGHT_BALL_BITS + 4;
+
+    // one table for each game type, made when the class is initialized so every thread sees the
+    // whole table without taking a lock
+    private static final Table[] tables = new Table[GameType.values().length];
+
+    static {
+        for (int i = 0; i < tables.length; i++)
+            tables[i] = new Table();
+    }
+
+    private TurnEndOptionsCache() {
+    }
+
+    /**
+     * Getter for the turn end options of a game and table
+     *
+     * @param game        The current status of the game
+     * @param tableStatus The status of the table for the next turn
+     * @return The turn end options, which may be shared with other callers
+     */
+    static TurnEndOptions get(GameStatus game, ITableStatus tableStatus) {
+        Table table = table(game.gameType);
+        int key = key(game, tableStatus);
+        TurnEndOptions options = table.get(key);
+        return options == null ? table.put(key, game, tableStatus) : options;
+    }
+
+    /**
+     * Getter for the turn end options of a game before any balls have been entered, the table
+     * is only made if the options haven't been worked out yet
+     *
+     * @param game The current status of the game
+     * @return The turn end options, which may be shared with other callers
+     */
+    static TurnEndOptions get(GameStatus game) {
+        Table table = table(game.gameType);
+        int key = key(game);
+        TurnEndOptions options = key == -1 ? null : table.get(key);
+        if (options == null) {
+            ITableStatus tableStatus = TableStatus.newTable(game.gameType, game.ballSet);
+            options = table.put(key(game, tableStatus), game, tableStatus);
+        }
+
+        return options;
+    }
+
+    /**
+     * Packs everything that the helpers use to work out the turn end options into an int, a game
+     * and table with the same key always have the same options
+     *
+     * @param game        The current status of the game
+     * @param tableStatus The status of the table for the next turn
+     * @return The key of the game and table
+     */
+    static int key(GameStatus game, ITableStatus tableStatus) {
+        int key = gameKey(game)
+                | flag(tableStatus.getBreakBallsMade() > 0, BREAK_BALLS_MADE)
+                | flag(tableStatus.getShootingBallsMade() > 0, SHOOTING_BALLS_MADE)
+                | flag(tableStatus.getDeadBalls() > 0, DEAD_BALLS)
+                | flag(tableStatus.getDeadBallsOnBreak() > 0, DEAD_BALLS_ON_BREAK)
+                | flag(tableStatus.isGameBallMadeOnBreak(), GAME_BALL_MADE_ON_BREAK)
+                | flag(tableStatus.isGameBallMade(), GAME_BALL_MADE)
+                | flag(tableStatus.isGameBallMadeIllegally(), GAME_BALL_MADE_ILLEGALLY)
+                | flag(tableStatus.getBallsRemaining() == 0, NO_BALLS_REMAINING);
+
+        if (game.gameType.is8Ball()) {
+            key |= flag(tableStatus.getBallStatus(8) == BallStatus.GAME_BALL_DEAD_ON_BREAK, EIGHT_DEAD_ON_BREAK)
+                    | flag(noneRemaining(tableStatus, 1, 7), NO_SOLIDS_REMAINING)
+                    | flag(noneRemaining(tableStatus, 9, 15), NO_STRIPES_REMAINING);
+        }
+
+        return key;
+    }
+
+    /**
+     * The key of a game and a new table with the game's balls on it, worked out from the game's
+     * ball set so the table doesn't have to be made
+     *
+     * @param game The current status of the game
+     * @return The key of the game and its new table, or -1 if the game ball isn't in the ball
+     * set and making the table would fail
+     */
+    private static int key(GameStatus game) {
+        BallSet balls = game.ballSet;
+        if (!balls.contains(game.gameType.getGameBall()))
+            return -1;
+
+        // nothing is made or dead on a new table and the game ball is still on it
+        int key = gameKey(game);
+        if (game.gameType.is8Ball()) {
+            key |= flag(noneOf(balls, 1, 7), NO_SOLIDS_REMAINING)
+                    | flag(noneOf(balls, 9, 15), NO_STRIPES_REMAINING);
+        }
+
+        return key;
+    }
+
+    private static int gameKey(GameStatus game) {
+        int key = game.gameType.ordinal()
+                | flag(game.playerAllowedToBreakAgain, ALLOWED_TO_BREAK_AGAIN)
+                | flag(game.newGame, NEW_GAME)
+                | flag(game.allowPush, ALLOW_PUSH)
+                | flag(game.allowTurnSkip, ALLOW_TURN_SKIP)
+                | flag(game.currentPlayerConsecutiveFouls >= 2, TWO_FOULS);
+
+        // only the 8 ball helpers look at the player's color
+        if (game.gameType.is8Ball())
+            key |= (game.currentPlayerColor == null ? 3 : game.currentPlayerColor.ordinal()) << COLOR;
+
+        return key;
+    }
+
+    private static boolean noneRemaining(ITableStatus tableStatus, int from, int to) {
+        for (int ball = from; ball <= to; ball++) {
+            if (tableStatus.getBallStatus(ball) == BallStatus.ON_TABLE)
+                return false;
+        }
+
+        return true;
+    }
+
+    private static boolean noneOf(BallSet balls, int from, int to) {
+        int next = balls.next(from);
+        return next == 0 || next > to;
+    }
+
+    private static int flag(boolean value, int bit) {
+        return value ? 1 << bit : 0;
+    }
+
+    private static Table table(GameType gameType) {
+        return tables[gameType.ordinal()];
+    }
+
+    /**
+     * The decision table of one game type, a map from the key (without the game type bits) to the
+     * index of its options. Once the table has {@link #MAX_KEYS} keys the options of new keys are
+     * worked out every time instead of being kept, so the table can't keep growing
+     * <p></p>
+     * The entries can't be changed once they're published, adding a key makes new entries while
+     * holding the table's lock, so a reader always sees a whole table without taking the lock
+     */
+    private static final class Table {
+        private static final int MAX_KEYS = 1 << 12;
+
+        private volatile Entries entries = new Entries(new int[16], new byte[16], new TurnEndOptions[0], 0);
+
+        TurnEndOptions get(int key) {
+            return entries.get(key >>> GAME_BITS);
+        }
+
+        synchronized TurnEndOptions put(int key, GameStatus game, ITableStatus tableStatus) {
+            Entries entries = this.entries;
+            TurnEndOptions options = entries.get(key >>> GAME_BITS);
+            if (options != null)
+                return options;
+
+            TurnEndOptions result = TurnEndHelper.create(game, tableStatus).getTurnEndOptions();
+            if (entries.size == MAX_KEYS)
+                return result;
+
+            TurnEndOptions[] allOptions = entries.options;
+            int index = indexOf(allOptions, result);
+            if (index == -1) {
+                if (allOptions.length == 0xFF)
+                    return result;
+
+                allOptions = Arrays.copyOf(allOptions, allOptions.length + 1);
+                index = allOptions.length - 1;
+                allOptions[index] = result;
+            }
+
+            this.entries = entries.with(key >>> GAME_BITS, index, allOptions);
+            return allOptions[index];
+        }
+
+        // equals() ignores the order of the endings and whether a foul is shown, the table has
+        // to give back exactly what the helper did
+        private static int indexOf(TurnEndOptions[] options, TurnEndOptions result) {
+            for (int i = 0; i < options.length; i++) {
+                TurnEndOptions other = options[i];
+                if (other.defaultCheck == result.defaultCheck
+                        && other.possibleEndings.equals(result.possibleEndings)
+                        && other.isFoul() == result.isFoul()
+                        && other.showFoul() == result.showFoul()
+                        && other.showNotFoul() == result.showNotFoul()
+                        && other.showLostGame() == result.showLostGame())
+                    return i;
+            }
+
+            return -1;
+        }
+    }
+
+    /**
+     * The entries of a table, an open addressed hash table that's never more than half full. Each
+     * slot holds one more than a key, so 0 is an empty slot, and the index of the key's options
+     */
+    private static final class Entries {
+        private final int[] keys;
+        private final byte[] indexes;
+        private final TurnEndOptions[] options;
+        private final int size;
+
+        Entries(int[] keys, byte[] indexes, TurnEndOptions[] options, int size) {
+            this.keys = keys;
+            this.indexes = indexes;
+            this.options = options;
+            this.size = size;
+        }
+
+        TurnEndOptions get(int key) {
+            int mask = keys.length - 1;
+            for (int slot = slot(key, mask); keys[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == key + 1)
+                    return options[indexes[slot] & 0xFF];
+            }
+
+            return null;
+        }
+
+        /**
+         * Creates entries with one more key, these entries aren't changed
+         *
+         * @param key     The key to add, it can't be in these entries already
+         * @param index   The index of the key's options
+         * @param options The options of the table, including the key's
+         * @return The new entries
+         */
+        Entries with(int key, int index, TurnEndOptions[] options) {
+            int capacity = (size + 1) * 2 > keys.length ? keys.length * 2 : keys.length;
+            int[] keys = new int[capacity];
+            byte[] indexes = new byte[capacity];
+
+            for (int slot = 0; slot < this.keys.length; slot++) {
+                if (this.keys[slot] != 0)
+                    insert(keys, indexes, this.keys[slot], this.indexes[slot]);
+            }
+            insert(keys, indexes, key + 1, (byte) index);
+
+            return new Entries(keys, indexes, options, size + 1);
+        }
+
+        private static void insert(int[] keys, byte[] indexes, int entry, byte index) {
+            int mask = keys.length - 1;
+            int slot = slot(entry - 1, mask);
+            while (keys[slot] != 0)
+                slot = (slot + 1) & mask;
+
+            keys[slot] = entry;
+            indexes[slot] = index;
+        }
+
+        private static int slot(int key, int mask) {
+            return (key * 0x9E3779B9 >>> 16) & mask;
+        }
+    }
+}
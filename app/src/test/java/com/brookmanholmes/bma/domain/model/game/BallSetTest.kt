@@ -0,0 +1,51 @@
+package com.brookmanholmes.bma.domain.model.game
+
+import org.hamcrest.CoreMatchers.`is`
+import org.junit.Assert.assertThat
+import org.junit.Test
+
+class BallSetTest {
+    @Test
+    fun fullSetHasEveryBall() {
+        for (maxBalls in intArrayOf(9, 10, 15, 63, 64, 999)) {
+            val balls = BallSet.full(maxBalls)
+
+            assertThat(balls.size(), `is`(maxBalls))
+            assertThat(balls.lowest(), `is`(1))
+            assertThat(balls.highest(), `is`(maxBalls))
+            assertThat(balls.asList(), `is`((1..maxBalls).toList()))
+        }
+    }
+
+    @Test
+    fun withoutRemovesBallsAndLeavesOriginalUnchanged() {
+        val table = BallSet.full(15)
+
+        val afterTurn = table.without(listOf(1, 2, 8, 14))
+
+        assertThat(afterTurn.asList(), `is`(listOf(3, 4, 5, 6, 7, 9, 10, 11, 12, 13, 15)))
+        assertThat(afterTurn.lowest(), `is`(3))
+        assertThat(afterTurn.contains(8), `is`(false))
+        assertThat(afterTurn.with(8).contains(8), `is`(true))
+        assertThat(table.size(), `is`(15))
+    }
+
+    @Test
+    fun setsWithTheSameBallsAreEqual() {
+        val balls = BallSet.full(999).without(BallSet.full(998)).with(3)
+
+        assertThat(balls, `is`(BallSet.of(999, 3)))
+        assertThat(balls.hashCode(), `is`(BallSet.of(3, 999).hashCode()))
+        assertThat(BallSet.copyOf(balls.asList()), `is`(balls))
+        assertThat(balls.asList()[1], `is`(999))
+    }
+
+    @Test
+    fun emptySetHasNoLowestBall() {
+        val balls = BallSet.of(4).without(4)
+
+        assertThat(balls, `is`(BallSet.empty()))
+        assertThat(balls.lowest(), `is`(0))
+        assertThat(balls.asList().isEmpty(), `is`(true))
+    }
+}
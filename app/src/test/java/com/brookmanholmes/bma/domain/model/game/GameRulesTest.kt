@@ -0,0 +1,35 @@
+package com.brookmanholmes.bma.domain.model.game
+
+import com.brookmanholmes.bma.domain.model.turn.TableStatus
+import org.hamcrest.CoreMatchers.`is`
+import org.junit.Assert.assertThat
+import org.junit.Test
+
+class GameRulesTest {
+    @Test
+    fun flagsMatchTheGameTypesNames() {
+        for (gameType in GameType.values()) {
+            assertThat("$gameType", gameType.isApa, `is`(gameType.name.contains("APA")))
+            assertThat("$gameType", gameType.isBca, `is`(gameType.name.contains("BCA")))
+            assertThat("$gameType", gameType.isSinglePlayer, `is`(gameType.name.contains("GHOST")))
+            assertThat("$gameType", gameType.is8Ball, `is`(gameType.name.contains("EIGHT")))
+            assertThat("$gameType", gameType.is9Ball, `is`(gameType.name.contains("NINE")))
+            assertThat("$gameType", gameType.is10Ball, `is`(gameType.name.contains("TEN")))
+            assertThat("$gameType", gameType.isStraightPool, `is`(gameType.name.contains("STRAIGHT")))
+        }
+    }
+
+    @Test
+    fun tablesAreTheSizeOfTheRules() {
+        for (gameType in GameType.values()) {
+            val rules = gameType.rules
+            if (rules.table == null)
+                continue
+
+            val table = TableStatus.newTable(gameType)
+            assertThat("$gameType", table.size(), `is`(rules.maxBalls))
+            assertThat("$gameType", table.gameBall, `is`(rules.gameBall))
+            assertThat("$gameType", table.gameType, `is`(gameType))
+        }
+    }
+}
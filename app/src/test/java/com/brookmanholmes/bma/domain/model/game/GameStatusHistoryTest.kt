@@ -0,0 +1,73 @@
+package com.brookmanholmes.bma.domain.model.game
+
+import org.hamcrest.CoreMatchers.`is`
+import org.junit.Assert.assertThat
+import org.junit.Test
+
+class GameStatusHistoryTest {
+    @Test
+    fun packedStatusesComeBackUnchanged() {
+        val history = GameStatusHistory()
+        val statuses = listOf(
+                builder().newGame().build(),
+                builder().turn(PlayerTurn.OPPONENT).allowPush().safetyLastTurn().removeBalls(1, 2)
+                        .consecutiveOpponentFouls(2).playerColor(PlayerColor.STRIPES)
+                        .currentPlayerColor(PlayerColor.SOLIDS).turnsThisGame(40).setInnings(1000).build(),
+                builder().reBreak().allowSkip().consecutivePlayerFouls(31).setBalls(BallSet.empty()).build())
+
+        statuses.forEach { history.append(it) }
+
+        assertThat(history.map { it.toString() }, `is`(statuses.map { it.toString() }))
+    }
+
+    @Test
+    fun statusesThatDontFitAreKept() {
+        val history = GameStatusHistory()
+        val tooManyFouls = builder().consecutivePlayerFouls(32).build()
+        val tooManyInnings = builder().setInnings(1 shl 20).build()
+
+        history.append(builder().build())
+        history.append(tooManyFouls)
+        history.append(tooManyInnings)
+
+        assertThat(history.removeLast() === tooManyInnings, `is`(true))
+        assertThat(history[1] === tooManyFouls, `is`(true))
+        assertThat(history.size, `is`(2))
+    }
+
+    @Test
+    fun straightPoolStatusesArePackedWithTheirBallSets() {
+        val history = GameStatusHistory()
+        val allBalls = BallSet.full(999)
+        val fewerBalls = allBalls.without(1, 2, 3)
+        val statuses = listOf(
+                straightPool().setBalls(allBalls).newGame().build(),
+                straightPool().setBalls(allBalls).turn(PlayerTurn.OPPONENT).turnsThisGame(1).build(),
+                straightPool().setBalls(fewerBalls).turnsThisGame(2).build())
+
+        statuses.forEach { history.append(it) }
+
+        assertThat(history.map { it.toString() }, `is`(statuses.map { it.toString() }))
+        statuses.forEachIndexed { i, status ->
+            assertThat(history[i] === status, `is`(false))
+            assertThat(history[i].ballSet === status.ballSet, `is`(true))
+        }
+
+        history.truncate(1)
+        history.append(statuses[2])
+
+        assertThat(history.map { it.toString() }, `is`(listOf(statuses[0], statuses[2]).map { it.toString() }))
+    }
+
+    private fun straightPool() = GameStatus.Builder(GameType.STRAIGHT_POOL)
+            .turn(PlayerTurn.PLAYER)
+            .breaker(PlayerTurn.PLAYER)
+            .playerColor(PlayerColor.OPEN)
+            .breakType(BreakType.ALTERNATE)
+
+    private fun builder() = GameStatus.Builder(GameType.BCA_EIGHT_BALL)
+            .turn(PlayerTurn.PLAYER)
+            .breaker(PlayerTurn.PLAYER)
+            .playerColor(PlayerColor.OPEN)
+            .breakType(BreakType.ALTERNATE)
+}
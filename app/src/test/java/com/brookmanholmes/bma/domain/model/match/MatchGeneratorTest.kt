@@ -0,0 +1,72 @@
+package com.brookmanholmes.bma.domain.model.match
+
+import com.brookmanholmes.bma.domain.model.game.BreakType
+import com.brookmanholmes.bma.domain.model.game.GameType
+import com.brookmanholmes.bma.domain.model.game.GameType.*
+import com.brookmanholmes.bma.domain.model.turn.helpers.TurnEndHelper
+import org.hamcrest.CoreMatchers.`is`
+import org.junit.Assert.assertThat
+import org.junit.Test
+
+class MatchGeneratorTest {
+    private val gameTypes = listOf(BCA_EIGHT_BALL, BCA_NINE_BALL, BCA_TEN_BALL,
+            BCA_GHOST_EIGHT_BALL, BCA_GHOST_NINE_BALL, BCA_GHOST_TEN_BALL,
+            APA_EIGHT_BALL, APA_NINE_BALL, APA_GHOST_EIGHT_BALL, APA_GHOST_NINE_BALL,
+            STRAIGHT_POOL, STRAIGHT_GHOST)
+
+    @Test
+    fun sameSeedGeneratesSameTurns() {
+        for (gameType in gameTypes) {
+            val first = generator(gameType, 11).asSequence().toList()
+            val second = generator(gameType, 11).asSequence().toList()
+
+            assertThat(first, `is`(second))
+        }
+    }
+
+    @Test
+    fun generatedTurnsAreAllowedByTheRules() {
+        for (gameType in gameTypes) {
+            val generator = generator(gameType, 3)
+
+            while (generator.hasNext()) {
+                val gameStatus = generator.gameStatus
+                val turn = generator.next()
+                val options = TurnEndHelper.getTurnEndOptions(gameStatus, turn)
+
+                assertThat("$gameType $turn",
+                        turn.turnEnd == options.defaultCheck || options.possibleEndings.contains(turn.turnEnd),
+                        `is`(true))
+                if (options.isFoul)
+                    assertThat("$gameType $turn", turn.isFoul, `is`(true))
+            }
+        }
+    }
+
+    @Test
+    fun matchReplaysGeneratedTurns() {
+        for (gameType in gameTypes) {
+            val generator = generator(gameType, 5)
+            val match = Match.Builder("player", "opponent")
+                    .setBreakType(BreakType.WINNER)
+                    .setMaxAttemptsPerGhostGame(2)
+                    .setPlayerRanks(7, 7)
+                    .build(gameType)
+
+            while (generator.hasNext()) {
+                assertThat(match.gameStatus, `is`(generator.gameStatus))
+                match.addTurn(generator.next())
+            }
+
+            assertThat(match.gameStatus, `is`(generator.gameStatus))
+            assertThat(match.turnCount, `is`(500))
+        }
+    }
+
+    private fun generator(gameType: GameType, seed: Long) = MatchGenerator.Builder(gameType, seed)
+            .setBreakType(BreakType.WINNER)
+            .setMaxAttemptsPerGhostGame(2)
+            .setAdvStats("player", "opponent")
+            .setTurns(500)
+            .build()
+}
@@ -0,0 +1,372 @@
+package com.brookmanholmes.bma.domain.model.match
+
+import com.brookmanholmes.bma.domain.model.game.BreakType
+import com.brookmanholmes.bma.domain.model.game.Game
+import com.brookmanholmes.bma.domain.model.game.GameType
+import com.brookmanholmes.bma.domain.model.game.PlayerTurn
+import com.brookmanholmes.bma.domain.model.player.Player
+import com.brookmanholmes.bma.domain.model.player.Players
+import com.brookmanholmes.bma.domain.model.player.controller.PlayerController
+import com.brookmanholmes.bma.domain.model.turn.ITurn
+import org.hamcrest.CoreMatchers.`is`
+import org.hamcrest.CoreMatchers.sameInstance
+import org.junit.Assert.assertThat
+import org.junit.Test
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.ObjectInputStream
+import java.io.ObjectOutputStream
+import java.util.*
+
+class MatchTest {
+    @Test
+    fun runningTotalsAreTheSameAsAddingUpEveryTurn() {
+        for (gameType in listOf(GameType.BCA_NINE_BALL, GameType.APA_EIGHT_BALL, GameType.APA_NINE_BALL, GameType.STRAIGHT_POOL)) {
+            val match = newMatch(gameType)
+            val turns = MatchGenerator.Builder(gameType, 9).setMaxAttemptsPerGhostGame(2).setTurns(300).build()
+                    .asSequence().toList()
+
+            turns.forEach {
+                match.addTurn(it)
+                assertAddedUp(match)
+            }
+
+            repeat(300) {
+                match.undoTurn()
+                assertAddedUp(match)
+            }
+        }
+    }
+
+    @Test
+    fun gameStatusIsSharedUntilTheNextTurn() {
+        val match = Match.Builder("player", "opponent").build(GameType.BCA_NINE_BALL)
+        val generator = MatchGenerator.Builder(GameType.BCA_NINE_BALL, 1).setTurns(50).build()
+
+        while (generator.hasNext()) {
+            val before = match.gameStatus
+            match.addTurn(generator.next())
+
+            assertThat(match.gameStatuses.last().toString(), `is`(before.toString()))
+            assertThat(match.gameStatus, sameInstance(match.gameStatus))
+            assertThat(match.gameStatus.ballsOnTable, sameInstance(match.gameStatus.ballSet.asList()))
+        }
+    }
+
+    @Test
+    fun undoGivesTheSameGameStatus() {
+        val match = Match.Builder("player", "opponent").build(GameType.BCA_EIGHT_BALL)
+        val generator = MatchGenerator.Builder(GameType.BCA_EIGHT_BALL, 1).setTurns(50).build()
+        generator.forEach { match.addTurn(it) }
+
+        val gameStatus = match.gameStatus
+        match.undoTurn()
+        match.addTurn(match.redoTurn)
+
+        assertThat(match.gameStatus, `is`(gameStatus))
+    }
+
+    @Test
+    fun undoingAGhostGameTurnIsTheSameAsLoadingTheTurns() {
+        val turns = MatchGenerator.Builder(GameType.BCA_GHOST_NINE_BALL, 3).setMaxAttemptsPerGhostGame(2).setTurns(60).build()
+                .asSequence().toList()
+        val match = newMatch(GameType.BCA_GHOST_NINE_BALL)
+        turns.forEach { match.addTurn(it) }
+
+        for (turn in 59 downTo 0) {
+            match.undoTurn()
+            assertThat(match.gameStatus.toString(), `is`(newMatch(GameType.BCA_GHOST_NINE_BALL, turns.subList(0, turn), emptyList()).gameStatus.toString()))
+        }
+
+        turns.forEach { match.addTurn(it) }
+        assertThat(match.gameStatuses.map { it.toString() },
+                `is`(newMatch(GameType.BCA_GHOST_NINE_BALL, turns, emptyList()).gameStatuses.map { it.toString() }))
+    }
+
+    @Test
+    fun matchLoadedFromCheckpointsIsTheSameAsReplayedMatch() {
+        for (gameType in listOf(GameType.BCA_NINE_BALL, GameType.APA_EIGHT_BALL, GameType.STRAIGHT_POOL, GameType.BCA_GHOST_TEN_BALL)) {
+            val replayed = newMatch(gameType)
+            MatchGenerator.Builder(gameType, 2).setMaxAttemptsPerGhostGame(2).setTurns(1300).build()
+                    .forEach { replayed.addTurn(it) }
+            val loaded = newMatch(gameType, replayed.turns, replayed.checkpoints)
+
+            assertThat(replayed.checkpoints.size, `is`(2))
+            assertThat(loaded.turnCount, `is`(1300))
+            assertThat(loaded.gameStatus, `is`(replayed.gameStatus))
+            assertThat(loaded.player, `is`(replayed.player))
+            assertThat(loaded.opponent, `is`(replayed.opponent))
+            assertThat(loaded.getPlayer(1100, 1200), `is`(replayed.getPlayer(1100, 1200)))
+            assertThat(loaded.getOpponent(0, 600), `is`(replayed.getOpponent(0, 600)))
+            assertThat(loaded.getPlayer(100, 1300), `is`(replayed.getPlayer(100, 1300)))
+            assertThat(loaded.getGameStatus(50).toString(), `is`(replayed.getGameStatus(50).toString()))
+
+            repeat(300) {
+                loaded.undoTurn()
+                replayed.undoTurn()
+            }
+
+            assertThat(loaded.gameStatus, `is`(replayed.gameStatus))
+            assertThat(loaded.player, `is`(replayed.player))
+            assertThat(loaded.checkpoints.map { it.turnCount }, `is`(listOf(512)))
+            assertThat(loaded.gameStatuses, `is`(replayed.gameStatuses))
+            assertThat(loaded.getPlayer(100, 900), `is`(replayed.getPlayer(100, 900)))
+        }
+    }
+
+    @Test
+    fun scrubbingBackOnlyReplaysTheMissingTurns() {
+        for (gameType in listOf(GameType.BCA_EIGHT_BALL, GameType.STRAIGHT_POOL)) {
+            val replayed = newMatch(gameType)
+            MatchGenerator.Builder(gameType, 3).setTurns(1300).build().forEach { replayed.addTurn(it) }
+            val loaded = newMatch(gameType, replayed.turns, replayed.checkpoints)
+            val checkpoints = loaded.checkpoints.toList()
+            replayed.matchId = "match"
+            loaded.matchId = "match"
+
+            assertThat(loaded == replayed, `is`(true))
+            assertThat(loaded.hashCode(), `is`(replayed.hashCode()))
+
+            for (turn in listOf(1100, 700, 600, 50)) {
+                assertThat(loaded.getGameStatus(turn).toString(), `is`(replayed.getGameStatus(turn).toString()))
+                assertThat(loaded.getPlayer(turn, 1300), `is`(replayed.getPlayer(turn, 1300)))
+                assertThat(loaded.getOpponent(turn, 1200), `is`(replayed.getOpponent(turn, 1200)))
+                loaded.checkpoints.forEachIndexed { i, checkpoint -> assertThat(checkpoint, sameInstance(checkpoints[i])) }
+            }
+
+            assertThat(loaded.gameStatuses.map { it.toString() }, `is`(replayed.gameStatuses.map { it.toString() }))
+            assertThat(loaded.getPlayer(100, 900), `is`(replayed.getPlayer(100, 900)))
+            assertThat(loaded.player, `is`(replayed.player))
+            assertThat(loaded.gameStatus, `is`(replayed.gameStatus))
+            assertThat(loaded == replayed, `is`(true))
+        }
+    }
+
+    @Test
+    fun editingBeforeTheReplayedTurnsOfALoadedMatch() {
+        for (gameType in listOf(GameType.BCA_NINE_BALL, GameType.STRAIGHT_POOL)) {
+            val turns = MatchGenerator.Builder(gameType, 7).setTurns(1300).build().asSequence().toList()
+            val otherTurns = MatchGenerator.Builder(gameType, 8).setTurns(1300).build().asSequence().toList()
+            val match = newMatch(gameType, turns, newMatch(gameType, turns, emptyList()).checkpoints)
+            val edited = turns.toMutableList()
+
+            edited[600] = otherTurns[600]
+            match.replaceTurn(600, otherTurns[600])
+            assertEdited(match, edited, 600)
+
+            edited.add(30, otherTurns[30])
+            match.insertTurn(30, otherTurns[30])
+            assertEdited(match, edited, 30)
+        }
+    }
+
+    @Test
+    fun editedMatchIsTheSameAsMatchWithEditedTurns() {
+        for (gameType in listOf(GameType.BCA_EIGHT_BALL, GameType.APA_NINE_BALL, GameType.STRAIGHT_POOL)) {
+            val turns = MatchGenerator.Builder(gameType, 4).setTurns(1200).build().asSequence().toList()
+            val otherTurns = MatchGenerator.Builder(gameType, 5).setTurns(1200).build().asSequence().toList()
+            val match = newMatch(gameType, turns, emptyList())
+            val edited = turns.toMutableList()
+
+            edited[1100] = otherTurns[1100]
+            match.replaceTurn(1100, otherTurns[1100])
+            assertEdited(match, edited, 1100)
+
+            edited.removeAt(40)
+            assertThat(match.removeTurn(40), `is`(illegalTurns(gameType, edited, 40)))
+            assertEdited(match, edited, 40)
+
+            edited.add(700, otherTurns[3])
+            assertThat(match.insertTurn(700, otherTurns[3]), `is`(illegalTurns(gameType, edited, 700)))
+            assertEdited(match, edited, 700)
+        }
+    }
+
+    @Test
+    fun turnsHashAndVersionFollowTheTurns() {
+        val match = newMatch(GameType.BCA_TEN_BALL)
+        val turns = MatchGenerator.Builder(GameType.BCA_TEN_BALL, 6).setTurns(100).build().asSequence().toList()
+        turns.forEach { match.addTurn(it) }
+        val turnsHash = match.turnsHash
+        val version = match.version
+
+        match.undoTurn()
+        match.undoTurn()
+        assertThat(match.turnsHash == turnsHash, `is`(false))
+        match.addTurn(match.redoTurn)
+        match.addTurn(match.redoTurn)
+
+        assertThat(match.turnsHash, `is`(turnsHash))
+        assertThat(match.version, `is`(version + 4))
+        assertThat(newMatch(GameType.BCA_TEN_BALL, turns, emptyList()).turnsHash, `is`(turnsHash))
+
+        match.replaceTurn(50, turns[51])
+        assertThat(match.turnsHash == turnsHash, `is`(false))
+        assertThat(match.version, `is`(version + 5))
+    }
+
+    @Test
+    fun undoneTurnsAreKeptAsBranches() {
+        val turns = MatchGenerator.Builder(GameType.BCA_NINE_BALL, 7).setTurns(20).build().asSequence().toList()
+        val otherTurns = MatchGenerator.Builder(GameType.BCA_NINE_BALL, 8).setTurns(20).build().asSequence().toList()
+        val match = newMatch(GameType.BCA_NINE_BALL)
+        turns.forEach { match.addTurn(it) }
+        val turnsHash = match.turnsHash
+        val player = match.player
+
+        repeat(5) { match.undoTurn() }
+        otherTurns.subList(15, 18).forEach { match.addTurn(it) }
+        assertThat(match.isRedoTurn, `is`(false))
+
+        repeat(3) { match.undoTurn() }
+        assertThat(match.redoTurns, `is`(listOf(turns[15], otherTurns[15])))
+        assertThat(match.redoTurn, `is`(otherTurns[15]))
+
+        val copy = ObjectInputStream(ByteArrayInputStream(ByteArrayOutputStream()
+                .also { ObjectOutputStream(it).writeObject(match) }.toByteArray())).readObject() as Match
+        for (branch in listOf(match, copy)) {
+            branch.redoTurn(0)
+            while (branch.isRedoTurn)
+                branch.addTurn(branch.redoTurn)
+
+            assertThat(branch.turnsHash, `is`(turnsHash))
+            assertThat(branch.player, `is`(player))
+        }
+    }
+
+    @Test
+    fun playersAreKeptUntilTheirTurnsChange() {
+        val turns = MatchGenerator.Builder(GameType.BCA_NINE_BALL, 6).setTurns(200).build().asSequence().toList()
+        val match = newMatch(GameType.BCA_NINE_BALL, turns.subList(0, 150), emptyList())
+
+        val player = match.player
+        val range = match.getOpponent(20, 100)
+        assertThat(match.player, sameInstance(player))
+        assertThat(match.getOpponent(20, 100), sameInstance(range))
+
+        turns.subList(150, 200).forEach { match.addTurn(it) }
+        assertThat(match.player, `is`(newMatch(GameType.BCA_NINE_BALL, turns, emptyList()).player))
+        assertThat(match.getOpponent(20, 100), sameInstance(range))
+
+        repeat(120) { match.undoTurn() }
+        assertThat(match.player, `is`(newMatch(GameType.BCA_NINE_BALL, turns.subList(0, 80), emptyList()).player))
+        turns.subList(80, 100).forEach { match.addTurn(it) }
+        assertThat(match.getOpponent(20, 100), `is`(range))
+        assertThat(match.getOpponent(20, 100) === range, `is`(false))
+
+        match.setPlayerId("someone else")
+        assertThat(match.player.id, `is`("someone else"))
+        assertThat(match.getPlayer(0, 50).id, `is`("someone else"))
+    }
+
+    @Test
+    fun playersTurnsAreTheTurnsEachSidePlayed() {
+        val turns = MatchGenerator.Builder(GameType.BCA_TEN_BALL, 7).setTurns(1200).build().asSequence().toList()
+        val replayed = newMatch(GameType.BCA_TEN_BALL, turns, emptyList())
+        val loaded = newMatch(GameType.BCA_TEN_BALL, turns, replayed.checkpoints)
+
+        for (match in listOf(replayed, loaded)) {
+            val shooters = (0 until 1200).map { replayed.getGameStatus(it).turn }
+            assertThat(match.player.turns, `is`(turns.filterIndexed { i, _ -> shooters[i] == PlayerTurn.PLAYER }))
+            assertThat(match.getOpponent(300, 900).turns,
+                    `is`((300 until 900).filter { shooters[it] == PlayerTurn.OPPONENT }.map { turns[it] }))
+            assertThat(match.getPlayer(0, 0).turns.isEmpty(), `is`(true))
+        }
+
+        val copy = ObjectInputStream(ByteArrayInputStream(ByteArrayOutputStream()
+                .also { ObjectOutputStream(it).writeObject(replayed.opponent) }.toByteArray())).readObject() as Player
+        assertThat(copy.turns, `is`(replayed.opponent.turns))
+    }
+
+    @Test
+    fun playersTurnsStayTheSameWhenTurnsAreUndone() {
+        val turns = MatchGenerator.Builder(GameType.BCA_NINE_BALL, 8).setTurns(60).build().asSequence().toList()
+        val match = newMatch(GameType.BCA_NINE_BALL, turns, emptyList())
+        val player = match.player
+        val copy = Player(player)
+        val playerTurns = player.turns.toList()
+
+        repeat(30) { match.undoTurn() }
+        assertThat(copy.turns, `is`(playerTurns))
+        assertThat(player.turns, `is`(playerTurns))
+
+        MatchGenerator.Builder(GameType.BCA_NINE_BALL, 9).setTurns(30).build().forEach { match.addTurn(it) }
+        assertThat(player.turns, `is`(playerTurns))
+        assertThat(copy.turns, `is`(playerTurns))
+    }
+
+    @Test
+    fun loadedPlayersTurnsStayTheSameWhenTurnsAreEdited() {
+        val turns = MatchGenerator.Builder(GameType.BCA_TEN_BALL, 10).setTurns(1300).build().asSequence().toList()
+        val otherTurns = MatchGenerator.Builder(GameType.BCA_TEN_BALL, 11).setTurns(1300).build().asSequence().toList()
+        val replayed = newMatch(GameType.BCA_TEN_BALL, turns, emptyList())
+        val loaded = newMatch(GameType.BCA_TEN_BALL, turns, replayed.checkpoints)
+        val opponent = loaded.opponent
+        val range = loaded.getPlayer(700, 1300)
+
+        repeat(400) { loaded.undoTurn() }
+        loaded.replaceTurn(20, otherTurns[20])
+        otherTurns.subList(900, 1300).forEach { loaded.addTurn(it) }
+
+        assertThat(opponent.turns, `is`(replayed.opponent.turns))
+        assertThat(range.turns, `is`(replayed.getPlayer(700, 1300).turns))
+    }
+
+    // adds up the stats of every turn again, the way the match used to every time it was asked
+    private fun assertAddedUp(match: Match) {
+        val gameType = match.gameStatus.gameType
+        val game = Game.newGame(gameType, PlayerTurn.PLAYER, BreakType.ALTERNATE, 2)
+        val controller = PlayerController.createController(game, "player", "opponent", "player", "opponent", 7, 7)
+        val player = Player("player", "player", gameType, 7, 7)
+        val opponent = Player("opponent", "opponent", gameType, 7, 7)
+
+        for (turn in match.turns) {
+            val turnStats = controller.addTurn(game.gameStatus, turn)
+            player.addPlayerStats(turnStats.player)
+            opponent.addPlayerStats(turnStats.opponent)
+            game.addTurn(turn)
+        }
+
+        player.setMatchDate(match.createdOn)
+        opponent.setMatchDate(match.createdOn)
+        assertThat(match.player, `is`(player))
+        assertThat(match.opponent, `is`(opponent))
+        assertThat(match.isMatchOver, `is`(Players.isMatchOver(player, opponent)))
+    }
+
+    private fun assertEdited(match: Match, turns: List<ITurn>, index: Int) {
+        val expected = newMatch(match.gameStatus.gameType, turns, emptyList())
+
+        assertThat(match.turns, `is`(turns))
+        assertThat(match.gameStatus, `is`(expected.gameStatus))
+        assertThat(match.player, `is`(expected.player))
+        assertThat(match.getOpponent(index, turns.size), `is`(expected.getOpponent(index, turns.size)))
+        assertThat(match.checkpoints.map { it.turnCount }, `is`(expected.checkpoints.map { it.turnCount }))
+        assertThat(match.gameStatuses.map { it.toString() }, `is`(expected.gameStatuses.map { it.toString() }))
+    }
+
+    private fun illegalTurns(gameType: GameType, turns: List<ITurn>, from: Int): List<Int> {
+        val match = newMatch(gameType, turns.subList(0, from), emptyList())
+
+        return (from until turns.size).filter {
+            val allowed = Match.isAllowed(match.gameStatus, turns[it])
+            match.addTurn(turns[it])
+            !allowed
+        }
+    }
+
+    private fun newMatch(gameType: GameType) = Match.Builder("player", "opponent")
+            .setPlayerRanks(7, 7)
+            .setMaxAttemptsPerGhostGame(2)
+            .setPlayerNames("player", "opponent")
+            .setDate(Date(0))
+            .build(gameType)
+
+    private fun newMatch(gameType: GameType, turns: List<ITurn>, checkpoints: List<MatchCheckpoint>) =
+            Match.Builder("player", "opponent")
+                    .setPlayerRanks(7, 7)
+                    .setMaxAttemptsPerGhostGame(2)
+                    .setPlayerNames("player", "opponent")
+                    .setDate(Date(0))
+                    .build(gameType, turns, checkpoints)
+}
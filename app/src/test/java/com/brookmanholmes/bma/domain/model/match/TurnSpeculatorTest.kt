@@ -0,0 +1,73 @@
+package com.brookmanholmes.bma.domain.model.match
+
+import com.brookmanholmes.bma.domain.model.game.BreakType
+import com.brookmanholmes.bma.domain.model.game.GameType
+import com.brookmanholmes.bma.domain.model.game.GameType.*
+import com.brookmanholmes.bma.domain.model.turn.helpers.TurnEndHelper
+import org.hamcrest.CoreMatchers.*
+import org.junit.Assert.assertThat
+import org.junit.Test
+import java.util.*
+import java.util.concurrent.Executor
+
+class TurnSpeculatorTest {
+    private val gameTypes = listOf(BCA_EIGHT_BALL, BCA_NINE_BALL, BCA_TEN_BALL,
+            BCA_GHOST_EIGHT_BALL, BCA_GHOST_NINE_BALL, BCA_GHOST_TEN_BALL,
+            APA_EIGHT_BALL, APA_NINE_BALL, APA_GHOST_EIGHT_BALL, APA_GHOST_NINE_BALL,
+            STRAIGHT_POOL, STRAIGHT_GHOST)
+
+    @Test
+    fun likelyTurnsGiveTheSameMatchAsAddingThem() {
+        val random = Random(5)
+        for (gameType in gameTypes) {
+            val speculated = match(gameType)
+            val added = match(gameType)
+            val speculator = TurnSpeculator(speculated, Executor { it.run() })
+            speculator.speculate()
+
+            for (i in 0 until 200) {
+                val turns = speculator.likelyTurns
+                assertThat("$gameType", turns.isEmpty(), `is`(false))
+                val turn = turns[random.nextInt(turns.size)]
+
+                assertThat("$gameType", speculator.getTurnEndOptions(turn),
+                        `is`(TurnEndHelper.getTurnEndOptions(speculated.gameStatus, turn)))
+                assertThat("$gameType", speculator.find(turn), `is`(notNullValue()))
+                speculator.addTurn(turn)
+                added.addTurn(turn)
+
+                assertThat("$gameType $turn", speculated.gameStatus, `is`(added.gameStatus))
+                assertThat("$gameType $turn", speculated.player.toString(), `is`(added.player.toString()))
+                assertThat("$gameType $turn", speculated.opponent.toString(), `is`(added.opponent.toString()))
+                assertThat("$gameType $turn", speculated.player.turns, `is`(added.player.turns))
+                assertThat("$gameType $turn", speculated, `is`(added))
+                assertThat("$gameType $turn", speculated.hashCode(), `is`(added.hashCode()))
+            }
+        }
+    }
+
+    @Test
+    fun turnsAreThrownAwayWhenTheMatchChanges() {
+        val tasks = ArrayList<Runnable>()
+        val match = match(BCA_NINE_BALL)
+        val speculator = TurnSpeculator(match, Executor { tasks.add(it) })
+
+        speculator.speculate()
+        assertThat(speculator.likelyTurns.isEmpty(), `is`(true))
+        tasks.removeAt(0).run()
+        val turn = speculator.likelyTurns[0]
+
+        match.addTurn(turn)
+        assertThat(speculator.likelyTurns.isEmpty(), `is`(true))
+        assertThat(speculator.find(turn), `is`(nullValue()))
+    }
+
+    private fun match(gameType: GameType) = Match.Builder("player", "opponent")
+            .setBreakType(BreakType.WINNER)
+            .setMaxAttemptsPerGhostGame(2)
+            .setPlayerRanks(7, 7)
+            .setPlayerNames("player", "opponent")
+            .setMatchId("match")
+            .setDate(Date(0))
+            .build(gameType)
+}
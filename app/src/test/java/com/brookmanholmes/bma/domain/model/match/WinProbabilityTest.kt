@@ -0,0 +1,65 @@
+package com.brookmanholmes.bma.domain.model.match
+
+import com.brookmanholmes.bma.domain.model.game.GameType
+import com.brookmanholmes.bma.domain.model.player.Player
+import com.brookmanholmes.bma.domain.model.turn.TurnBuilder
+import org.hamcrest.CoreMatchers.`is`
+import org.junit.Assert.assertThat
+import org.junit.Test
+
+class WinProbabilityTest {
+    @Test
+    fun sameSeedGivesSameEstimate() {
+        for (gameType in listOf(GameType.BCA_EIGHT_BALL, GameType.APA_NINE_BALL, GameType.STRAIGHT_POOL)) {
+            val match = newMatch(gameType)
+            val generator = MatchGenerator.Builder(gameType, 1).setTurns(20).build()
+            generator.forEach { match.addTurn(it) }
+
+            val estimate = WinProbability.estimate(match, 2000, 3)
+
+            assertThat(WinProbability.estimate(match, 2000, 3).playerWins, `is`(estimate.playerWins))
+            assertThat(estimate.playerWins + estimate.opponentWins <= 2000, `is`(true))
+        }
+    }
+
+    @Test
+    fun finishedMatchIsCertain() {
+        val match = Match.Builder("player", "opponent")
+                .setPlayerRanks(1, 1)
+                .build(GameType.BCA_NINE_BALL)
+        match.addTurn(TurnBuilder(GameType.BCA_NINE_BALL).breakBalls(9).win())
+
+        val estimate = WinProbability.estimate(match, 1000, 3)
+
+        assertThat(estimate.playerWinProbability, `is`(1.0))
+        assertThat(estimate.opponentWinProbability, `is`(0.0))
+    }
+
+    @Test
+    fun betterShooterIsFavoured() {
+        val match = newMatch(GameType.BCA_NINE_BALL)
+        val strong = stats(made = 900, missed = 100)
+        val weak = stats(made = 300, missed = 300)
+
+        val estimate = WinProbability.estimate(match, strong, weak, 4000, 3)
+
+        assertThat(estimate.playerWinProbability > .75, `is`(true))
+        assertThat(WinProbability.estimate(match, weak, strong, 4000, 3).playerWinProbability < .25, `is`(true))
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun singlePlayerGamesAreNotEstimated() {
+        WinProbability.estimate(newMatch(GameType.BCA_GHOST_NINE_BALL), 1000, 3)
+    }
+
+    private fun newMatch(gameType: GameType) = Match.Builder("player", "opponent")
+            .setPlayerRanks(5, 5)
+            .build(gameType)
+
+    private fun stats(made: Int, missed: Int): Player {
+        val player = Player("", "", GameType.BCA_NINE_BALL, 5)
+        repeat(made) { player.addShootingBallsMade(1, false) }
+        repeat(missed) { player.addShootingMiss() }
+        return player
+    }
+}
@@ -0,0 +1,101 @@
+package com.brookmanholmes.bma.domain.model.player
+
+import com.brookmanholmes.bma.domain.model.game.GameType
+import org.hamcrest.CoreMatchers.`is`
+import org.junit.Assert.assertThat
+import org.junit.Before
+import org.junit.Test
+import java.util.*
+
+class PlayerStatsHistoryTest {
+    private val random = Random(7)
+    private val turns = ArrayList<Player>()
+    private lateinit var history: PlayerStatsHistory
+
+    @Before
+    fun setUp() {
+        history = PlayerStatsHistory(newPlayer())
+        turns.clear()
+    }
+
+    @Test
+    fun rangeTotalsMatchAddingEachTurn() {
+        repeat(100) { add(randomTurn()) }
+
+        for (from in 0..100 step 7) {
+            for (to in from..100 step 5) {
+                assertThat(history.getTotals(from, to), `is`(fold(from, to)))
+            }
+        }
+    }
+
+    @Test
+    fun removeLastRestoresPreviousTotals() {
+        repeat(40) { add(randomTurn()) }
+
+        repeat(25) {
+            history.removeLast()
+            turns.removeAt(turns.size - 1)
+            assertThat(history.getTotals(), `is`(fold(0, turns.size)))
+        }
+
+        repeat(30) { add(randomTurn()) }
+
+        assertThat(history.getTotals(), `is`(fold(0, turns.size)))
+        assertThat(history.getTotals(3, 44), `is`(fold(3, 44)))
+        assertThat(history.getTotals(3, 44).highRun, `is`(fold(3, 44).highRun))
+    }
+
+    @Test
+    fun deltasHoldTheChangeEachTurnMade() {
+        repeat(60) {
+            val turn = randomTurn()
+            val before = history.totals
+            val delta = history.add(turn)
+            val after = history.totals
+
+            assertThat(delta.get(Stat.SHOOTING_BALLS_MADE), `is`(after.shootingBallsMade - before.shootingBallsMade))
+            assertThat(delta.get(Stat.GAME_WINS), `is`(after.wins - before.wins))
+            assertThat(delta.highRun, `is`(turn.highRun))
+            assertThat(delta.runLengths, `is`(turn.runLengths))
+            assertThat(delta.isEmpty, `is`(before == after && turn.highRun == 0 && turn.runLengths.isEmpty()))
+        }
+
+        val points = newPlayer()
+        points.addPoints(-100000000)
+        assertThat(history.add(points).get(Stat.POINTS), `is`(-100000000))
+    }
+
+    @Test(expected = IndexOutOfBoundsException::class)
+    fun rangePastLastTurnThrows() {
+        add(randomTurn())
+
+        history.getTotals(0, 2)
+    }
+
+    private fun add(turn: Player) {
+        turns.add(turn)
+        history.add(turn)
+    }
+
+    private fun fold(from: Int, to: Int): Player {
+        val player = newPlayer()
+        player.addPlayerStats(turns.subList(from, to))
+        return player
+    }
+
+    private fun randomTurn(): Player {
+        val player = newPlayer()
+        when (random.nextInt(4)) {
+            0 -> player.addShootingBallsMade(random.nextInt(9), random.nextBoolean())
+            1 -> player.addSafetyAttempt(random.nextBoolean())
+            2 -> player.addBreakShot(random.nextInt(4), random.nextBoolean(), random.nextBoolean())
+            else -> player.addShootingMiss()
+        }
+        if (random.nextInt(5) == 0)
+            player.addGameWon()
+        return player
+    }
+
+    private fun newPlayer() = Player("id", "name", GameType.BCA_NINE_BALL, 5, 5)
+}
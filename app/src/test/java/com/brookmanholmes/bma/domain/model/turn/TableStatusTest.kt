@@ -0,0 +1,73 @@
+package com.brookmanholmes.bma.domain.model.turn
+
+import com.brookmanholmes.bma.domain.model.game.BallStatus
+import com.brookmanholmes.bma.domain.model.game.GameType
+import org.hamcrest.CoreMatchers.`is`
+import org.junit.Assert.assertThat
+import org.junit.Test
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.ObjectInputStream
+import java.io.ObjectOutputStream
+
+class TableStatusTest {
+    @Test
+    fun countsFollowBallsBeingChanged() {
+        val table = TableStatus.newTable(GameType.BCA_NINE_BALL)
+
+        table.setBallTo(BallStatus.MADE_ON_BREAK, 1, 2)
+        table.setBallTo(BallStatus.MADE, 3, 4)
+        table.setBallTo(BallStatus.DEAD, 5)
+        table.setBallTo(BallStatus.GAME_BALL_MADE_ON_BREAK_THEN_MADE, 9)
+        table.setBallTo(BallStatus.ON_TABLE, 4)
+
+        assertThat(table.breakBallsMade, `is`(3))
+        assertThat(table.shootingBallsMade, `is`(2))
+        assertThat(table.deadBalls, `is`(1))
+        assertThat(table.ballsRemaining, `is`(4))
+        assertThat(table.isGameBallMade, `is`(true))
+        assertThat(table.ballsToRemoveFromTable, `is`(listOf(1, 2, 3, 5, 9)))
+    }
+
+    @Test
+    fun countsSurviveSerialization() {
+        val table = TableStatus.newTable(GameType.STRAIGHT_POOL)
+        table.setBallTo(BallStatus.MADE, 1, 2, 3)
+
+        val bytes = ByteArrayOutputStream()
+        ObjectOutputStream(bytes).use { it.writeObject(table) }
+        val copy = ObjectInputStream(ByteArrayInputStream(bytes.toByteArray())).use { it.readObject() } as ITableStatus
+
+        assertThat(copy, `is`(table))
+        assertThat(copy.hashCode(), `is`(table.hashCode()))
+        assertThat(copy.shootingBallsMade, `is`(3))
+        assertThat(copy.ballsRemaining, `is`(996))
+    }
+
+    @Test
+    fun straightPoolTableOnlyTracksBallsOffTheTable() {
+        val table = TableStatus.newTable(GameType.STRAIGHT_POOL)
+        table.setBallTo(BallStatus.MADE, 14, 3, 7)
+        table.setBallTo(BallStatus.DEAD, 9)
+        table.setBallTo(BallStatus.ON_TABLE, 7)
+
+        val sameTable = TableStatus.newTable(GameType.STRAIGHT_POOL)
+        sameTable.setBallTo(BallStatus.DEAD, 9)
+        sameTable.setBallTo(BallStatus.MADE, 3, 14)
+
+        assertThat(table.size(), `is`(999))
+        assertThat(table.shootingBallsMade, `is`(2))
+        assertThat(table.deadBalls, `is`(1))
+        assertThat(table.ballsRemaining, `is`(996))
+        assertThat(table.getBallStatus(7), `is`(BallStatus.ON_TABLE))
+        assertThat(table.ballsToRemoveFromTable, `is`(listOf(3, 9, 14)))
+        assertThat(table.ballStatuses[13], `is`(BallStatus.MADE))
+        assertThat(table, `is`(sameTable))
+        assertThat(table.hashCode(), `is`(sameTable.hashCode()))
+    }
+
+    @Test(expected = InvalidBallException::class)
+    fun settingBallOffTheTableThrows() {
+        TableStatus.newTable(GameType.BCA_TEN_BALL).setBallTo(BallStatus.MADE, 11)
+    }
+}
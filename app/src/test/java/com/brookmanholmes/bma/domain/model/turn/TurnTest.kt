@@ -0,0 +1,84 @@
+package com.brookmanholmes.bma.domain.model.turn
+
+import com.brookmanholmes.bma.domain.model.game.BallSet
+import com.brookmanholmes.bma.domain.model.game.BallStatus
+import com.brookmanholmes.bma.domain.model.game.GameType
+import org.hamcrest.CoreMatchers.`is`
+import org.junit.Assert.assertThat
+import org.junit.Test
+
+class TurnTest {
+    @Test
+    fun turnDoesNotChangeWhenBuilderIsReused() {
+        val builder = TurnBuilder(GameType.BCA_NINE_BALL).breakBalls(1, 2)
+        val turn = builder.miss()
+
+        builder.madeBalls(3, 4, 9)
+
+        assertThat(turn.breakBallsMade, `is`(2))
+        assertThat(turn.shootingBallsMade, `is`(0))
+        assertThat(turn.isGameBallMade, `is`(false))
+        assertThat(turn.ballsToRemoveFromTable, `is`(listOf(1, 2)))
+        assertThat(turn.getBallStatus(9), `is`(BallStatus.ON_TABLE))
+    }
+
+    @Test(expected = UnsupportedOperationException::class)
+    fun turnCannotBeChanged() {
+        TurnBuilder(GameType.BCA_EIGHT_BALL).miss().setBallTo(BallStatus.MADE, 1)
+    }
+
+    @Test
+    fun equalTurnsHaveTheSameFingerprint() {
+        val advStats = AdvStats.Builder("player").angle(AdvStats.Angle.FIVE).speed(3).build()
+        val turn = TurnBuilder(GameType.STRAIGHT_POOL).madeBalls(3, 1).setAdvStats(advStats).miss() as Turn
+        val sameTurn = TurnBuilder(GameType.STRAIGHT_POOL).madeBalls(1, 3)
+                .setAdvStats(AdvStats.Builder("player").angle(AdvStats.Angle.FIVE).speed(3).build()).miss() as Turn
+        val otherTurn = TurnBuilder(GameType.STRAIGHT_POOL).madeBalls(1, 3)
+                .setAdvStats(AdvStats.Builder("player").angle(AdvStats.Angle.TEN).speed(3).build()).miss() as Turn
+
+        assertThat(turn, `is`(sameTurn))
+        assertThat(turn.fingerprint, `is`(sameTurn.fingerprint))
+        assertThat(turn.hashCode(), `is`(sameTurn.hashCode()))
+        assertThat(turn.fingerprint == otherTurn.fingerprint, `is`(false))
+        assertThat(turn == otherTurn, `is`(false))
+    }
+
+    @Test
+    fun straightPoolFingerprintOnlyDependsOnTheBallsOffTheTable() {
+        val turn = TurnBuilder(GameType.STRAIGHT_POOL).madeBalls(1, 2, 3).deadBalls(4).miss() as Turn
+        val sameTurn = TurnBuilder(GameType.STRAIGHT_POOL).deadBalls(4).madeBalls(5, 3, 2, 1)
+                .setBallTo(BallStatus.ON_TABLE, 5).miss() as Turn
+        val swappedTurn = TurnBuilder(GameType.STRAIGHT_POOL).madeBalls(1, 2, 4).deadBalls(3).miss() as Turn
+        val otherTurn = TurnBuilder(GameType.STRAIGHT_POOL).madeBalls(1, 2, 3).deadBalls(998).miss() as Turn
+
+        assertThat(turn, `is`(sameTurn))
+        assertThat(turn.fingerprint, `is`(sameTurn.fingerprint))
+        assertThat(turn.fingerprint == swappedTurn.fingerprint, `is`(false))
+        assertThat(turn.fingerprint == otherTurn.fingerprint, `is`(false))
+    }
+
+    @Test
+    fun resetBuilderMakesTheSameTurnsAsANewOne() {
+        for (gameType in listOf(GameType.BCA_EIGHT_BALL, GameType.STRAIGHT_POOL)) {
+            val balls = BallSet.of(2, 3, 5, 13).with(gameType.gameBall)
+            val builder = TurnBuilder(gameType).madeBalls(1, 2).deadBalls(4).fouled()
+            val first = builder.miss()
+
+            builder.reset(balls).setBallTo(BallStatus.MADE, 3).setBallTo(BallStatus.DEAD, 13)
+
+            assertThat(builder.safety(), `is`(TurnBuilder(gameType, balls).madeBalls(3).deadBalls(13).safety()))
+            assertThat(builder.reset().miss(), `is`(TurnBuilder(gameType).miss()))
+            assertThat(first, `is`(TurnBuilder(gameType).madeBalls(1, 2).deadBalls(4).fouled().miss()))
+        }
+    }
+
+    @Test
+    fun bitMaskSetsTheSameBallsAsTheirNumbers() {
+        val turn = TurnBuilder(GameType.BCA_EIGHT_BALL)
+                .setBallsTo(BallStatus.MADE, (1L shl 1) or (1L shl 7) or (1L shl 15))
+                .setBallsTo(BallStatus.DEAD, BallSet.of(9, 10))
+                .miss()
+
+        assertThat(turn, `is`(TurnBuilder(GameType.BCA_EIGHT_BALL).madeBalls(1, 7, 15).deadBalls(9, 10).miss()))
+    }
+}
@@ -0,0 +1,116 @@
+package com.brookmanholmes.bma.domain.model.turn.helpers
+
+import com.brookmanholmes.bma.domain.model.game.*
+import com.brookmanholmes.bma.domain.model.game.BallStatus.*
+import com.brookmanholmes.bma.domain.model.game.GameType.*
+import com.brookmanholmes.bma.domain.model.match.MatchGenerator
+import com.brookmanholmes.bma.domain.model.turn.TableStatus
+import com.brookmanholmes.bma.domain.model.turn.TurnEndOptions
+import org.hamcrest.CoreMatchers.`is`
+import org.hamcrest.CoreMatchers.sameInstance
+import org.junit.Assert.assertThat
+import org.junit.Assert.fail
+import org.junit.Test
+import java.util.*
+
+class TurnEndOptionsCacheTest {
+    private val gameTypes = listOf(BCA_EIGHT_BALL, BCA_NINE_BALL, BCA_TEN_BALL,
+            BCA_GHOST_EIGHT_BALL, BCA_GHOST_NINE_BALL, BCA_GHOST_TEN_BALL,
+            APA_EIGHT_BALL, APA_NINE_BALL, APA_GHOST_EIGHT_BALL, APA_GHOST_NINE_BALL,
+            STRAIGHT_POOL, STRAIGHT_GHOST)
+
+    @Test
+    fun cachedOptionsAreTheSameAsTheHelpers() {
+        val random = Random(7)
+        for (gameType in gameTypes) {
+            val generator = generator(gameType, 13)
+
+            while (generator.hasNext()) {
+                val gameStatus = generator.gameStatus
+                val turn = generator.next()
+                assertThat("$gameType $turn", TurnEndHelper.getTurnEndOptions(gameStatus, turn),
+                        `is`(TurnEndHelper.create(gameStatus, turn).turnEndOptions))
+
+                // a table that wasn't played, to get at states the generator doesn't make
+                val table = TableStatus.newTable(gameType, gameStatus.ballSet)
+                for (ball in gameStatus.ballSet.toArray())
+                    table.setBallTo(BallStatus.values()[random.nextInt(BallStatus.values().size)], ball)
+                assertThat("$gameType $table", TurnEndHelper.getTurnEndOptions(gameStatus, table),
+                        `is`(TurnEndHelper.create(gameStatus, table).turnEndOptions))
+            }
+        }
+    }
+
+    @Test
+    fun sameStateSharesOptions() {
+        for (gameType in gameTypes) {
+            val generator = generator(gameType, 17)
+
+            while (generator.hasNext()) {
+                val gameStatus = generator.gameStatus
+                val turn = generator.next()
+                val options = TurnEndHelper.getTurnEndOptions(gameStatus, turn)
+
+                assertThat(TurnEndHelper.getTurnEndOptions(gameStatus, turn), sameInstance(options))
+            }
+        }
+    }
+
+    /**
+     * Every combination of the things the helpers look at: each game flag, each color, each
+     * status of the game ball, each kind of ball made or dead, and which groups are left
+     */
+    @Test
+    fun tablesMatchTheHelpersForEveryInput() {
+        for (gameType in gameTypes) {
+            val eightBall = gameType.is8Ball
+            val gameBall = if (eightBall) 8 else gameType.maxBalls
+            val colors = if (eightBall) listOf(null, *PlayerColor.values()) else listOf(null)
+            val others = listOf(MADE_ON_BREAK, MADE, DEAD, DEAD_ON_BREAK)
+
+            for (flags in 0 until 32) for (color in colors) {
+                val gameStatus = gameStatus(gameType, flags, color)
+                assertSame(TurnEndHelper.getTurnEndOptions(gameStatus),
+                        TurnEndHelper.create(gameStatus, TableStatus.newTable(gameType, gameStatus.ballSet)).turnEndOptions) { "$gameType $flags $color" }
+
+                for (gameBallStatus in BallStatus.values()) for (made in 0 until 16) for (left in 0 until 4) {
+                    val table = TableStatus.newTable(gameType, BallSet.of(gameBall))
+                    table.setBallTo(gameBallStatus, gameBall)
+                    others.forEachIndexed { i, status -> if (made and (1 shl i) != 0) table.setBallTo(status, i + 1) }
+                    if (left and 1 != 0) table.setBallTo(ON_TABLE, if (eightBall) 7 else 5)
+                    if (left and 2 != 0 && eightBall) table.setBallTo(ON_TABLE, 15)
+
+                    assertSame(TurnEndHelper.getTurnEndOptions(gameStatus, table),
+                            TurnEndHelper.create(gameStatus, table).turnEndOptions) { "$gameType $flags $color $table" }
+                }
+            }
+        }
+    }
+
+    private fun gameStatus(gameType: GameType, flags: Int, color: PlayerColor?): GameStatus {
+        val builder = GameStatus.Builder(gameType).currentPlayerColor(color)
+        if (flags and 1 != 0) builder.reBreak()
+        if (flags and 2 != 0) builder.newGame()
+        if (flags and 4 != 0) builder.allowPush()
+        if (flags and 8 != 0) builder.allowSkip()
+        if (flags and 16 != 0) builder.currentPlayerConsecutiveFouls(2)
+        if (gameType.is8Ball && color == PlayerColor.SOLIDS) builder.removeBalls(1, 2, 3, 4, 5, 6, 7)
+        return builder.build()
+    }
+
+    private fun assertSame(actual: TurnEndOptions, expected: TurnEndOptions, reason: () -> String) {
+        if (actual.defaultCheck != expected.defaultCheck
+                || actual.possibleEndings != expected.possibleEndings
+                || actual.isFoul != expected.isFoul
+                || actual.showFoul() != expected.showFoul()
+                || actual.showNotFoul() != expected.showNotFoul()
+                || actual.showLostGame() != expected.showLostGame())
+            fail("${reason()}\n$actual showFoul=${actual.showFoul()}\nexpected $expected showFoul=${expected.showFoul()}")
+    }
+
+    private fun generator(gameType: GameType, seed: Long) = MatchGenerator.Builder(gameType, seed)
+            .setBreakType(BreakType.WINNER)
+            .setMaxAttemptsPerGhostGame(2)
+            .setTurns(500)
+            .build()
+}
@@ -0,0 +1,101 @@
+package com.brookmanholmes.bma.benchmark;
+
+import com.brookmanholmes.bma.domain.model.game.GameType;
+import com.brookmanholmes.bma.domain.model.match.Match;
+import com.brookmanholmes.bma.domain.model.player.Player;
+import com.brookmanholmes.bma.domain.model.turn.ITurn;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for adding turns to a match, undoing and redoing them and reading the players' stats
+ * back out, for every game type at several match lengths
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MatchBenchmark {
+    // the number of turns undone and then redone by each call to undoAndRedo()
+    private static final int UNDO_DEPTH = 10;
+
+    @Param({"BCA_EIGHT_BALL", "BCA_NINE_BALL", "BCA_TEN_BALL",
+            "BCA_GHOST_EIGHT_BALL", "BCA_GHOST_NINE_BALL", "BCA_GHOST_TEN_BALL",
+            "APA_EIGHT_BALL", "APA_NINE_BALL", "APA_GHOST_EIGHT_BALL", "APA_GHOST_NINE_BALL",
+            "STRAIGHT_POOL", "STRAIGHT_GHOST"})
+    public GameType gameType;
+
+    @Param({"50", "500", "5000"})
+    public int turns;
+
+    private List<ITurn> recordedTurns;
+    private Match match;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        recordedTurns = Matches.record(gameType, turns).turns;
+        match = playMatch();
+    }
+
+    private Match playMatch() {
+        Match match = Matches.newMatch(gameType);
+        for (ITurn turn : recordedTurns)
+            match.addTurn(turn);
+
+        return match;
+    }
+
+    /**
+     * Adds every turn of the recorded match to a new match
+     */
+    @Benchmark
+    public Match addTurns() {
+        return playMatch();
+    }
+
+    /**
+     * Loads the recorded match from its turns and checkpoints, only replaying the turns after the
+     * last checkpoint
+     */
+    @Benchmark
+    public Match loadFromCheckpoints() {
+        return Matches.loadMatch(gameType, recordedTurns, match.getCheckpoints());
+    }
+
+    /**
+     * Undoes the last few turns of a full match and then redoes them, leaving the match as it was
+     */
+    @Benchmark
+    public Match undoAndRedo() {
+        for (int i = 0; i < UNDO_DEPTH; i++)
+            match.undoTurn();
+
+        for (int i = 0; i < UNDO_DEPTH; i++)
+            match.addTurn(match.getRedoTurn());
+
+        return match;
+    }
+
+    @Benchmark
+    public Player getPlayer() {
+        return match.getPlayer();
+    }
+
+    /**
+     * The stats for the middle half of the match, like a per game breakdown would ask for
+     */
+    @Benchmark
+    public Player getPlayerRange() {
+        return match.getPlayer(turns / 4, turns * 3 / 4);
+    }
+}
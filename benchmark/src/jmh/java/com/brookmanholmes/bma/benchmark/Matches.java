@@ -0,0 +1,88 @@
+package com.brookmanholmes.bma.benchmark;
+
+import com.brookmanholmes.bma.domain.model.game.GameStatus;
+import com.brookmanholmes.bma.domain.model.game.GameType;
+import com.brookmanholmes.bma.domain.model.match.Match;
+import com.brookmanholmes.bma.domain.model.match.MatchCheckpoint;
+import com.brookmanholmes.bma.domain.model.match.MatchGenerator;
+import com.brookmanholmes.bma.domain.model.turn.ITurn;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixtures shared by the benchmarks, a recorded match is the list of turns that were played and
+ * the game status before each of them
+ */
+final class Matches {
+    static final long SEED = 42;
+
+    private Matches() {
+    }
+
+    /**
+     * Creates a new match with ranks high enough that the race doesn't end it early (APA matches
+     * get the longest race their ranks allow)
+     *
+     * @param gameType The type of game the match is for
+     * @return A new match with no turns in it
+     */
+    static Match newMatch(GameType gameType) {
+        return newBuilder(gameType).build(gameType);
+    }
+
+    /**
+     * Loads a match from its turns and checkpoints, with the same players and settings as
+     * {@link #newMatch(GameType)}
+     */
+    static Match loadMatch(GameType gameType, List<ITurn> turns, List<MatchCheckpoint> checkpoints) {
+        return newBuilder(gameType).build(gameType, turns, checkpoints);
+    }
+
+    private static Match.Builder newBuilder(GameType gameType) {
+        Match.Builder builder = new Match.Builder("player", "opponent")
+                .setPlayerNames("Player", "Opponent")
+                .setMaxAttemptsPerGhostGame(3);
+
+        if (gameType.isApa8Ball())
+            builder.setPlayerRanks(7, 7);
+        else if (gameType.isApa9Ball())
+            builder.setPlayerRanks(9, 9);
+        else builder.setPlayerRanks(100000, 100000);
+
+        return builder;
+    }
+
+    /**
+     * Records a match of random (but legal) turns
+     *
+     * @param gameType The type of game to play
+     * @param turns    The number of turns to play
+     * @return The recorded match
+     */
+    static Recording record(GameType gameType, int turns) {
+        MatchGenerator generator = new MatchGenerator.Builder(gameType, SEED + gameType.ordinal())
+                .setMaxAttemptsPerGhostGame(3)
+                .setAdvStats("Player", "Opponent")
+                .setTurns(turns)
+                .build();
+        Recording recording = new Recording(turns);
+
+        while (generator.hasNext()) {
+            recording.gameStatuses.add(generator.getGameStatus());
+            recording.turns.add(generator.next());
+        }
+
+        return recording;
+    }
+
+    static final class Recording {
+        final List<GameStatus> gameStatuses;
+        final List<ITurn> turns;
+
+        private Recording(int turns) {
+            gameStatuses = new ArrayList<>(turns);
+            this.turns = new ArrayList<>(turns);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.brookmanholmes.bma.benchmark;
+
+import com.brookmanholmes.bma.domain.model.game.GameType;
+import com.brookmanholmes.bma.domain.model.match.Match;
+import com.brookmanholmes.bma.domain.model.player.Player;
+import com.brookmanholmes.bma.domain.model.turn.ITurn;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks adding up the players of a lot of matches, like a career stats screen would
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PlayerBenchmark {
+    @Param({"1000", "10000", "50000"})
+    public int players;
+
+    private List<Player> matchPlayers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // a handful of matches of different lengths, their players are repeated to fill the list
+        List<Player> distinct = new ArrayList<>();
+        for (int i = 1; i <= 16; i++) {
+            Match match = Matches.newMatch(GameType.BCA_NINE_BALL);
+            for (ITurn turn : Matches.record(GameType.BCA_NINE_BALL, 25 * i).turns)
+                match.addTurn(turn);
+            distinct.add(match.getPlayer());
+        }
+
+        matchPlayers = new ArrayList<>(players);
+        for (int i = 0; i < players; i++)
+            matchPlayers.add(distinct.get(i % distinct.size()));
+    }
+
+    @Benchmark
+    public Player addPlayerStats() {
+        Player player = new Player("player", "Player", GameType.BCA_NINE_BALL);
+        player.addPlayerStats(matchPlayers);
+        return player;
+    }
+
+    /**
+     * Adds up the players' arrays of stats without making a player
+     */
+    @Benchmark
+    public int[] addStats() {
+        int[] totals = new int[matchPlayers.get(0).getStats().length];
+        for (Player player : matchPlayers) {
+            int[] stats = player.getStats();
+            for (int i = 0; i < totals.length; i++)
+                totals[i] += stats[i];
+        }
+
+        return totals;
+    }
+}
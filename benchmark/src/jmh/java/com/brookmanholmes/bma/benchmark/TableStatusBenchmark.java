@@ -0,0 +1,82 @@
+package com.brookmanholmes.bma.benchmark;
+
+import com.brookmanholmes.bma.domain.model.game.GameStatus;
+import com.brookmanholmes.bma.domain.model.game.GameType;
+import com.brookmanholmes.bma.domain.model.turn.ITableStatus;
+import com.brookmanholmes.bma.domain.model.turn.ITurn;
+import com.brookmanholmes.bma.domain.model.turn.TableStatus;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks building a table for each turn of a recorded match and querying it the way the
+ * turn end helpers and player controllers do
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TableStatusBenchmark {
+    @Param({"BCA_EIGHT_BALL", "BCA_NINE_BALL", "BCA_TEN_BALL",
+            "BCA_GHOST_EIGHT_BALL", "BCA_GHOST_NINE_BALL", "BCA_GHOST_TEN_BALL",
+            "APA_EIGHT_BALL", "APA_NINE_BALL", "APA_GHOST_EIGHT_BALL", "APA_GHOST_NINE_BALL",
+            "STRAIGHT_POOL", "STRAIGHT_GHOST"})
+    public GameType gameType;
+
+    @Param({"50", "500", "5000"})
+    public int turns;
+
+    private List<GameStatus> gameStatuses;
+    private List<ITableStatus> tables;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Matches.Recording recording = Matches.record(gameType, turns);
+        gameStatuses = recording.gameStatuses;
+        tables = new ArrayList<>(turns);
+
+        for (ITurn turn : recording.turns) {
+            ITableStatus table = TableStatus.newTable(gameType);
+            for (int ball : turn.getBallsToRemoveFromTable())
+                table.setBallTo(turn.getBallStatus(ball), ball);
+
+            tables.add(table);
+        }
+    }
+
+    /**
+     * Creates the table for the start of each turn from the balls left on the table
+     */
+    @Benchmark
+    public void newTable(Blackhole blackhole) {
+        for (int i = 0; i < turns; i++)
+            blackhole.consume(TableStatus.newTable(gameType, gameStatuses.get(i).ballSet));
+    }
+
+    @Benchmark
+    public void queries(Blackhole blackhole) {
+        for (int i = 0; i < turns; i++) {
+            ITableStatus table = tables.get(i);
+            blackhole.consume(table.getShootingBallsMade());
+            blackhole.consume(table.getBreakBallsMade());
+            blackhole.consume(table.getDeadBalls());
+            blackhole.consume(table.getDeadBallsOnBreak());
+            blackhole.consume(table.getBallsRemaining());
+            blackhole.consume(table.isGameBallMade());
+            blackhole.consume(table.isGameBallMadeOnBreak());
+            blackhole.consume(table.getBallsToRemoveFromTable());
+        }
+    }
+}
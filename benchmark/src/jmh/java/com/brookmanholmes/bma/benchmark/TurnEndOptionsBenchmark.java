@@ -0,0 +1,65 @@
+package com.brookmanholmes.bma.benchmark;
+
+import com.brookmanholmes.bma.domain.model.game.GameStatus;
+import com.brookmanholmes.bma.domain.model.game.GameType;
+import com.brookmanholmes.bma.domain.model.turn.ITurn;
+import com.brookmanholmes.bma.domain.model.turn.helpers.TurnEndHelper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks working out the turn end options for every turn of a recorded match
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TurnEndOptionsBenchmark {
+    @Param({"BCA_EIGHT_BALL", "BCA_NINE_BALL", "BCA_TEN_BALL",
+            "BCA_GHOST_EIGHT_BALL", "BCA_GHOST_NINE_BALL", "BCA_GHOST_TEN_BALL",
+            "APA_EIGHT_BALL", "APA_NINE_BALL", "APA_GHOST_EIGHT_BALL", "APA_GHOST_NINE_BALL",
+            "STRAIGHT_POOL", "STRAIGHT_GHOST"})
+    public GameType gameType;
+
+    @Param({"50", "500", "5000"})
+    public int turns;
+
+    private List<GameStatus> gameStatuses;
+    private List<ITurn> recordedTurns;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Matches.Recording recording = Matches.record(gameType, turns);
+        gameStatuses = recording.gameStatuses;
+        recordedTurns = recording.turns;
+    }
+
+    /**
+     * The options for the table at the end of each turn, as the app does while a turn is entered
+     */
+    @Benchmark
+    public void getTurnEndOptions(Blackhole blackhole) {
+        for (int i = 0; i < turns; i++)
+            blackhole.consume(TurnEndHelper.getTurnEndOptions(gameStatuses.get(i), recordedTurns.get(i)));
+    }
+
+    /**
+     * The options for the table at the start of each turn, before any balls have been entered
+     */
+    @Benchmark
+    public void getTurnEndOptionsForGameStatus(Blackhole blackhole) {
+        for (int i = 0; i < turns; i++)
+            blackhole.consume(TurnEndHelper.getTurnEndOptions(gameStatuses.get(i)));
+    }
+}
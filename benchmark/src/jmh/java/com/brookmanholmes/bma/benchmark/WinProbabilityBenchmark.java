@@ -0,0 +1,51 @@
+package com.brookmanholmes.bma.benchmark;
+
+import com.brookmanholmes.bma.domain.model.game.GameType;
+import com.brookmanholmes.bma.domain.model.match.Match;
+import com.brookmanholmes.bma.domain.model.match.WinProbability;
+import com.brookmanholmes.bma.domain.model.turn.ITurn;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks estimating the winner of a match that is a few games in, for the two player game
+ * types
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WinProbabilityBenchmark {
+    @Param({"BCA_EIGHT_BALL", "BCA_NINE_BALL", "BCA_TEN_BALL",
+            "APA_EIGHT_BALL", "APA_NINE_BALL", "STRAIGHT_POOL"})
+    public GameType gameType;
+
+    @Param({"10000"})
+    public int playouts;
+
+    private Match match;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        match = new Match.Builder("player", "opponent")
+                .setPlayerRanks(5, 5)
+                .build(gameType);
+
+        for (ITurn turn : Matches.record(gameType, 20).turns)
+            match.addTurn(turn);
+    }
+
+    @Benchmark
+    public WinProbability estimate() {
+        return WinProbability.estimate(match, playouts, Matches.SEED);
+    }
+}